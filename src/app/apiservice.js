@@ -1,9 +1,19 @@
 import axios from 'axios'
+import AuthService from './service/authService'
 
 const httpClient = axios.create({
     baseURL: 'http://localhost:8080'
 })
 
+// Envia o token recebido no login em todas as requisições; a API exige o Bearer nas rotas protegidas
+httpClient.interceptors.request.use(config => {
+    const token = AuthService.obterToken();
+    if(token){
+        config.headers.Authorization = `Bearer ${token}`;
+    }
+    return config;
+})
+
 class ApiService {
     
     constructor(apiurl){
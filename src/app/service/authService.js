@@ -1,6 +1,7 @@
 import LocalStorageService from "./localStorageService";
 
 export const USUARIO_LOGADO = '_usuario_logado';
+export const TOKEN = '_access_token';
 
 export default class AuthService{
 
@@ -11,14 +12,21 @@ export default class AuthService{
 
     static removerUsuarioAutenticado(){
         LocalStorageService.removerItem(USUARIO_LOGADO)
+        LocalStorageService.removerItem(TOKEN)
     }
 
     static logar(usuario){
-        LocalStorageService.adicionarItem(USUARIO_LOGADO, usuario);
+        const { token, ...usuarioLogado } = usuario;
+        LocalStorageService.adicionarItem(USUARIO_LOGADO, usuarioLogado);
+        LocalStorageService.adicionarItem(TOKEN, token);
     }
 
     static obterUsuarioAutenticado(){
         return LocalStorageService.obterItem(USUARIO_LOGADO);
     }
 
-}
\ No newline at end of file
+    static obterToken(){
+        return LocalStorageService.obterItem(TOKEN);
+    }
+
+}
@@ -94,10 +94,6 @@ export default class LancamentoService extends ApiService {
             params = `${params}&status=${lancamentoFiltro.status}`
         }
 
-        if(lancamentoFiltro.usuario){
-            params = `${params}&usuario=${lancamentoFiltro.usuario}`
-        }
-
         if(lancamentoFiltro.descricao){
             params = `${params}&descricao=${lancamentoFiltro.descricao}`
         }
@@ -0,0 +1,19 @@
+package com.estudo.minhasfinancas.api.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class PaginaDTO<T> {
+
+	private List<T> conteudo;
+	private int pagina;
+	private int tamanho;
+	private boolean temProxima;
+	private String proximoCursor;
+}
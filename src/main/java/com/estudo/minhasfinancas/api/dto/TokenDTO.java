@@ -0,0 +1,16 @@
+package com.estudo.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class TokenDTO {
+
+	private Long id;
+	private String nome;
+	private String email;
+	private String token;
+}
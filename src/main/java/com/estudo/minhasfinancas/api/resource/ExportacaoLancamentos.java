@@ -0,0 +1,95 @@
+package com.estudo.minhasfinancas.api.resource;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.estudo.minhasfinancas.model.repository.projection.LancamentoResumo;
+import com.estudo.minhasfinancas.service.LancamentoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Escreve os lançamentos na resposta conforme são lidos da base, em CSV ou NDJSON, sem
+ * montar a lista completa. O cabeçalho é enviado antes da primeira leitura. A escrita
+ * bloqueia enquanto o cliente não consome, e o cursor só avança depois dela.
+ */
+class ExportacaoLancamentos implements StreamingResponseBody {
+
+	enum Formato { CSV, NDJSON }
+
+	private static final String CABECALHO_CSV = "id;descricao;mes;ano;valor;tipo;status";
+
+	private final Consumer<Consumer<LancamentoResumo>> origem;
+	private final ObjectMapper objectMapper;
+	private final Formato formato;
+
+	/**
+	 * Exportação de todos os lançamentos do usuário.
+	 */
+	ExportacaoLancamentos(LancamentoService service, ObjectMapper objectMapper, Long idUsuario, Formato formato) {
+		this(destino -> service.exportar(idUsuario, destino), objectMapper, formato);
+	}
+
+	ExportacaoLancamentos(Consumer<Consumer<LancamentoResumo>> origem, ObjectMapper objectMapper, Formato formato) {
+		this.origem = origem;
+		this.objectMapper = objectMapper;
+		this.formato = formato;
+	}
+
+	@Override
+	public void writeTo(OutputStream saida) throws IOException {
+		Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+		
+		if(formato == Formato.CSV) {
+			escritor.write(CABECALHO_CSV);
+			escritor.write('\n');
+		}
+		escritor.flush();
+		
+		try {
+			origem.accept(lancamento -> {
+				try {
+					escritor.write(formato == Formato.CSV ? csv(lancamento) : objectMapper.writeValueAsString(lancamento));
+					escritor.write('\n');
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		
+		escritor.flush();
+	}
+
+	private static String csv(LancamentoResumo lancamento) {
+		return new StringBuilder()
+				.append(lancamento.getId()).append(';')
+				.append(textoCsv(lancamento.getDescricao())).append(';')
+				.append(lancamento.getMes()).append(';')
+				.append(lancamento.getAno()).append(';')
+				.append(lancamento.getValor() == null ? "" : lancamento.getValor().toPlainString()).append(';')
+				.append(lancamento.getTipo() == null ? "" : lancamento.getTipo().name()).append(';')
+				.append(lancamento.getStatus() == null ? "" : lancamento.getStatus().name())
+				.toString();
+	}
+
+	private static String textoCsv(String texto) {
+		if(texto == null) {
+			return "";
+		}
+		
+		if(texto.indexOf(';') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+			return texto;
+		}
+		
+		return '"' + texto.replace("\"", "\"\"") + '"';
+	}
+}
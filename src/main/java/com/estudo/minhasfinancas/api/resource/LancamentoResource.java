@@ -1,29 +1,53 @@
 package com.estudo.minhasfinancas.api.resource;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Optional;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.estudo.minhasfinancas.api.dto.AtualizaStatusDTO;
 import com.estudo.minhasfinancas.api.dto.LancamentoDTO;
+import com.estudo.minhasfinancas.api.dto.PaginaDTO;
+import com.estudo.minhasfinancas.api.seguranca.TokenAutenticacaoFilter;
 import com.estudo.minhasfinancas.exception.RegraNegocioException;
 import com.estudo.minhasfinancas.model.entity.Lancamento;
-import com.estudo.minhasfinancas.model.entity.Usuario;
 import com.estudo.minhasfinancas.model.enums.StatusLancamento;
 import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+import com.estudo.minhasfinancas.model.repository.projection.LancamentoResumo;
+import com.estudo.minhasfinancas.model.repository.specification.CursorLancamento;
+import com.estudo.minhasfinancas.model.repository.specification.FiltroLancamento;
+import com.estudo.minhasfinancas.service.ImportacaoLancamentoService;
 import com.estudo.minhasfinancas.service.LancamentoService;
 import com.estudo.minhasfinancas.service.UsuarioService;
+import com.estudo.minhasfinancas.service.importacao.FormatoExtrato;
+import com.estudo.minhasfinancas.service.importacao.ResultadoImportacao;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -32,90 +56,249 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class LancamentoResource {
 
+	private static final int TAMANHO_PADRAO_PAGINA = 50;
+	private static final String USUARIO_NAO_ENCONTRADO = "Usuário não encontrado para o Id informado.";
+	private static final String LANCAMENTO_NAO_ENCONTRADO = "Lancamento não encontrado na base de Dados.";
+	private static final String LANCAMENTO_ALTERADO = 
+			"O lançamento foi alterado por outra operação. Consulte-o novamente antes de atualizar.";
+	private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+	private static final String TEXT_CSV_VALUE = "text/csv";
+	private static final String APPLICATION_OFX_VALUE = "application/x-ofx";
+	private static final int TAMANHO_BUFFER_EXTRATO = 64 * 1024;
+
 	private final LancamentoService service;
 	private final UsuarioService usuarioService;
+	private final ImportacaoLancamentoService importacaoService;
+	private final ObjectMapper objectMapper;
 
 	@PostMapping
-	public ResponseEntity salvar(@RequestBody LancamentoDTO dto) {
+	public ResponseEntity salvar(@RequestAttribute(TokenAutenticacaoFilter.USUARIO) Long idUsuario, 
+			@RequestBody LancamentoDTO dto) {
 		try {
-			Lancamento entidade = converter(dto);
+			Lancamento entidade = converter(dto, idUsuario);
 			entidade = service.salvar(entidade);
-			return new ResponseEntity(entidade, HttpStatus.CREATED);
+			return new ResponseEntity(converter(entidade), HttpStatus.CREATED);
 		} catch (RegraNegocioException e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (DataIntegrityViolationException e) {
+			return ResponseEntity.badRequest().body(USUARIO_NAO_ENCONTRADO);
+		}
+	}
+	
+	@PostMapping(value = "importacao", consumes = { MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE })
+	public ResponseEntity importar(@RequestAttribute(TokenAutenticacaoFilter.USUARIO) Long idUsuario, 
+			InputStream entrada) throws IOException {
+		try (MappingIterator<LancamentoDTO> dtos = objectMapper.readerFor(LancamentoDTO.class).readValues(entrada)) {
+			ResultadoImportacao resultado = importacaoService.importar(
+					new LinhasImportacaoJson(dtos, dto -> converter(dto, idUsuario)));
+			return ResponseEntity.ok(resultado);
+		}
+	}
+	
+	@PostMapping(value = "importacao/extrato", consumes = { TEXT_CSV_VALUE, APPLICATION_OFX_VALUE, 
+			MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE })
+	public ResponseEntity importarExtrato(@RequestAttribute(TokenAutenticacaoFilter.USUARIO) Long idUsuario,
+			@RequestParam(value = "formato", required = false) String formato,
+			@RequestParam(value = "charset", defaultValue = "UTF-8") String charset,
+			@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType tipoConteudo,
+			InputStream entrada) throws IOException {
+		
+		FormatoExtrato formatoExtrato;
+		CharsetDecoder decodificador;
+		try {
+			formatoExtrato = formato != null 
+					? FormatoExtrato.valueOf(formato.toUpperCase()) 
+					: MediaType.valueOf(APPLICATION_OFX_VALUE).includes(tipoConteudo) ? FormatoExtrato.OFX : FormatoExtrato.CSV;
+			decodificador = Charset.forName(charset).newDecoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body("Formato de extrato ou charset inválido.");
+		}
+		
+		try (Reader leitor = Channels.newReader(Channels.newChannel(entrada), decodificador, TAMANHO_BUFFER_EXTRATO)) {
+			ResultadoImportacao resultado = importacaoService.importar(
+					formatoExtrato.ler(leitor, usuarioService.obterReferencia(idUsuario)));
+			return ResponseEntity.ok(resultado);
+		}
+	}
+	
+	@GetMapping("export")
+	public ResponseEntity<StreamingResponseBody> exportar(@RequestAttribute(TokenAutenticacaoFilter.USUARIO) Long idUsuario,
+			@RequestParam(value = "formato", defaultValue = "csv") String formato) {
+		
+		ExportacaoLancamentos.Formato formatoExportacao;
+		try {
+			formatoExportacao = ExportacaoLancamentos.Formato.valueOf(formato.toUpperCase());
+		} catch (IllegalArgumentException e) {
+			return erroExportacao("Formato de exportação inválido, use csv ou ndjson.");
 		}
+		
+		return ResponseEntity.ok()
+				.contentType(formatoExportacao == ExportacaoLancamentos.Formato.CSV 
+						? new MediaType("text", "csv", StandardCharsets.UTF_8) 
+						: MediaType.valueOf(APPLICATION_NDJSON_VALUE))
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"lancamentos-" + idUsuario + "." 
+						+ formatoExportacao.name().toLowerCase() + "\"")
+				.body(new ExportacaoLancamentos(service, objectMapper, idUsuario, formatoExportacao));
+	}
+	
+	private ResponseEntity<StreamingResponseBody> erroExportacao(String mensagem) {
+		return ResponseEntity.badRequest()
+				.contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+				.body(saida -> saida.write(mensagem.getBytes(StandardCharsets.UTF_8)));
 	}
 	
 	@GetMapping("{id}")
-	public ResponseEntity obterLancamento( @PathVariable("id") long id) {
-		return service.obterPorId(id)
-				.map( lancamento -> new ResponseEntity(converter(lancamento), HttpStatus.OK) )
+	public ResponseEntity obterLancamento(@RequestAttribute(TokenAutenticacaoFilter.USUARIO) Long idUsuario, 
+			@PathVariable("id") long id) {
+		return service.obterResumoPorId(id)
+				.filter(lancamento -> idUsuario.equals(lancamento.getUsuario()))
+				.map( lancamento -> new ResponseEntity(lancamento, HttpStatus.OK) )
 				.orElseGet( () -> new ResponseEntity(HttpStatus.NOT_FOUND));
 	}
 
 	@PutMapping("{id}")
-	public ResponseEntity atualizar(@PathVariable("id") Long id, @RequestBody LancamentoDTO dto) {
-		return service.obterPorId(id).map(entity -> {
-			try {
-				Lancamento lancamento = converter(dto);
-				lancamento.setId(entity.getId());
-				service.atualizar(lancamento);
-				return ResponseEntity.ok(lancamento);
-			} catch (RegraNegocioException e) {
-				return ResponseEntity.badRequest().body(e.getMessage());
-			}
-		}).orElseGet(() -> new ResponseEntity("Lancamento não encontrado na base de Dados.", HttpStatus.BAD_REQUEST));
+	public ResponseEntity atualizar(@RequestAttribute(TokenAutenticacaoFilter.USUARIO) Long idUsuario, 
+			@PathVariable("id") Long id, @RequestBody LancamentoDTO dto) {
+		try {
+			Lancamento lancamento = converter(dto, idUsuario);
+			lancamento.setId(id);
+			// A posse é conferida na base, na mesma leitura que trava o lançamento para a escrita
+			return service.atualizar(lancamento)
+					.map(atualizado -> new ResponseEntity(converter(atualizado), HttpStatus.OK))
+					.orElseGet(() -> new ResponseEntity(LANCAMENTO_NAO_ENCONTRADO, HttpStatus.NOT_FOUND));
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (DataIntegrityViolationException e) {
+			return ResponseEntity.badRequest().body(USUARIO_NAO_ENCONTRADO);
+		} catch (ObjectOptimisticLockingFailureException e) {
+			return new ResponseEntity(LANCAMENTO_ALTERADO, HttpStatus.CONFLICT);
+		}
 	}
 	
 	@PutMapping("{id}/atualiza-status")
-	public ResponseEntity atualizarStatus(@PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto) {
-		return service.obterPorId(id).map(entity ->{
-			StatusLancamento statusSelecionado = StatusLancamento.valueOf(dto.getStatus());
-			
-			if(statusSelecionado == null) {
-				return ResponseEntity.badRequest().body("Não foi possível atualizar o status do lançamento, envie um status válido.");
-			}
-			
-			try {
-				entity.setStatus(statusSelecionado);
-				service.atualizar(entity);
-				return ResponseEntity.ok(entity);
-			}catch (RegraNegocioException e) {
-				return ResponseEntity.badRequest().body(e.getMessage());
-			}
-		}).orElseGet(() -> new ResponseEntity("Lancamento não encontrado na base de Dados.", HttpStatus.BAD_REQUEST));
+	public ResponseEntity atualizarStatus(@RequestAttribute(TokenAutenticacaoFilter.USUARIO) Long idUsuario, 
+			@PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto) {
+		StatusLancamento statusSelecionado = StatusLancamento.valueOf(dto.getStatus());
+		
+		if(statusSelecionado == null) {
+			return ResponseEntity.badRequest().body("Não foi possível atualizar o status do lançamento, envie um status válido.");
+		}
+		
+		try {
+			Lancamento lancamento = Lancamento.builder().id(id).usuario(usuarioService.obterReferencia(idUsuario)).build();
+			return service.atualizarStatus(lancamento, statusSelecionado)
+					.map(atualizado -> new ResponseEntity(converter(atualizado), HttpStatus.OK))
+					.orElseGet(() -> new ResponseEntity(LANCAMENTO_NAO_ENCONTRADO, HttpStatus.NOT_FOUND));
+		}catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}catch (ObjectOptimisticLockingFailureException e) {
+			return new ResponseEntity(LANCAMENTO_ALTERADO, HttpStatus.CONFLICT);
+		}
 	}
 
 	@DeleteMapping("{id}")
-	public ResponseEntity deletar(@PathVariable("id") Long id) {
-		return service.obterPorId(id).map(entidade -> {
+	public ResponseEntity deletar(@RequestAttribute(TokenAutenticacaoFilter.USUARIO) Long idUsuario, 
+			@PathVariable("id") Long id) {
+		return service.obterPorId(id).filter(entidade -> pertenceAoUsuario(entidade, idUsuario)).map(entidade -> {
 			service.deletar(entidade);
 			return new ResponseEntity(HttpStatus.NO_CONTENT);
-		}).orElseGet(() -> new ResponseEntity("Lancamento não encontrado na base de Dados.", HttpStatus.BAD_REQUEST));
+		}).orElseGet(() -> new ResponseEntity(LANCAMENTO_NAO_ENCONTRADO, HttpStatus.BAD_REQUEST));
 	}
 
 	@GetMapping
 	public ResponseEntity buscar(@RequestParam(value = "descricao", required = false) String descricao,
+			@RequestParam(value = "q", required = false) String termo,
 			@RequestParam(value = "mes", required = false) Integer mes,
 			@RequestParam(value = "ano", required = false) Integer ano,
-			@RequestParam(value = "usuario") Long idUsuario) {
+			@RequestParam(value = "tipo", required = false) String tipo,
+			@RequestParam(value = "status", required = false) String status,
+			@RequestAttribute(TokenAutenticacaoFilter.USUARIO) Long idUsuario,
+			@RequestParam(value = "page", required = false) Integer pagina,
+			@RequestParam(value = "size", required = false) Integer tamanho,
+			@RequestParam(value = "cursor", required = false) String cursor) {
 
-		Lancamento lancamentoFiltro = new Lancamento();
-		lancamentoFiltro.setDescricao(descricao);
-		lancamentoFiltro.setMes(mes);
-		lancamentoFiltro.setAno(ano);
+		try {
+			if (termo != null) {
+				Slice<LancamentoResumo> resultado = service.buscarPorDescricao(idUsuario, termo,
+						pagina == null ? 0 : pagina,
+						tamanho == null ? TAMANHO_PADRAO_PAGINA : tamanho);
+				
+				return ResponseEntity.ok(converter(resultado, false));
+			}
+			
+			FiltroLancamento filtro = montarFiltro(idUsuario, descricao, mes, ano, tipo, status);
 
-		Optional<Usuario> usuario = usuarioService.obterPorId(idUsuario);
+			if (pagina == null && tamanho == null && cursor == null) {
+				List<LancamentoResumo> lancamentos = service.buscar(filtro);
+				return ResponseEntity.ok(lancamentos);
+			}
 
-		if (!usuario.isPresent()) {
-			return ResponseEntity.badRequest()
-					.body("Não foi possível realizar a consulta. Usuário não encontrado para o Id informado.");
-		} else {
-			lancamentoFiltro.setUsuario(usuario.get());
-		}
+			Slice<LancamentoResumo> fatia = service.buscar(filtro,
+					cursor == null ? null : CursorLancamento.decodificar(cursor),
+					pagina == null ? 0 : pagina,
+					tamanho == null ? TAMANHO_PADRAO_PAGINA : tamanho);
 
-		List<Lancamento> lancamentos = service.buscar(lancamentoFiltro);
-		return ResponseEntity.ok(lancamentos);
+			return ResponseEntity.ok(converter(fatia, true));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body("Tipo ou status de lançamento inválido.");
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	/**
+	 * A busca por filtros sem paginação, escrita em NDJSON conforme as linhas chegam da base,
+	 * sem montar a lista. A consulta roda fora da thread da requisição, no executor assíncrono.
+	 */
+	@GetMapping("fluxo")
+	public ResponseEntity<StreamingResponseBody> buscarEmFluxo(
+			@RequestParam(value = "descricao", required = false) String descricao,
+			@RequestParam(value = "mes", required = false) Integer mes,
+			@RequestParam(value = "ano", required = false) Integer ano,
+			@RequestParam(value = "tipo", required = false) String tipo,
+			@RequestParam(value = "status", required = false) String status,
+			@RequestAttribute(TokenAutenticacaoFilter.USUARIO) Long idUsuario) {
+		
+		FiltroLancamento filtro;
+		try {
+			filtro = montarFiltro(idUsuario, descricao, mes, ano, tipo, status);
+		} catch (IllegalArgumentException e) {
+			return erroExportacao("Tipo ou status de lançamento inválido.");
+		}
+		
+		return ResponseEntity.ok()
+				.contentType(MediaType.valueOf(APPLICATION_NDJSON_VALUE))
+				.body(new ExportacaoLancamentos(destino -> service.percorrer(filtro, destino), objectMapper, 
+						ExportacaoLancamentos.Formato.NDJSON));
+	}
+	
+	private FiltroLancamento montarFiltro(Long idUsuario, String descricao, Integer mes, Integer ano, String tipo, 
+			String status) {
+		return FiltroLancamento.builder()
+				.idUsuario(idUsuario)
+				.descricao(descricao)
+				.mes(mes)
+				.ano(ano)
+				.tipo(tipo == null || tipo.isEmpty() ? null : TipoLancamento.valueOf(tipo))
+				.status(status == null || status.isEmpty() ? null : StatusLancamento.valueOf(status))
+				.build();
+	}
+	
+	private PaginaDTO<LancamentoResumo> converter(Slice<LancamentoResumo> fatia, boolean comCursor) {
+		List<LancamentoResumo> conteudo = fatia.getContent();
+		String proximoCursor = comCursor && fatia.hasNext() 
+				? CursorLancamento.de(conteudo.get(conteudo.size() - 1)).codificar() 
+				: null;
+		
+		return PaginaDTO.<LancamentoResumo>builder()
+					.conteudo(conteudo)
+					.pagina(fatia.getNumber())
+					.tamanho(fatia.getSize())
+					.temProxima(fatia.hasNext())
+					.proximoCursor(proximoCursor)
+					.build();
 	}
 	
 	private LancamentoDTO converter(Lancamento lancamento) {
@@ -125,24 +308,33 @@ public class LancamentoResource {
 					.valor(lancamento.getValor())
 					.mes(lancamento.getMes())
 					.ano(lancamento.getAno())
-					.status(lancamento.getStatus().name())
-					.tipo(lancamento.getTipo().name())
+					.status(lancamento.getStatus() == null ? null : lancamento.getStatus().name())
+					.tipo(lancamento.getTipo() == null ? null : lancamento.getTipo().name())
 					.usuario(lancamento.getUsuario().getId())
+					.versao(lancamento.getVersao())
 					.build();
 	}
 
-	private Lancamento converter(LancamentoDTO dto) {
+	/**
+	 * O id da entidade é lido sem inicializar o proxy do usuário.
+	 */
+	private boolean pertenceAoUsuario(Lancamento lancamento, Long idUsuario) {
+		return lancamento.getUsuario() != null && idUsuario.equals(lancamento.getUsuario().getId());
+	}
+
+	/**
+	 * O usuário vem sempre do token; o informado no corpo é ignorado.
+	 */
+	private Lancamento converter(LancamentoDTO dto, Long idUsuario) {
 		Lancamento lancamento = new Lancamento();
 		lancamento.setId(dto.getId());
 		lancamento.setDescricao(dto.getDescricao());
 		lancamento.setAno(dto.getAno());
 		lancamento.setMes(dto.getMes());
 		lancamento.setValor(dto.getValor());
+		lancamento.setVersao(dto.getVersao());
 
-		Usuario usuario = usuarioService.obterPorId(dto.getUsuario())
-				.orElseThrow(() -> new RegraNegocioException("Usuário não encontrado para o Id informado."));
-
-		lancamento.setUsuario(usuario);
+		lancamento.setUsuario(usuarioService.obterReferencia(idUsuario));
 		
 		if(dto.getTipo() != null) {
 			lancamento.setTipo(TipoLancamento.valueOf(dto.getTipo()));
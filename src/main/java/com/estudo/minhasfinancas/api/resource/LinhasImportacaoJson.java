@@ -0,0 +1,66 @@
+package com.estudo.minhasfinancas.api.resource;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import com.estudo.minhasfinancas.api.dto.LancamentoDTO;
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+import com.estudo.minhasfinancas.service.importacao.LinhaImportacao;
+import com.fasterxml.jackson.databind.MappingIterator;
+
+/**
+ * Lê os lançamentos da entrada um a um, seja um array JSON ou NDJSON, convertendo cada
+ * elemento conforme é consumido. Um JSON malformado encerra a leitura com um erro na linha.
+ */
+class LinhasImportacaoJson implements Iterator<LinhaImportacao> {
+
+	private final MappingIterator<LancamentoDTO> entrada;
+	private final Function<LancamentoDTO, Lancamento> conversor;
+	private long numero;
+	private boolean interrompida;
+
+	LinhasImportacaoJson(MappingIterator<LancamentoDTO> entrada, Function<LancamentoDTO, Lancamento> conversor) {
+		this.entrada = entrada;
+		this.conversor = conversor;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if(interrompida) {
+			return false;
+		}
+
+		try {
+			return entrada.hasNext();
+		} catch (RuntimeException e) {
+			interrompida = true;
+			return true;
+		}
+	}
+
+	@Override
+	public LinhaImportacao next() {
+		numero++;
+
+		if(interrompida) {
+			return LinhaImportacao.invalida(numero, "JSON inválido, importação interrompida nesta linha.");
+		}
+
+		LancamentoDTO dto;
+		try {
+			dto = entrada.next();
+		} catch (NoSuchElementException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			interrompida = true;
+			return LinhaImportacao.invalida(numero, "JSON inválido, importação interrompida nesta linha.");
+		}
+
+		try {
+			return LinhaImportacao.valida(numero, conversor.apply(dto));
+		} catch (IllegalArgumentException e) {
+			return LinhaImportacao.invalida(numero, "Tipo ou status de lançamento inválido.");
+		}
+	}
+}
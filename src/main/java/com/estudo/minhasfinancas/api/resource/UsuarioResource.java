@@ -1,23 +1,34 @@
 package com.estudo.minhasfinancas.api.resource;
 
 import java.math.BigDecimal;
-import java.util.Optional;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.estudo.minhasfinancas.api.dto.TokenDTO;
 import com.estudo.minhasfinancas.api.dto.UsuarioDTO;
+import com.estudo.minhasfinancas.api.seguranca.TokenAutenticacaoFilter;
 import com.estudo.minhasfinancas.exception.ErroAutenticacao;
 import com.estudo.minhasfinancas.exception.RegraNegocioException;
+import com.estudo.minhasfinancas.exception.ServicoSobrecarregadoException;
 import com.estudo.minhasfinancas.model.entity.Usuario;
+import com.estudo.minhasfinancas.service.JwtService;
 import com.estudo.minhasfinancas.service.LancamentoService;
+import com.estudo.minhasfinancas.service.RelatorioService;
 import com.estudo.minhasfinancas.service.UsuarioService;
+import com.estudo.minhasfinancas.service.relatorio.Relatorio;
 
 import lombok.RequiredArgsConstructor;
 
@@ -26,17 +37,28 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class UsuarioResource {
 
+	private static final int MAXIMO_IDS_RELATORIOS = 100;
+
 	private final UsuarioService service;
 	private final LancamentoService lancamentoService;
+	private final RelatorioService relatorioService;
+	private final JwtService jwtService;
 	
 	
 	@PostMapping("/autenticar")
 	public ResponseEntity autenticar(@RequestBody UsuarioDTO dto) {
 		try {
 			Usuario usuarioAutenticado = service.autenticar(dto.getEmail(), dto.getSenha());
-			return ResponseEntity.ok(usuarioAutenticado);
+			return ResponseEntity.ok(TokenDTO.builder()
+					.id(usuarioAutenticado.getId())
+					.nome(usuarioAutenticado.getNome())
+					.email(usuarioAutenticado.getEmail())
+					.token(jwtService.gerarToken(usuarioAutenticado))
+					.build());
 		}catch(ErroAutenticacao e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
+		}catch(ServicoSobrecarregadoException e) {
+			return sobrecarregado(e);
 		}
 	}
 	
@@ -53,18 +75,70 @@ public class UsuarioResource {
 			return new ResponseEntity<>(usuarioSalvo, HttpStatus.CREATED);
 		} catch (RegraNegocioException e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (ServicoSobrecarregadoException e) {
+			return sobrecarregado(e);
 		}
 	}
 	
 	@GetMapping("{id}/saldo")
-	public ResponseEntity obterSaldo(@PathVariable("id") Long id) {
-		Optional<Usuario> usuario = service.obterPorId(id);
+	public ResponseEntity obterSaldo(@RequestAttribute(TokenAutenticacaoFilter.USUARIO) Long idUsuario, 
+			@PathVariable("id") Long id) {
+		if(!id.equals(idUsuario)) {
+			return new ResponseEntity(HttpStatus.FORBIDDEN);
+		}
 		
-		if(!usuario.isPresent()) {
+		if(!service.obterPorId(id).isPresent()) {
 			return new ResponseEntity(HttpStatus.NOT_FOUND);
 		}
 		
 		BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(id);
 		return ResponseEntity.ok(saldo);
 	}
+	
+	@GetMapping("{id}/relatorio")
+	public ResponseEntity obterRelatorio(@RequestAttribute(TokenAutenticacaoFilter.USUARIO) Long idUsuario, 
+			@PathVariable("id") Long id, @RequestParam(value = "ano", required = false) Integer ano) {
+		if(!id.equals(idUsuario)) {
+			return new ResponseEntity(HttpStatus.FORBIDDEN);
+		}
+		
+		if(!service.obterPorId(id).isPresent()) {
+			return new ResponseEntity(HttpStatus.NOT_FOUND);
+		}
+		
+		Relatorio relatorio = ano == null 
+				? relatorioService.obterRelatorioAnual(id) 
+				: relatorioService.obterRelatorioMensal(id, ano);
+		return ResponseEntity.ok(relatorio);
+	}
+	
+	/**
+	 * Relatórios de vários usuários de uma vez, para as visões que agregam contas, sem uma
+	 * consulta por usuário. Usuários sem lançamentos vêm com os totais zerados. Só entram
+	 * os ids que o usuário do token pode ver, por ora apenas o dele; os demais são omitidos.
+	 */
+	@GetMapping("relatorios")
+	public ResponseEntity obterRelatorios(@RequestAttribute(TokenAutenticacaoFilter.USUARIO) Long idUsuario, 
+			@RequestParam("ids") List<Long> ids, @RequestParam(value = "ano", required = false) Integer ano) {
+		if(ids.size() > MAXIMO_IDS_RELATORIOS) {
+			return ResponseEntity.badRequest().body("Informe no máximo " + MAXIMO_IDS_RELATORIOS + " usuários.");
+		}
+		
+		List<Long> visiveis = ids.stream().filter(idUsuario::equals).distinct().collect(Collectors.toList());
+		if(visiveis.isEmpty()) {
+			return ResponseEntity.ok(Collections.emptyList());
+		}
+		
+		try {
+			return ResponseEntity.ok(relatorioService.obterRelatorios(visiveis, ano));
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	private ResponseEntity<String> sobrecarregado(ServicoSobrecarregadoException e) {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, "1")
+				.body(e.getMessage());
+	}
 }
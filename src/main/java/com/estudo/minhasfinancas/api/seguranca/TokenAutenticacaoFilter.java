@@ -0,0 +1,75 @@
+package com.estudo.minhasfinancas.api.seguranca;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.estudo.minhasfinancas.service.JwtService;
+
+/**
+ * Exige um token Bearer válido e deixa o id do usuário no atributo {@link #USUARIO} da
+ * requisição, de onde os recursos o leem em vez de recebê-lo como parâmetro. As rotas
+ * públicas, como {@code "POST /api/usuarios/autenticar"}, passam sem o token.
+ */
+public class TokenAutenticacaoFilter extends OncePerRequestFilter {
+
+	public static final String USUARIO = "minhasfinancas.usuario";
+	
+	private static final String PREFIXO = "Bearer ";
+
+	private final JwtService jwtService;
+	private final Set<String> rotasPublicas;
+
+	public TokenAutenticacaoFilter(JwtService jwtService, String... rotasPublicas) {
+		this.jwtService = jwtService;
+		this.rotasPublicas = new HashSet<>(Arrays.asList(rotasPublicas));
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		
+		String autorizacao = request.getHeader(HttpHeaders.AUTHORIZATION);
+		Optional<Long> idUsuario = autorizacao != null && autorizacao.startsWith(PREFIXO)
+				? jwtService.obterIdUsuario(autorizacao.substring(PREFIXO.length()).trim())
+				: Optional.empty();
+		
+		if(!idUsuario.isPresent()) {
+			response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+			response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+			response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+			response.setCharacterEncoding("UTF-8");
+			response.getWriter().write("Token de acesso ausente, inválido ou expirado.");
+			return;
+		}
+		
+		request.setAttribute(USUARIO, idUsuario.get());
+		chain.doFilter(request, response);
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return HttpMethod.OPTIONS.matches(request.getMethod()) 
+				|| rotasPublicas.contains(request.getMethod() + " " + caminho(request));
+	}
+
+	/**
+	 * Caminho sem o contexto da aplicação e sem a barra final, como nas rotas públicas.
+	 */
+	private static String caminho(HttpServletRequest request) {
+		String caminho = request.getRequestURI().substring(request.getContextPath().length());
+		return caminho.length() > 1 && caminho.endsWith("/") ? caminho.substring(0, caminho.length() - 1) : caminho;
+	}
+}
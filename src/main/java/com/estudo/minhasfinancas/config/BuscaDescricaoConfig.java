@@ -0,0 +1,30 @@
+package com.estudo.minhasfinancas.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import com.estudo.minhasfinancas.model.repository.LancamentoRepository;
+import com.estudo.minhasfinancas.service.BuscaDescricaoService;
+import com.estudo.minhasfinancas.service.impl.BuscaDescricaoMemoriaService;
+import com.estudo.minhasfinancas.service.impl.BuscaDescricaoPostgresService;
+
+@Configuration
+public class BuscaDescricaoConfig {
+
+	@Bean
+	public BuscaDescricaoService buscaDescricaoService(DataSource dataSource, LancamentoRepository repository) 
+			throws MetaDataAccessException {
+		String produto = JdbcUtils.commonDatabaseName(
+				JdbcUtils.extractDatabaseMetaData(dataSource, "getDatabaseProductName"));
+		
+		if("PostgreSQL".equals(produto)) {
+			return new BuscaDescricaoPostgresService(repository);
+		}
+		
+		return new BuscaDescricaoMemoriaService(repository);
+	}
+}
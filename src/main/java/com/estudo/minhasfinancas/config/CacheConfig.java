@@ -0,0 +1,50 @@
+package com.estudo.minhasfinancas.config;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Caches em memória, cada um com limite de tamanho e de tempo próprios definidos em
+ * {@code minhasfinancas.cache.<nome>} no formato de especificação do Caffeine.
+ * As remoções feitas dentro de uma transação só são aplicadas após o commit, para
+ * que uma leitura concorrente não volte a guardar o valor ainda não confirmado.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+	public static final String USUARIOS = "usuarios";
+	public static final String USUARIOS_POR_EMAIL = "usuarios-por-email";
+	public static final String LANCAMENTOS = "lancamentos";
+	public static final String SALDOS = "saldos";
+	
+	public static final List<String> NOMES = Arrays.asList(USUARIOS, USUARIOS_POR_EMAIL, LANCAMENTOS, SALDOS);
+	
+	private static final String ESPECIFICACAO_PADRAO = "maximumSize=10000,expireAfterWrite=10m";
+
+	@Bean
+	public CacheManager cacheManager(Environment environment) {
+		SimpleCacheManager cacheManager = new SimpleCacheManager();
+		cacheManager.setCaches(NOMES.stream()
+				.map(nome -> new CaffeineCache(nome, Caffeine
+						.from(environment.getProperty("minhasfinancas.cache." + nome, ESPECIFICACAO_PADRAO))
+						.recordStats()
+						.build()))
+				.collect(Collectors.toList()));
+		cacheManager.initializeCaches();
+		
+		return new TransactionAwareCacheManagerProxy(cacheManager);
+	}
+}
@@ -0,0 +1,34 @@
+package com.estudo.minhasfinancas.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.estudo.minhasfinancas.config.sql.ComandosSqlFilter;
+import com.estudo.minhasfinancas.config.sql.ComandosSqlRequisicao.Acao;
+
+/**
+ * Contagem dos comandos SQL por requisição da API. O Hibernate conta e cronometra os
+ * comandos pelo inspetor e pelo listener registrados no application.properties; aqui
+ * ficam os limites, a ação ao excedê-los e os cabeçalhos de resposta, ligados nos perfis
+ * {@code dev} e {@code test}.
+ */
+@Configuration
+public class ComandosSqlConfig {
+
+	@Bean
+	public FilterRegistrationBean<ComandosSqlFilter> comandosSqlFilter(
+			@Value("${minhasfinancas.sql.limite-comandos:50}") int limiteComandos,
+			@Value("${minhasfinancas.sql.limite-repeticoes:10}") int limiteRepeticoes,
+			@Value("${minhasfinancas.sql.acao:LOG}") Acao acao,
+			@Value("${minhasfinancas.sql.cabecalhos:false}") boolean cabecalhos) {
+		FilterRegistrationBean<ComandosSqlFilter> registro = new FilterRegistrationBean<>(
+				new ComandosSqlFilter(limiteComandos, limiteRepeticoes, acao, cabecalhos));
+		registro.addUrlPatterns("/api/*");
+		// antes do filtro do token, para que as respostas 401 também tragam os cabeçalhos
+		registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+		return registro;
+	}
+}
@@ -0,0 +1,31 @@
+package com.estudo.minhasfinancas.config;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Pool de conexões do Hikari com o tamanho padrão derivado dos núcleos disponíveis,
+ * pela fórmula sugerida pelo próprio Hikari (núcleos * 2 + 1). As propriedades
+ * {@code spring.datasource.hikari.*} são aplicadas depois e prevalecem, inclusive o
+ * {@code maximum-pool-size}. As métricas hikaricp, com o histograma da espera por uma
+ * conexão, são registradas pelo actuator.
+ */
+@Configuration
+public class DataSourceConfig {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource dataSource(DataSourceProperties properties) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setMaximumPoolSize(tamanhoPadraoPool());
+		return dataSource;
+	}
+
+	static int tamanhoPadraoPool() {
+		return Runtime.getRuntime().availableProcessors() * 2 + 1;
+	}
+}
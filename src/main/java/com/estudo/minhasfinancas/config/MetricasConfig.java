@@ -0,0 +1,24 @@
+package com.estudo.minhasfinancas.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+import com.estudo.minhasfinancas.config.metricas.TempoMetodosAspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tempo dos serviços e repositórios, somado às métricas que o Spring Boot já registra
+ * para as requisições HTTP, o pool de conexões e as estatísticas do Hibernate. Tudo é
+ * exposto no formato do Prometheus em /actuator/prometheus.
+ */
+@Configuration
+@EnableAspectJAutoProxy
+public class MetricasConfig {
+
+	@Bean
+	public TempoMetodosAspect tempoMetodosAspect(MeterRegistry registry) {
+		return new TempoMetodosAspect(registry);
+	}
+}
@@ -0,0 +1,25 @@
+package com.estudo.minhasfinancas.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.estudo.minhasfinancas.api.seguranca.TokenAutenticacaoFilter;
+import com.estudo.minhasfinancas.service.JwtService;
+
+@Configuration
+public class SegurancaConfig {
+
+	/**
+	 * Lançamentos e dados financeiros dos usuários exigem o token; o cadastro e a
+	 * autenticação, que o emitem, ficam de fora.
+	 */
+	@Bean
+	public FilterRegistrationBean<TokenAutenticacaoFilter> tokenAutenticacaoFilter(JwtService jwtService) {
+		FilterRegistrationBean<TokenAutenticacaoFilter> registro = 
+				new FilterRegistrationBean<>(new TokenAutenticacaoFilter(jwtService, 
+						"POST /api/usuarios", "POST /api/usuarios/autenticar"));
+		registro.addUrlPatterns("/api/lancamentos", "/api/lancamentos/*", "/api/usuarios/*");
+		return registro;
+	}
+}
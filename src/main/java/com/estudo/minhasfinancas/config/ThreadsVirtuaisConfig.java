@@ -0,0 +1,44 @@
+package com.estudo.minhasfinancas.config;
+
+import java.util.concurrent.ExecutorService;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import com.estudo.minhasfinancas.config.threads.ThreadsVirtuais;
+
+/**
+ * Modo opcional, ligado por {@code minhasfinancas.threads-virtuais.habilitado}, em que as
+ * requisições do Tomcat e as tarefas assíncronas da aplicação, como as exportações em
+ * streaming, executam cada uma em uma thread virtual. A espera pelo banco deixa de ocupar
+ * uma thread de plataforma, e o limite de requisições simultâneas passa a ser o pool de
+ * conexões. Exige o Java 21 em execução; em versões anteriores a aplicação não sobe.
+ */
+@Configuration
+@ConditionalOnProperty(name = "minhasfinancas.threads-virtuais.habilitado", havingValue = "true")
+public class ThreadsVirtuaisConfig {
+
+	private final ExecutorService executor = ThreadsVirtuais.executor("requisicao-virtual-");
+
+	@Bean
+	public TomcatProtocolHandlerCustomizer<?> threadsVirtuaisTomcat() {
+		return protocolHandler -> protocolHandler.setExecutor(executor);
+	}
+
+	@Bean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	public AsyncTaskExecutor applicationTaskExecutor() {
+		return new TaskExecutorAdapter(executor);
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdown();
+	}
+}
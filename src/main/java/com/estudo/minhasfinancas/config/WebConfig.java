@@ -0,0 +1,45 @@
+package com.estudo.minhasfinancas.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuração do Spring MVC, fora da classe da aplicação para que os testes de fatia,
+ * como o {@code @DataJpaTest}, subam sem o contexto web.
+ */
+@Configuration
+@EnableWebMvc
+public class WebConfig implements WebMvcConfigurer {
+
+	@Autowired(required = false)
+	@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	private AsyncTaskExecutor applicationTaskExecutor;
+	
+	@Value("${spring.mvc.async.request-timeout:-1}")
+	private long tempoLimiteAssincrono;
+
+	@Override
+	public void addCorsMappings(CorsRegistry registry) {
+		registry.addMapping("/**").allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS");
+	}
+	
+	/**
+	 * Com o @EnableWebMvc a configuração assíncrona do Spring Boot não é aplicada, então as
+	 * respostas em streaming usam aqui o pool de threads da aplicação e o tempo limite configurado.
+	 */
+	@Override
+	public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+		if(applicationTaskExecutor != null) {
+			configurer.setTaskExecutor(applicationTaskExecutor);
+		}
+		configurer.setDefaultTimeout(tempoLimiteAssincrono);
+	}
+}
@@ -0,0 +1,114 @@
+package com.estudo.minhasfinancas.config.metricas;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Mede cada chamada aos serviços de lançamentos e de usuários e aos repositórios no timer
+ * {@value #TIMER}, com histograma para os percentis, identificando a interface, o método
+ * e a exceção lançada. Envolve o cache e a transação, incluindo o commit no tempo medido.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TempoMetodosAspect {
+
+	public static final String TIMER = "minhasfinancas.metodos";
+
+	private static final String PACOTE = "com.estudo.minhasfinancas.";
+	private static final String SEM_EXCECAO = "none";
+
+	private final MeterRegistry registry;
+	private final Map<Class<?>, String> interfaces = new ConcurrentHashMap<>();
+	private final Map<Chave, Timer> timers = new ConcurrentHashMap<>();
+
+	public TempoMetodosAspect(MeterRegistry registry) {
+		super();
+		this.registry = registry;
+	}
+
+	@Around("execution(public * *(..)) && ("
+			+ "target(com.estudo.minhasfinancas.service.LancamentoService) || "
+			+ "target(com.estudo.minhasfinancas.service.UsuarioService) || "
+			+ "target(org.springframework.data.repository.Repository))")
+	public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+		Timer.Sample amostra = Timer.start(registry);
+		Class<?> excecao = null;
+
+		try {
+			return joinPoint.proceed();
+		} catch (Throwable e) {
+			excecao = e.getClass();
+			throw e;
+		} finally {
+			amostra.stop(timers.computeIfAbsent(
+					new Chave(joinPoint.getTarget().getClass(), joinPoint.getSignature().getName(), excecao), 
+					this::registrar));
+		}
+	}
+
+	/**
+	 * Montado uma vez por combinação de classe, método e exceção; as chamadas seguintes só
+	 * registram o tempo.
+	 */
+	private Timer registrar(Chave chave) {
+		return Timer.builder(TIMER)
+				.tag("classe", interfaces.computeIfAbsent(chave.alvo, this::nomeDaInterface))
+				.tag("metodo", chave.metodo)
+				.tag("excecao", chave.excecao == null ? SEM_EXCECAO : chave.excecao.getSimpleName())
+				.publishPercentileHistogram()
+				.minimumExpectedValue(Duration.ofMillis(1))
+				.maximumExpectedValue(Duration.ofSeconds(10))
+				.register(registry);
+	}
+
+	/**
+	 * Interface da aplicação implementada pelo alvo: o serviço, para as implementações, ou
+	 * o repositório, para os proxies do Spring Data.
+	 */
+	private String nomeDaInterface(Class<?> alvo) {
+		return Arrays.stream(alvo.getInterfaces())
+				.filter(tipo -> tipo.getName().startsWith(PACOTE))
+				.map(Class::getSimpleName)
+				.findFirst()
+				.orElse(alvo.getSimpleName());
+	}
+
+	private static class Chave {
+
+		private final Class<?> alvo;
+		private final String metodo;
+		private final Class<?> excecao;
+
+		Chave(Class<?> alvo, String metodo, Class<?> excecao) {
+			this.alvo = alvo;
+			this.metodo = metodo;
+			this.excecao = excecao;
+		}
+
+		@Override
+		public boolean equals(Object objeto) {
+			if(!(objeto instanceof Chave)) {
+				return false;
+			}
+			Chave outra = (Chave) objeto;
+			return alvo == outra.alvo && metodo.equals(outra.metodo) && excecao == outra.excecao;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(alvo, metodo, excecao);
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package com.estudo.minhasfinancas.config.sql;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.estudo.minhasfinancas.config.sql.ComandosSqlRequisicao.Acao;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Conta os comandos SQL e o tempo gasto no banco em cada requisição e registra no log as
+ * que passam dos limites. Com os cabeçalhos habilitados, os números vão na resposta em
+ * {@value #COMANDOS} e {@value #TEMPO}, escritos quando o corpo começa a ser enviado.
+ * O que uma resposta em streaming consulta depois disso, em outra thread, não é contado.
+ */
+@Slf4j
+public class ComandosSqlFilter extends OncePerRequestFilter {
+
+	public static final String COMANDOS = "X-Comandos-Sql";
+	public static final String TEMPO = "X-Tempo-Sql-Ms";
+
+	private final int limiteComandos;
+	private final int limiteRepeticoes;
+	private final Acao acao;
+	private final boolean cabecalhos;
+
+	public ComandosSqlFilter(int limiteComandos, int limiteRepeticoes, Acao acao, boolean cabecalhos) {
+		this.limiteComandos = limiteComandos;
+		this.limiteRepeticoes = limiteRepeticoes;
+		this.acao = acao;
+		this.cabecalhos = cabecalhos;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+
+		ComandosSqlRequisicao comandos = ComandosSqlRequisicao.iniciar(limiteComandos, limiteRepeticoes, acao);
+		RespostaComCabecalhos resposta = cabecalhos ? new RespostaComCabecalhos(response, comandos) : null;
+		try {
+			chain.doFilter(request, resposta != null ? resposta : response);
+		} finally {
+			comandos.encerrar();
+			if(resposta != null) {
+				resposta.escreverCabecalhos();
+			}
+			registrarExcesso(request, comandos);
+		}
+	}
+
+	private void registrarExcesso(HttpServletRequest request, ComandosSqlRequisicao comandos) {
+		if(comandos.excedeuLimiteComandos()) {
+			log.warn("{} {}: {} comandos SQL em {} ms, acima do limite de {}", request.getMethod(), 
+					request.getRequestURI(), comandos.getComandos(), formatarTempo(comandos), limiteComandos);
+		}
+		if(comandos.excedeuLimiteRepeticoes()) {
+			log.warn("{} {}: consulta repetida {} vezes, possível N+1: {}", request.getMethod(), 
+					request.getRequestURI(), comandos.getRepeticoes(), comandos.getConsultaMaisRepetida());
+		}
+	}
+
+	private static String formatarTempo(ComandosSqlRequisicao comandos) {
+		return String.format(Locale.ROOT, "%.3f", comandos.getTempoMs());
+	}
+
+	/**
+	 * Acrescenta os cabeçalhos antes de a resposta ser confirmada, no primeiro acesso ao corpo.
+	 */
+	private static class RespostaComCabecalhos extends HttpServletResponseWrapper {
+
+		private final ComandosSqlRequisicao comandos;
+		private boolean escritos;
+
+		RespostaComCabecalhos(HttpServletResponse response, ComandosSqlRequisicao comandos) {
+			super(response);
+			this.comandos = comandos;
+		}
+
+		void escreverCabecalhos() {
+			if(!escritos && !isCommitted()) {
+				escritos = true;
+				setHeader(COMANDOS, String.valueOf(comandos.getComandos()));
+				setHeader(TEMPO, formatarTempo(comandos));
+			}
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			escreverCabecalhos();
+			return super.getOutputStream();
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			escreverCabecalhos();
+			return super.getWriter();
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			escreverCabecalhos();
+			super.flushBuffer();
+		}
+
+		@Override
+		public void sendError(int sc) throws IOException {
+			escreverCabecalhos();
+			super.sendError(sc);
+		}
+
+		@Override
+		public void sendError(int sc, String msg) throws IOException {
+			escreverCabecalhos();
+			super.sendError(sc, msg);
+		}
+
+		@Override
+		public void sendRedirect(String location) throws IOException {
+			escreverCabecalhos();
+			super.sendRedirect(location);
+		}
+	}
+}
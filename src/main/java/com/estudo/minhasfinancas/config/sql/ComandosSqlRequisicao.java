@@ -0,0 +1,125 @@
+package com.estudo.minhasfinancas.config.sql;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.estudo.minhasfinancas.exception.LimiteComandosSqlException;
+
+/**
+ * Comandos SQL emitidos pelo Hibernate na thread de uma requisição, contados pelo
+ * {@link ContadorComandosSql} e cronometrados pelo {@link TempoComandosSqlListener}. Guarda
+ * também quantas vezes cada consulta se repetiu, o sinal típico de um N+1. Com a ação
+ * {@link Acao#FALHAR}, o comando que passa de um dos limites é interrompido com
+ * {@link LimiteComandosSqlException}; um limite zero não é verificado.
+ */
+public class ComandosSqlRequisicao {
+
+	public enum Acao { LOG, FALHAR }
+
+	private static final ThreadLocal<ComandosSqlRequisicao> ATUAL = new ThreadLocal<>();
+
+	private final ComandosSqlRequisicao anterior;
+	private final int limiteComandos;
+	private final int limiteRepeticoes;
+	private final Acao acao;
+	private final Map<String, Integer> consultas = new HashMap<>();
+
+	private int comandos;
+	private long tempoNanos;
+	private String consultaMaisRepetida;
+	private int repeticoes;
+
+	private ComandosSqlRequisicao(ComandosSqlRequisicao anterior, int limiteComandos, int limiteRepeticoes, Acao acao) {
+		this.anterior = anterior;
+		this.limiteComandos = limiteComandos;
+		this.limiteRepeticoes = limiteRepeticoes;
+		this.acao = acao;
+	}
+
+	/**
+	 * Passa a contar os comandos da thread atual até o {@link #encerrar()}, que volta à
+	 * contagem anterior, se houver.
+	 */
+	public static ComandosSqlRequisicao iniciar(int limiteComandos, int limiteRepeticoes, Acao acao) {
+		ComandosSqlRequisicao requisicao = new ComandosSqlRequisicao(ATUAL.get(), limiteComandos, limiteRepeticoes, acao);
+		ATUAL.set(requisicao);
+		return requisicao;
+	}
+
+	public static ComandosSqlRequisicao iniciar() {
+		return iniciar(0, 0, Acao.LOG);
+	}
+
+	public static Optional<ComandosSqlRequisicao> atual() {
+		return Optional.ofNullable(ATUAL.get());
+	}
+
+	public void encerrar() {
+		if(anterior == null) {
+			ATUAL.remove();
+		} else {
+			ATUAL.set(anterior);
+		}
+	}
+
+	void registrarComando(String sql) {
+		comandos++;
+		if(acao == Acao.FALHAR && excedeuLimiteComandos()) {
+			throw new LimiteComandosSqlException("Mais de " + limiteComandos + " comandos SQL na mesma requisição.");
+		}
+
+		if(!ehConsulta(sql)) {
+			return;
+		}
+		int vezes = consultas.merge(sql, 1, Integer::sum);
+		if(vezes > repeticoes) {
+			repeticoes = vezes;
+			consultaMaisRepetida = sql;
+		}
+		if(acao == Acao.FALHAR && excedeuLimiteRepeticoes()) {
+			throw new LimiteComandosSqlException("Consulta repetida mais de " + limiteRepeticoes 
+					+ " vezes na mesma requisição, possível N+1: " + sql);
+		}
+	}
+
+	void registrarTempo(long nanos) {
+		tempoNanos += nanos;
+	}
+
+	/**
+	 * Só as consultas entram na detecção de N+1: inserts e updates repetidos são os lotes
+	 * do JDBC, um comando preparado por lote.
+	 */
+	private static boolean ehConsulta(String sql) {
+		int inicio = 0;
+		while(inicio < sql.length() && Character.isWhitespace(sql.charAt(inicio))) {
+			inicio++;
+		}
+		return sql.regionMatches(true, inicio, "select", 0, 6) || sql.regionMatches(true, inicio, "with", 0, 4);
+	}
+
+	public boolean excedeuLimiteComandos() {
+		return limiteComandos > 0 && comandos > limiteComandos;
+	}
+
+	public boolean excedeuLimiteRepeticoes() {
+		return limiteRepeticoes > 0 && repeticoes > limiteRepeticoes;
+	}
+
+	public int getComandos() {
+		return comandos;
+	}
+
+	public double getTempoMs() {
+		return tempoNanos / 1_000_000d;
+	}
+
+	public int getRepeticoes() {
+		return repeticoes;
+	}
+
+	public String getConsultaMaisRepetida() {
+		return consultaMaisRepetida;
+	}
+}
@@ -0,0 +1,18 @@
+package com.estudo.minhasfinancas.config.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta na {@link ComandosSqlRequisicao} da thread cada comando que o Hibernate prepara,
+ * sem alterá-lo. Registrado em {@code hibernate.session_factory.statement_inspector}.
+ */
+public class ContadorComandosSql implements StatementInspector {
+
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	public String inspect(String sql) {
+		ComandosSqlRequisicao.atual().ifPresent(requisicao -> requisicao.registrarComando(sql));
+		return sql;
+	}
+}
@@ -0,0 +1,40 @@
+package com.estudo.minhasfinancas.config.sql;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Soma na {@link ComandosSqlRequisicao} da thread o tempo de execução dos comandos e dos
+ * lotes de cada sessão. Registrado em {@code hibernate.session.events.auto}, que cria uma
+ * instância por sessão.
+ */
+public class TempoComandosSqlListener extends BaseSessionEventListener {
+
+	private static final long serialVersionUID = 1L;
+
+	private long inicio;
+
+	@Override
+	public void jdbcExecuteStatementStart() {
+		inicio = System.nanoTime();
+	}
+
+	@Override
+	public void jdbcExecuteStatementEnd() {
+		registrarTempo();
+	}
+
+	@Override
+	public void jdbcExecuteBatchStart() {
+		inicio = System.nanoTime();
+	}
+
+	@Override
+	public void jdbcExecuteBatchEnd() {
+		registrarTempo();
+	}
+
+	private void registrarTempo() {
+		long tempo = System.nanoTime() - inicio;
+		ComandosSqlRequisicao.atual().ifPresent(requisicao -> requisicao.registrarTempo(tempo));
+	}
+}
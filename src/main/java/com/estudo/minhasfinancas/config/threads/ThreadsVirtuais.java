@@ -0,0 +1,83 @@
+package com.estudo.minhasfinancas.config.threads;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Acesso às threads virtuais do Java 21 por reflexão, já que o projeto é compilado para o
+ * Java 8. Em versões anteriores {@link #disponiveis()} é falso e os demais métodos falham.
+ */
+public final class ThreadsVirtuais {
+
+	private static final Method OF_VIRTUAL = metodo(Thread.class, "ofVirtual");
+	private static final Method NAME = metodo(tipo("java.lang.Thread$Builder"), "name", String.class, long.class);
+	private static final Method FACTORY = metodo(tipo("java.lang.Thread$Builder"), "factory");
+	private static final Method IS_VIRTUAL = metodo(Thread.class, "isVirtual");
+	private static final Method NEW_THREAD_PER_TASK_EXECUTOR = 
+			metodo(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+
+	private ThreadsVirtuais() {
+	}
+
+	public static boolean disponiveis() {
+		return OF_VIRTUAL != null && NAME != null && FACTORY != null && IS_VIRTUAL != null 
+				&& NEW_THREAD_PER_TASK_EXECUTOR != null;
+	}
+
+	/**
+	 * Fábrica de threads virtuais numeradas a partir de zero com o prefixo informado.
+	 */
+	public static ThreadFactory fabrica(String prefixo) {
+		Object construtor = invocar(NAME, invocar(OF_VIRTUAL, null), prefixo, 0L);
+		return (ThreadFactory) invocar(FACTORY, construtor);
+	}
+
+	/**
+	 * Executor que inicia uma thread virtual nova para cada tarefa, sem limite de threads.
+	 */
+	public static ExecutorService executor(String prefixo) {
+		return (ExecutorService) invocar(NEW_THREAD_PER_TASK_EXECUTOR, null, fabrica(prefixo));
+	}
+
+	public static boolean virtual(Thread thread) {
+		return disponiveis() && (Boolean) invocar(IS_VIRTUAL, thread);
+	}
+
+	private static Object invocar(Method metodo, Object alvo, Object... argumentos) {
+		if(!disponiveis()) {
+			throw new IllegalStateException("Threads virtuais exigem Java 21 ou superior; em execução no Java " 
+					+ System.getProperty("java.version") + ".");
+		}
+		
+		try {
+			return metodo.invoke(alvo, argumentos);
+		} catch (InvocationTargetException e) {
+			throw new IllegalStateException(e.getCause());
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static Class<?> tipo(String nome) {
+		try {
+			return Class.forName(nome);
+		} catch (ClassNotFoundException e) {
+			return null;
+		}
+	}
+
+	private static Method metodo(Class<?> tipo, String nome, Class<?>... parametros) {
+		if(tipo == null) {
+			return null;
+		}
+		
+		try {
+			return tipo.getMethod(nome, parametros);
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+}
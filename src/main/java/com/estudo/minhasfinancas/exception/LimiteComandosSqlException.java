@@ -0,0 +1,8 @@
+package com.estudo.minhasfinancas.exception;
+
+public class LimiteComandosSqlException extends RuntimeException{
+
+	public LimiteComandosSqlException(String mensagem) {
+		super(mensagem);
+	}
+}
@@ -0,0 +1,8 @@
+package com.estudo.minhasfinancas.exception;
+
+public class ServicoSobrecarregadoException extends RuntimeException{
+
+	public ServicoSobrecarregadoException(String mensagem) {
+		super(mensagem);
+	}
+}
@@ -0,0 +1,98 @@
+package com.estudo.minhasfinancas.model.dinheiro;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Valor monetário em centavos num {@code long}, a escala 2 das colunas de valor. As somas
+ * são exatas e estouram com {@link ArithmeticException} em vez de dar a volta; na conversão
+ * de um {@link BigDecimal}, casas além dos centavos são arredondadas com
+ * {@link RoundingMode#HALF_EVEN}. O {@link BigDecimal} fica para a API e para o banco.
+ */
+@JsonSerialize(using = DinheiroJson.Serializador.class)
+@JsonDeserialize(using = DinheiroJson.Desserializador.class)
+public final class Dinheiro implements Comparable<Dinheiro>, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	public static final int ESCALA = 2;
+	public static final Dinheiro ZERO = new Dinheiro(0);
+
+	private final long centavos;
+
+	private Dinheiro(long centavos) {
+		this.centavos = centavos;
+	}
+
+	public static Dinheiro deCentavos(long centavos) {
+		return centavos == 0 ? ZERO : new Dinheiro(centavos);
+	}
+
+	public static Dinheiro de(BigDecimal valor) {
+		return deCentavos(centavos(valor));
+	}
+
+	/**
+	 * Com a escala 2 das colunas de valor, o deslocamento resulta em escala zero e o valor
+	 * é lido sem passar por um BigInteger.
+	 */
+	public static long centavos(BigDecimal valor) {
+		BigDecimal centavos = valor.scaleByPowerOfTen(ESCALA);
+		return (centavos.scale() <= 0 ? centavos : centavos.setScale(0, RoundingMode.HALF_EVEN)).longValueExact();
+	}
+
+	public static BigDecimal paraBigDecimal(long centavos) {
+		return BigDecimal.valueOf(centavos, ESCALA);
+	}
+
+	public long getCentavos() {
+		return centavos;
+	}
+
+	public Dinheiro somar(Dinheiro outro) {
+		return deCentavos(Math.addExact(centavos, outro.centavos));
+	}
+
+	public Dinheiro subtrair(Dinheiro outro) {
+		return deCentavos(Math.subtractExact(centavos, outro.centavos));
+	}
+
+	public Dinheiro negar() {
+		return deCentavos(Math.negateExact(centavos));
+	}
+
+	public int signum() {
+		return Long.signum(centavos);
+	}
+
+	public BigDecimal paraBigDecimal() {
+		return paraBigDecimal(centavos);
+	}
+
+	@Override
+	public int compareTo(Dinheiro outro) {
+		return Long.compare(centavos, outro.centavos);
+	}
+
+	@Override
+	public boolean equals(Object objeto) {
+		return objeto instanceof Dinheiro && ((Dinheiro) objeto).centavos == centavos;
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(centavos);
+	}
+
+	/**
+	 * Sempre com as duas casas, como {@code 10.00} ou {@code -0.05}.
+	 */
+	@Override
+	public String toString() {
+		return paraBigDecimal().toPlainString();
+	}
+}
@@ -0,0 +1,23 @@
+package com.estudo.minhasfinancas.model.dinheiro;
+
+import java.math.BigDecimal;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Grava o {@link Dinheiro} nas colunas {@code NUMERIC(16, 2)} sem mudar o esquema.
+ */
+@Converter
+public class DinheiroConverter implements AttributeConverter<Dinheiro, BigDecimal> {
+
+	@Override
+	public BigDecimal convertToDatabaseColumn(Dinheiro valor) {
+		return valor == null ? null : valor.paraBigDecimal();
+	}
+
+	@Override
+	public Dinheiro convertToEntityAttribute(BigDecimal valor) {
+		return valor == null ? null : Dinheiro.de(valor);
+	}
+}
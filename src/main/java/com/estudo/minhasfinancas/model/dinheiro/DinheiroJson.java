@@ -0,0 +1,75 @@
+package com.estudo.minhasfinancas.model.dinheiro;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+/**
+ * O {@link Dinheiro} no JSON é um número com duas casas, como o {@link BigDecimal} lido do
+ * banco. Na leitura são aceitos números e textos numéricos; casas além dos centavos seguem
+ * o arredondamento do {@link Dinheiro#de(BigDecimal)}.
+ */
+public final class DinheiroJson {
+
+	private DinheiroJson() {
+	}
+
+	public static class Serializador extends StdScalarSerializer<Dinheiro> {
+
+		private static final long serialVersionUID = 1L;
+
+		public Serializador() {
+			super(Dinheiro.class);
+		}
+
+		@Override
+		public void serialize(Dinheiro valor, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+			gerador.writeNumber(valor.toString());
+		}
+	}
+
+	public static class Desserializador extends StdScalarDeserializer<Dinheiro> {
+
+		private static final long serialVersionUID = 1L;
+
+		public Desserializador() {
+			super(Dinheiro.class);
+		}
+
+		@Override
+		public Dinheiro deserialize(JsonParser parser, DeserializationContext contexto) throws IOException {
+			JsonToken token = parser.getCurrentToken();
+			
+			if(token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+				return converter(parser.getDecimalValue(), contexto);
+			}
+			
+			if(token == JsonToken.VALUE_STRING) {
+				String texto = parser.getText().trim();
+				
+				try {
+					return converter(new BigDecimal(texto), contexto);
+				} catch (NumberFormatException e) {
+					return (Dinheiro) contexto.handleWeirdStringValue(Dinheiro.class, texto, "valor monetário inválido");
+				}
+			}
+			
+			return (Dinheiro) contexto.handleUnexpectedToken(Dinheiro.class, parser);
+		}
+
+		private Dinheiro converter(BigDecimal valor, DeserializationContext contexto) throws IOException {
+			try {
+				return Dinheiro.de(valor);
+			} catch (ArithmeticException e) {
+				return (Dinheiro) contexto.handleWeirdNumberValue(Dinheiro.class, valor, "valor monetário fora do intervalo");
+			}
+		}
+	}
+}
@@ -3,18 +3,24 @@ package com.estudo.minhasfinancas.model.entity;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
 
 import com.estudo.minhasfinancas.model.enums.StatusLancamento;
@@ -27,6 +33,8 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "lancamento", schema = "financas")
+@Cacheable
+@Cache(region = "lancamento", usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @Builder
 @NoArgsConstructor
@@ -34,7 +42,9 @@ import lombok.NoArgsConstructor;
 public class Lancamento {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lancamento_id_seq")
+	@SequenceGenerator(name = "lancamento_id_seq", schema = "financas", sequenceName = "lancamento_id_seq", 
+			allocationSize = 50)
 	@Column(name = "id")
 	private Long id;
 
@@ -47,14 +57,14 @@ public class Lancamento {
 	@Column(name = "ano")
 	private Integer ano;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "id_usuario")
 	private Usuario usuario;
 
-	@Column(name = "valor")
+	@Column(name = "valor", precision = 16, scale = 2)
 	private BigDecimal valor;
 
-	@Column(name = "data_cadastro")
+	@Column(name = "data_cadastro", columnDefinition = "date")
 	@Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
 	private LocalDate dataCadastro;
 
@@ -66,4 +76,8 @@ public class Lancamento {
 	@Enumerated(value = EnumType.STRING)
 	private StatusLancamento status;
 
+	@Version
+	@Column(name = "versao")
+	private Long versao;
+
 }
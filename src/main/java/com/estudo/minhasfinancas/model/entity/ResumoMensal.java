@@ -0,0 +1,38 @@
+package com.estudo.minhasfinancas.model.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+
+import com.estudo.minhasfinancas.model.dinheiro.Dinheiro;
+import com.estudo.minhasfinancas.model.dinheiro.DinheiroConverter;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Total e quantidade dos lançamentos de um usuário em um mês, por tipo e status,
+ * mantidos a cada escrita para que os relatórios não percorram os lançamentos.
+ */
+@Entity
+@Table(name = "resumo_mensal", schema = "financas")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoMensal {
+
+	@EmbeddedId
+	private ResumoMensalId id;
+
+	@Column(name = "valor", precision = 16, scale = 2)
+	@Convert(converter = DinheiroConverter.class)
+	private Dinheiro valor;
+
+	@Column(name = "quantidade")
+	private Long quantidade;
+}
@@ -0,0 +1,41 @@
+package com.estudo.minhasfinancas.model.entity;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoMensalId implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+
+	@Column(name = "ano")
+	private Integer ano;
+
+	@Column(name = "mes")
+	private Integer mes;
+
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLancamento tipo;
+
+	@Column(name = "status")
+	@Enumerated(value = EnumType.STRING)
+	private StatusLancamento status;
+}
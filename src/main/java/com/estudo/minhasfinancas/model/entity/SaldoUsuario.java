@@ -0,0 +1,35 @@
+package com.estudo.minhasfinancas.model.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+
+import com.estudo.minhasfinancas.model.dinheiro.Dinheiro;
+import com.estudo.minhasfinancas.model.dinheiro.DinheiroConverter;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Total acumulado dos lançamentos de um usuário para um par tipo/status,
+ * mantido a cada escrita para que o saldo seja lido pela chave primária.
+ */
+@Entity
+@Table(name = "saldo_usuario", schema = "financas")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoUsuario {
+
+	@EmbeddedId
+	private SaldoUsuarioId id;
+
+	@Column(name = "valor", precision = 16, scale = 2)
+	@Convert(converter = DinheiroConverter.class)
+	private Dinheiro valor;
+}
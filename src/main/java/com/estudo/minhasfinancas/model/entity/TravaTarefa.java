@@ -0,0 +1,36 @@
+package com.estudo.minhasfinancas.model.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Trava de uma tarefa agendada entre as instâncias da aplicação, válida até
+ * {@code bloqueadaAte}, em UTC.
+ */
+@Entity
+@Table(name = "trava_tarefa", schema = "financas")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravaTarefa {
+
+	@Id
+	@Column(name = "nome")
+	private String nome;
+
+	@Column(name = "bloqueada_ate")
+	private LocalDateTime bloqueadaAte;
+
+	@Column(name = "instancia")
+	private String instancia;
+}
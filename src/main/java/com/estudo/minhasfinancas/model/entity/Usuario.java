@@ -1,5 +1,6 @@
 package com.estudo.minhasfinancas.model.entity;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
@@ -7,6 +8,9 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import lombok.AllArgsConstructor;
@@ -16,6 +20,8 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "usuario", schema = "financas")
+@Cacheable
+@Cache(region = "usuario", usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @Data
 @Builder
 @NoArgsConstructor
@@ -1,20 +1,107 @@
 package com.estudo.minhasfinancas.model.repository;
 
-import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.estudo.minhasfinancas.model.entity.Lancamento;
-import com.estudo.minhasfinancas.model.enums.StatusLancamento;
-import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+import com.estudo.minhasfinancas.model.repository.projection.DescricaoLancamento;
+import com.estudo.minhasfinancas.model.repository.projection.LancamentoResumo;
+import com.estudo.minhasfinancas.model.repository.projection.TotalLancamentos;
+import com.estudo.minhasfinancas.model.repository.projection.ValorLancamento;
 
-public interface LancamentoRepository extends JpaRepository<Lancamento, Long>{
+public interface LancamentoRepository extends JpaRepository<Lancamento, Long>, 
+		JpaSpecificationExecutor<Lancamento>, LancamentoRepositoryCustom{
 
+	@Query(value = " select " + LancamentoResumo.CONSTRUTOR + " from Lancamento l where l.id = :id " )
+	Optional<LancamentoResumo> obterResumoPorId(@Param("id") Long id);
+	
+	@Query(value = " select " + LancamentoResumo.CONSTRUTOR + " from Lancamento l where l.id in :ids " )
+	List<LancamentoResumo> obterResumosPorIds(@Param("ids") Collection<Long> ids);
+	
+	@Query(value = 
+			" select l.id as id, l.usuario.id as idUsuario, l.descricao as descricao from Lancamento l "
+			+ " where l.id > :id order by l.id " )
+	List<DescricaoLancamento> obterDescricoesAposId(@Param("id") Long id, Pageable pagina);
+	
+	/**
+	 * Lê os valores gravados na base, sem forçar o flush de alterações pendentes
+	 * no contexto de persistência, para que o estado anterior do lançamento possa
+	 * ser estornado do saldo.
+	 */
+	@Query(value = 
+			" select l.usuario.id as idUsuario, l.ano as ano, l.mes as mes, l.tipo as tipo, l.status as status, "
+			+ " l.valor as valor, l.versao as versao from Lancamento l where l.id = :id " )
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT"))
+	Optional<ValorLancamento> obterValorGravado(@Param("id") Long id);
+	
+	/**
+	 * Lê e trava o lançamento para alteração, já conferindo a posse: vazio quando ele não
+	 * existe ou é de outro usuário.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query(value = " select l from Lancamento l where l.id = :id and l.usuario.id = :idUsuario " )
+	Optional<Lancamento> obterParaAtualizar(@Param("id") Long id, @Param("idUsuario") Long idUsuario);
+	
+	@Query(value = 
+			" select l.usuario.id as idUsuario, l.tipo as tipo, l.status as status, sum(l.valor) as valor "
+			+ " from Lancamento l where l.usuario.id = :idUsuario group by l.usuario.id, l.tipo, l.status " )
+	List<ValorLancamento> obterTotaisPorUsuario(@Param("idUsuario") Long idUsuario);
+	
+	@Query(value = 
+			" select l.ano as ano, l.mes as mes, l.tipo as tipo, l.status as status, "
+			+ " sum(l.valor) as valor, count(l) as quantidade "
+			+ " from Lancamento l where l.usuario.id = :idUsuario group by l.ano, l.mes, l.tipo, l.status " )
+	List<TotalLancamentos> obterTotaisMensaisPorUsuario(@Param("idUsuario") Long idUsuario);
+	
+	/**
+	 * Percorre todos os lançamentos do usuário com um cursor do JDBC, trazendo as linhas
+	 * em blocos de {@code fetchSize}. Precisa ser consumido dentro de uma transação.
+	 */
 	@Query(value = 
-			" select sum(l.valor) from Lancamento l join l.usuario u "
-			+ " where u.id = :idUsuario and l.tipo =:tipo and l.status =:status group by u " )
-	BigDecimal obterSaldoPorTipoLancamentoEUsuarioEStatus(@Param("idUsuario") Long idUsuario, 
-			@Param("tipo") TipoLancamento tipo, @Param("status") StatusLancamento status);
+			" select " + LancamentoResumo.CONSTRUTOR + " from Lancamento l where l.usuario.id = :idUsuario "
+			+ " order by l.ano desc, l.mes desc, l.id desc " )
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.FETCH_SIZE, value = "500"))
+	Stream<LancamentoResumo> percorrerPorUsuario(@Param("idUsuario") Long idUsuario);
+	
+	@Query(nativeQuery = true, value = 
+			" select l.id from financas.lancamento l "
+			+ " where l.id_usuario = :idUsuario "
+			+ " and (l.descricao ilike concat('%', :termo, '%') or :termo <% l.descricao) "
+			+ " order by word_similarity(:termo, l.descricao) desc, l.id desc "
+			+ " offset :deslocamento limit :limite " )
+	List<Number> buscarIdsPorSimilaridadeDaDescricao(@Param("idUsuario") Long idUsuario, @Param("termo") String termo,
+			@Param("deslocamento") int deslocamento, @Param("limite") int limite);
+	
+	/**
+	 * Cria a partição anual de lançamentos no PostgreSQL (migração V10 do Flyway),
+	 * devolvendo falso quando ela já existe ou o ano já foi arquivado.
+	 */
+	@Transactional
+	@Query(nativeQuery = true, value = " select financas.criar_particao_lancamento(:ano) " )
+	boolean criarParticao(@Param("ano") int ano);
+	
+	/**
+	 * Move os anos anteriores a {@code anoLimite} para a partição de arquivo, devolvendo
+	 * quantas partições anuais foram incorporadas a ela.
+	 */
+	@Transactional
+	@Query(nativeQuery = true, value = " select financas.arquivar_lancamentos(:anoLimite) " )
+	int arquivarAnteriores(@Param("anoLimite") int anoLimite);
+	
+	@Query(nativeQuery = true, value = " select distinct l.ano from financas.lancamento_padrao l " )
+	List<Integer> obterAnosSemParticao();
 }
@@ -0,0 +1,28 @@
+package com.estudo.minhasfinancas.model.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+import com.estudo.minhasfinancas.model.repository.projection.LancamentoResumo;
+
+public interface LancamentoRepositoryCustom {
+
+	List<LancamentoResumo> buscarResumos(Specification<Lancamento> specification, Sort sort);
+	
+	/**
+	 * Busca uma fatia sem executar a consulta de contagem que o findAll paginado faz.
+	 */
+	Slice<LancamentoResumo> buscarFatia(Specification<Lancamento> specification, Pageable pageable);
+	
+	/**
+	 * Percorre o resultado com um cursor do JDBC, como o percorrerPorUsuario. Precisa ser
+	 * consumido e fechado dentro de uma transação.
+	 */
+	Stream<LancamentoResumo> percorrerResumos(Specification<Lancamento> specification, Sort sort);
+}
@@ -0,0 +1,77 @@
+package com.estudo.minhasfinancas.model.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.hibernate.annotations.QueryHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+import com.estudo.minhasfinancas.model.repository.projection.LancamentoResumo;
+
+public class LancamentoRepositoryCustomImpl implements LancamentoRepositoryCustom {
+
+	private static final int TAMANHO_BLOCO_CURSOR = 500;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<LancamentoResumo> buscarResumos(Specification<Lancamento> specification, Sort sort) {
+		return criarConsulta(specification, sort).getResultList();
+	}
+
+	@Override
+	public Slice<LancamentoResumo> buscarFatia(Specification<Lancamento> specification, Pageable pageable) {
+		List<LancamentoResumo> resultado = criarConsulta(specification, pageable.getSort())
+				.setFirstResult((int) pageable.getOffset())
+				.setMaxResults(pageable.getPageSize() + 1)
+				.getResultList();
+
+		boolean temProxima = resultado.size() > pageable.getPageSize();
+		if(temProxima) {
+			resultado = new ArrayList<>(resultado.subList(0, pageable.getPageSize()));
+		}
+
+		return new SliceImpl<>(resultado, pageable, temProxima);
+	}
+
+	@Override
+	public Stream<LancamentoResumo> percorrerResumos(Specification<Lancamento> specification, Sort sort) {
+		return criarConsulta(specification, sort)
+				.setHint(QueryHints.FETCH_SIZE, TAMANHO_BLOCO_CURSOR)
+				.getResultStream();
+	}
+
+	private TypedQuery<LancamentoResumo> criarConsulta(Specification<Lancamento> specification, Sort sort) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<LancamentoResumo> query = cb.createQuery(LancamentoResumo.class);
+		Root<Lancamento> root = query.from(Lancamento.class);
+
+		query.select(cb.construct(LancamentoResumo.class,
+				root.get("id"), root.get("descricao"), root.get("mes"), root.get("ano"), root.get("valor"),
+				root.get("usuario").get("id"), root.get("tipo"), root.get("status"), root.get("versao")));
+
+		Predicate predicado = specification.toPredicate(root, query, cb);
+		if(predicado != null) {
+			query.where(predicado);
+		}
+		query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+		return entityManager.createQuery(query);
+	}
+}
@@ -0,0 +1,46 @@
+package com.estudo.minhasfinancas.model.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.estudo.minhasfinancas.model.entity.ResumoMensal;
+import com.estudo.minhasfinancas.model.entity.ResumoMensalId;
+import com.estudo.minhasfinancas.model.repository.projection.TotalLancamentosUsuario;
+import com.estudo.minhasfinancas.model.repository.projection.TotalResumo;
+
+public interface ResumoMensalRepository extends JpaRepository<ResumoMensal, ResumoMensalId>, ResumoMensalRepositoryCustom{
+
+	List<ResumoMensal> findByIdIdUsuarioAndIdAnoOrderByIdMes(Long idUsuario, Integer ano);
+	
+	@Query(value = 
+			" select r.id.ano as ano, r.id.tipo as tipo, r.id.status as status, "
+			+ " sum(r.valor) as valor, sum(r.quantidade) as quantidade "
+			+ " from ResumoMensal r where r.id.idUsuario = :idUsuario "
+			+ " group by r.id.ano, r.id.tipo, r.id.status order by r.id.ano " )
+	List<TotalResumo> obterTotaisAnuais(@Param("idUsuario") Long idUsuario);
+	
+	@Query(value = 
+			" select r.id.idUsuario as idUsuario, r.id.ano as ano, r.id.mes as mes, r.id.tipo as tipo, "
+			+ " r.id.status as status, r.valor as valor, r.quantidade as quantidade "
+			+ " from ResumoMensal r where r.id.idUsuario in :idsUsuarios and r.id.ano = :ano " )
+	List<TotalLancamentosUsuario> obterTotaisMensaisPorUsuarios(@Param("idsUsuarios") Collection<Long> idsUsuarios, 
+			@Param("ano") Integer ano);
+	
+	@Query(value = 
+			" select r.id.idUsuario as idUsuario, r.id.ano as ano, r.id.tipo as tipo, r.id.status as status, "
+			+ " sum(r.valor) as valor, sum(r.quantidade) as quantidade "
+			+ " from ResumoMensal r where r.id.idUsuario in :idsUsuarios "
+			+ " group by r.id.idUsuario, r.id.ano, r.id.tipo, r.id.status " )
+	List<TotalLancamentosUsuario> obterTotaisAnuaisPorUsuarios(@Param("idsUsuarios") Collection<Long> idsUsuarios);
+	
+	List<ResumoMensal> findByIdIdUsuario(Long idUsuario);
+	
+	@Modifying(flushAutomatically = true)
+	@Query(value = " delete from ResumoMensal r where r.id.idUsuario = :idUsuario " )
+	void deletarPorUsuario(@Param("idUsuario") Long idUsuario);
+}
@@ -0,0 +1,13 @@
+package com.estudo.minhasfinancas.model.repository;
+
+import com.estudo.minhasfinancas.model.dinheiro.Dinheiro;
+import com.estudo.minhasfinancas.model.entity.ResumoMensalId;
+
+public interface ResumoMensalRepositoryCustom {
+
+	/**
+	 * Soma o valor e a quantidade ao resumo do mês, criando-o quando ainda não existir,
+	 * num único comando, como o acumular de SaldoUsuarioRepositoryCustom.
+	 */
+	void acumular(ResumoMensalId id, Dinheiro delta, Long quantidade);
+}
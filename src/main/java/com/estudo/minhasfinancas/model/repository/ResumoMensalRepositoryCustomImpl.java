@@ -0,0 +1,60 @@
+package com.estudo.minhasfinancas.model.repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import com.estudo.minhasfinancas.model.dinheiro.Dinheiro;
+import com.estudo.minhasfinancas.model.entity.ResumoMensal;
+import com.estudo.minhasfinancas.model.entity.ResumoMensalId;
+
+public class ResumoMensalRepositoryCustomImpl implements ResumoMensalRepositoryCustom {
+
+	private static final String ACUMULAR_POSTGRES = 
+			" insert into financas.resumo_mensal (id_usuario, ano, mes, tipo, status, valor, quantidade) "
+			+ " values (:idUsuario, :ano, :mes, :tipo, :status, :delta, :quantidade) "
+			+ " on conflict (id_usuario, ano, mes, tipo, status) do update "
+			+ " set valor = resumo_mensal.valor + excluded.valor, quantidade = resumo_mensal.quantidade + excluded.quantidade ";
+
+	// H2 nos testes, como em SaldoUsuarioRepositoryCustomImpl
+	private static final String ACUMULAR_H2 = 
+			" merge into financas.resumo_mensal r using (select cast(:idUsuario as bigint) id_usuario, "
+			+ " cast(:ano as integer) ano, cast(:mes as integer) mes, cast(:tipo as varchar(20)) tipo, "
+			+ " cast(:status as varchar(20)) status, cast(:delta as numeric(16, 2)) valor, "
+			+ " cast(:quantidade as bigint) quantidade) d "
+			+ " on (r.id_usuario = d.id_usuario and r.ano = d.ano and r.mes = d.mes "
+			+ " and r.tipo = d.tipo and r.status = d.status) "
+			+ " when matched then update set r.valor = r.valor + d.valor, r.quantidade = r.quantidade + d.quantidade "
+			+ " when not matched then insert (id_usuario, ano, mes, tipo, status, valor, quantidade) "
+			+ " values (d.id_usuario, d.ano, d.mes, d.tipo, d.status, d.valor, d.quantidade) ";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private final boolean postgres;
+
+	public ResumoMensalRepositoryCustomImpl(DataSource dataSource) throws MetaDataAccessException {
+		this.postgres = "PostgreSQL".equals(JdbcUtils.commonDatabaseName(
+				JdbcUtils.extractDatabaseMetaData(dataSource, "getDatabaseProductName")));
+	}
+
+	@Override
+	public void acumular(ResumoMensalId id, Dinheiro delta, Long quantidade) {
+		entityManager.createNativeQuery(postgres ? ACUMULAR_POSTGRES : ACUMULAR_H2)
+				.unwrap(NativeQuery.class)
+				.addSynchronizedEntityClass(ResumoMensal.class)
+				.setParameter("idUsuario", id.getIdUsuario())
+				.setParameter("ano", id.getAno())
+				.setParameter("mes", id.getMes())
+				.setParameter("tipo", id.getTipo().name())
+				.setParameter("status", id.getStatus().name())
+				.setParameter("delta", delta.paraBigDecimal())
+				.setParameter("quantidade", quantidade)
+				.executeUpdate();
+	}
+
+}
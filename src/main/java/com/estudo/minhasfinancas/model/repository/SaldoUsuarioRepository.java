@@ -0,0 +1,20 @@
+package com.estudo.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.estudo.minhasfinancas.model.entity.SaldoUsuario;
+import com.estudo.minhasfinancas.model.entity.SaldoUsuarioId;
+
+public interface SaldoUsuarioRepository extends JpaRepository<SaldoUsuario, SaldoUsuarioId>, SaldoUsuarioRepositoryCustom{
+
+	List<SaldoUsuario> findByIdIdUsuario(Long idUsuario);
+	
+	@Modifying(flushAutomatically = true)
+	@Query(value = " delete from SaldoUsuario s where s.id.idUsuario = :idUsuario " )
+	void deletarPorUsuario(@Param("idUsuario") Long idUsuario);
+}
@@ -0,0 +1,13 @@
+package com.estudo.minhasfinancas.model.repository;
+
+import com.estudo.minhasfinancas.model.dinheiro.Dinheiro;
+import com.estudo.minhasfinancas.model.entity.SaldoUsuarioId;
+
+public interface SaldoUsuarioRepositoryCustom {
+
+	/**
+	 * Soma o valor ao saldo da chave, criando-o quando ainda não existir, num único
+	 * comando: duas primeiras escritas concorrentes da mesma chave não colidem na inserção.
+	 */
+	void acumular(SaldoUsuarioId id, Dinheiro delta);
+}
@@ -0,0 +1,55 @@
+package com.estudo.minhasfinancas.model.repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import com.estudo.minhasfinancas.model.dinheiro.Dinheiro;
+import com.estudo.minhasfinancas.model.entity.SaldoUsuario;
+import com.estudo.minhasfinancas.model.entity.SaldoUsuarioId;
+
+public class SaldoUsuarioRepositoryCustomImpl implements SaldoUsuarioRepositoryCustom {
+
+	private static final String ACUMULAR_POSTGRES = 
+			" insert into financas.saldo_usuario (id_usuario, tipo, status, valor) "
+			+ " values (:idUsuario, :tipo, :status, :delta) "
+			+ " on conflict (id_usuario, tipo, status) do update set valor = saldo_usuario.valor + excluded.valor ";
+
+	// H2 nos testes: sem ON CONFLICT, o MERGE soma do mesmo modo, mas duas primeiras
+	// escritas concorrentes ainda colidem na chave; a garantia vale para o PostgreSQL
+	private static final String ACUMULAR_H2 = 
+			" merge into financas.saldo_usuario s using (select cast(:idUsuario as bigint) id_usuario, "
+			+ " cast(:tipo as varchar(20)) tipo, cast(:status as varchar(20)) status, "
+			+ " cast(:delta as numeric(16, 2)) valor) d "
+			+ " on (s.id_usuario = d.id_usuario and s.tipo = d.tipo and s.status = d.status) "
+			+ " when matched then update set s.valor = s.valor + d.valor "
+			+ " when not matched then insert (id_usuario, tipo, status, valor) "
+			+ " values (d.id_usuario, d.tipo, d.status, d.valor) ";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private final boolean postgres;
+
+	public SaldoUsuarioRepositoryCustomImpl(DataSource dataSource) throws MetaDataAccessException {
+		this.postgres = "PostgreSQL".equals(JdbcUtils.commonDatabaseName(
+				JdbcUtils.extractDatabaseMetaData(dataSource, "getDatabaseProductName")));
+	}
+
+	@Override
+	public void acumular(SaldoUsuarioId id, Dinheiro delta) {
+		entityManager.createNativeQuery(postgres ? ACUMULAR_POSTGRES : ACUMULAR_H2)
+				.unwrap(NativeQuery.class)
+				.addSynchronizedEntityClass(SaldoUsuario.class)
+				.setParameter("idUsuario", id.getIdUsuario())
+				.setParameter("tipo", id.getTipo().name())
+				.setParameter("status", id.getStatus().name())
+				.setParameter("delta", delta.paraBigDecimal())
+				.executeUpdate();
+	}
+
+}
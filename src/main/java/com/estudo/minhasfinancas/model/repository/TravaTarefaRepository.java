@@ -0,0 +1,31 @@
+package com.estudo.minhasfinancas.model.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.estudo.minhasfinancas.model.entity.TravaTarefa;
+
+public interface TravaTarefaRepository extends JpaRepository<TravaTarefa, String>{
+
+	/**
+	 * Toma a trava se estiver livre ou vencida; o UPDATE condicional garante que só uma
+	 * instância a obtenha. Retorna 1 quando obtida.
+	 */
+	@Transactional
+	@Modifying
+	@Query(value = 
+			" update TravaTarefa t set t.bloqueadaAte = :ate, t.instancia = :instancia "
+			+ " where t.nome = :nome and t.bloqueadaAte <= :agora " )
+	int adquirir(@Param("nome") String nome, @Param("instancia") String instancia, 
+			@Param("agora") LocalDateTime agora, @Param("ate") LocalDateTime ate);
+	
+	@Transactional
+	@Modifying
+	@Query(value = " update TravaTarefa t set t.bloqueadaAte = :agora where t.nome = :nome and t.instancia = :instancia " )
+	int liberar(@Param("nome") String nome, @Param("instancia") String instancia, @Param("agora") LocalDateTime agora);
+}
@@ -1,14 +1,66 @@
 package com.estudo.minhasfinancas.model.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.estudo.minhasfinancas.config.CacheConfig;
 import com.estudo.minhasfinancas.model.entity.Usuario;
+import com.estudo.minhasfinancas.model.repository.projection.EmailUsuario;
 
 public interface UsuarioRepository extends JpaRepository<Usuario, Long>{
 
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
 	boolean existsByEmail(String email);
 	
+	/**
+	 * Cacheada só pelo {@link CacheConfig#USUARIOS_POR_EMAIL}, que o {@link #atualizarSenha} já
+	 * invalida; sem o cache de consultas do Hibernate por baixo.
+	 */
+	@Cacheable(cacheNames = CacheConfig.USUARIOS_POR_EMAIL, key = "#p0", condition = "#p0 != null", unless = "#result == null")
 	Optional<Usuario> findByEmail(String email);
+	
+	@Query(value = " select u.id from Usuario u order by u.id " )
+	List<Long> obterIds();
+	
+	@Query(value = " select u.id from Usuario u where u.id in :ids " )
+	List<Long> obterIdsExistentes(@Param("ids") Collection<Long> ids);
+	
+	/**
+	 * Trava as linhas dos usuários até o fim da transação, em ordem de id. As escritas de
+	 * lançamentos e as reconstruções do saldo e dos resumos mensais passam por aqui antes
+	 * de tocá-los, sempre nesta ordem, para que uma reconstrução não intercale com uma
+	 * escrita do mesmo usuário.
+	 */
+	@Query(nativeQuery = true, value = " select u.id from financas.usuario u where u.id in :ids order by u.id for update " )
+	List<Long> bloquear(@Param("ids") Collection<Long> ids);
+	
+	@Query(value = " select u.id as id, u.email as email from Usuario u where u.id > :id order by u.id " )
+	List<EmailUsuario> obterEmailsAposId(@Param("id") Long id, Pageable pagina);
+	
+	/**
+	 * Troca a senha apenas se a gravada ainda for a lida na autenticação, para que dois
+	 * logins simultâneos não sobrescrevam um ao outro.
+	 */
+	@Transactional
+	@Modifying
+	@Caching(evict = {
+			@CacheEvict(cacheNames = CacheConfig.USUARIOS, key = "#p0"),
+			@CacheEvict(cacheNames = CacheConfig.USUARIOS_POR_EMAIL, key = "#p1") })
+	@Query(value = " update Usuario u set u.senha = :senha where u.id = :id and u.email = :email and u.senha = :senhaAnterior " )
+	int atualizarSenha(@Param("id") Long id, @Param("email") String email, 
+			@Param("senhaAnterior") String senhaAnterior, @Param("senha") String senha);
 }
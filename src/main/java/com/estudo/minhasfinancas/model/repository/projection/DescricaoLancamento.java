@@ -0,0 +1,10 @@
+package com.estudo.minhasfinancas.model.repository.projection;
+
+public interface DescricaoLancamento {
+
+	Long getId();
+	
+	Long getIdUsuario();
+	
+	String getDescricao();
+}
@@ -0,0 +1,8 @@
+package com.estudo.minhasfinancas.model.repository.projection;
+
+public interface EmailUsuario {
+
+	Long getId();
+	
+	String getEmail();
+}
@@ -0,0 +1,32 @@
+package com.estudo.minhasfinancas.model.repository.projection;
+
+import java.math.BigDecimal;
+
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Colunas de um lançamento devolvidas pelas consultas de leitura, com o usuário
+ * representado apenas pelo id, sem hidratar a entidade nem a associação.
+ */
+@Getter
+@AllArgsConstructor
+public class LancamentoResumo {
+
+	public static final String CONSTRUTOR = 
+			" new com.estudo.minhasfinancas.model.repository.projection.LancamentoResumo( "
+			+ " l.id, l.descricao, l.mes, l.ano, l.valor, l.usuario.id, l.tipo, l.status, l.versao) ";
+
+	private final Long id;
+	private final String descricao;
+	private final Integer mes;
+	private final Integer ano;
+	private final BigDecimal valor;
+	private final Long usuario;
+	private final TipoLancamento tipo;
+	private final StatusLancamento status;
+	private final Long versao;
+}
@@ -0,0 +1,25 @@
+package com.estudo.minhasfinancas.model.repository.projection;
+
+import java.math.BigDecimal;
+
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+
+/**
+ * Soma e quantidade de um grupo de lançamentos de um período. O mês vem nulo
+ * quando o agrupamento é apenas por ano.
+ */
+public interface TotalLancamentos {
+
+	Integer getAno();
+	
+	Integer getMes();
+	
+	TipoLancamento getTipo();
+	
+	StatusLancamento getStatus();
+	
+	BigDecimal getValor();
+	
+	Long getQuantidade();
+}
@@ -0,0 +1,10 @@
+package com.estudo.minhasfinancas.model.repository.projection;
+
+/**
+ * Soma e quantidade dos resumos mensais de um período, identificando o usuário,
+ * para as consultas que agregam vários usuários de uma vez.
+ */
+public interface TotalLancamentosUsuario extends TotalResumo {
+
+	Long getIdUsuario();
+}
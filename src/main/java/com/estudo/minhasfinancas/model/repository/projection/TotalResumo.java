@@ -0,0 +1,24 @@
+package com.estudo.minhasfinancas.model.repository.projection;
+
+import com.estudo.minhasfinancas.model.dinheiro.Dinheiro;
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+
+/**
+ * Soma e quantidade dos resumos mensais de um período, com o valor em {@link Dinheiro}
+ * como no mapeamento do resumo. O mês vem nulo quando o agrupamento é apenas por ano.
+ */
+public interface TotalResumo {
+
+	Integer getAno();
+	
+	Integer getMes();
+	
+	TipoLancamento getTipo();
+	
+	StatusLancamento getStatus();
+	
+	Dinheiro getValor();
+	
+	Long getQuantidade();
+}
@@ -0,0 +1,87 @@
+package com.estudo.minhasfinancas.model.repository.projection;
+
+import java.math.BigDecimal;
+
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+
+/**
+ * Valores de um lançamento (ou de um grupo deles) que compõem o saldo do usuário.
+ */
+public interface ValorLancamento {
+
+	Long getIdUsuario();
+	
+	/**
+	 * Disponível apenas na leitura de um lançamento individual.
+	 */
+	Integer getAno();
+	
+	/**
+	 * Disponível apenas na leitura de um lançamento individual.
+	 */
+	Integer getMes();
+	
+	TipoLancamento getTipo();
+	
+	StatusLancamento getStatus();
+	
+	BigDecimal getValor();
+	
+	/**
+	 * Disponível apenas na leitura de um lançamento individual.
+	 */
+	Long getVersao();
+	
+	/**
+	 * Cópia dos valores atuais do lançamento, para estornar o estado anterior depois de alterá-lo.
+	 */
+	static ValorLancamento de(Lancamento lancamento) {
+		Long idUsuario = lancamento.getUsuario() == null ? null : lancamento.getUsuario().getId();
+		Integer ano = lancamento.getAno();
+		Integer mes = lancamento.getMes();
+		TipoLancamento tipo = lancamento.getTipo();
+		StatusLancamento status = lancamento.getStatus();
+		BigDecimal valor = lancamento.getValor();
+		Long versao = lancamento.getVersao();
+		
+		return new ValorLancamento() {
+			
+			@Override
+			public Long getIdUsuario() {
+				return idUsuario;
+			}
+			
+			@Override
+			public Integer getAno() {
+				return ano;
+			}
+			
+			@Override
+			public Integer getMes() {
+				return mes;
+			}
+			
+			@Override
+			public TipoLancamento getTipo() {
+				return tipo;
+			}
+			
+			@Override
+			public StatusLancamento getStatus() {
+				return status;
+			}
+			
+			@Override
+			public BigDecimal getValor() {
+				return valor;
+			}
+			
+			@Override
+			public Long getVersao() {
+				return versao;
+			}
+		};
+	}
+}
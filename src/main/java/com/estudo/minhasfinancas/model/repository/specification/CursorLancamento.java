@@ -0,0 +1,44 @@
+package com.estudo.minhasfinancas.model.repository.specification;
+
+import com.estudo.minhasfinancas.exception.RegraNegocioException;
+import com.estudo.minhasfinancas.model.repository.projection.LancamentoResumo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Posição do último lançamento devolvido em uma consulta paginada por chave,
+ * na ordenação (ano, mes, id) decrescente.
+ */
+@Data
+@AllArgsConstructor
+public class CursorLancamento {
+
+	private static final String SEPARADOR = ".";
+
+	private Integer ano;
+	private Integer mes;
+	private Long id;
+
+	public static CursorLancamento de(LancamentoResumo lancamento) {
+		return new CursorLancamento(lancamento.getAno(), lancamento.getMes(), lancamento.getId());
+	}
+
+	public static CursorLancamento decodificar(String cursor) {
+		String[] partes = cursor.split("\\.");
+
+		try {
+			if(partes.length != 3) {
+				throw new NumberFormatException();
+			}
+
+			return new CursorLancamento(Integer.valueOf(partes[0]), Integer.valueOf(partes[1]), Long.valueOf(partes[2]));
+		} catch (NumberFormatException e) {
+			throw new RegraNegocioException("Cursor de paginação inválido.");
+		}
+	}
+
+	public String codificar() {
+		return ano + SEPARADOR + mes + SEPARADOR + id;
+	}
+}
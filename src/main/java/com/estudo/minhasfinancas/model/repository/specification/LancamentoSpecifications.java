@@ -0,0 +1,74 @@
+package com.estudo.minhasfinancas.model.repository.specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.criteria.Predicate;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+
+public final class LancamentoSpecifications {
+
+	/**
+	 * Ordenação estável usada na listagem, compatível com o índice (id_usuario, ano, mes).
+	 */
+	public static final Sort ORDENACAO = Sort.by(Sort.Direction.DESC, "ano", "mes", "id");
+
+	private LancamentoSpecifications() {
+	}
+
+	/**
+	 * Igualdade nas colunas indexadas; a descrição, quando informada, é aplicada
+	 * por último sobre as linhas já restringidas pelo índice.
+	 */
+	public static Specification<Lancamento> filtrar(FiltroLancamento filtro) {
+		return (root, query, cb) -> {
+			List<Predicate> predicados = new ArrayList<>();
+
+			if(filtro.getIdUsuario() != null) {
+				predicados.add(cb.equal(root.get("usuario").get("id"), filtro.getIdUsuario()));
+			}
+
+			if(filtro.getAno() != null) {
+				predicados.add(cb.equal(root.get("ano"), filtro.getAno()));
+			}
+
+			if(filtro.getMes() != null) {
+				predicados.add(cb.equal(root.get("mes"), filtro.getMes()));
+			}
+
+			if(filtro.getTipo() != null) {
+				predicados.add(cb.equal(root.get("tipo"), filtro.getTipo()));
+			}
+
+			if(filtro.getStatus() != null) {
+				predicados.add(cb.equal(root.get("status"), filtro.getStatus()));
+			}
+
+			if(filtro.getDescricao() != null && !filtro.getDescricao().trim().isEmpty()) {
+				predicados.add(cb.like(cb.lower(root.get("descricao")),
+						"%" + filtro.getDescricao().trim().toLowerCase() + "%"));
+			}
+
+			return cb.and(predicados.toArray(new Predicate[0]));
+		};
+	}
+
+	/**
+	 * Lançamentos posteriores ao cursor na {@link #ORDENACAO}. O limite explícito no ano,
+	 * redundante com a disjunção, permite ao PostgreSQL descartar as partições dos anos
+	 * seguintes ao do cursor.
+	 */
+	public static Specification<Lancamento> aposCursor(CursorLancamento cursor) {
+		return (root, query, cb) -> cb.and(
+				cb.lessThanOrEqualTo(root.get("ano"), cursor.getAno()),
+				cb.or(
+						cb.lessThan(root.get("ano"), cursor.getAno()),
+						cb.and(cb.equal(root.get("ano"), cursor.getAno()), cb.lessThan(root.get("mes"), cursor.getMes())),
+						cb.and(cb.equal(root.get("ano"), cursor.getAno()), cb.equal(root.get("mes"), cursor.getMes()),
+								cb.lessThan(root.get("id"), cursor.getId()))));
+	}
+}
@@ -0,0 +1,20 @@
+package com.estudo.minhasfinancas.service;
+
+import java.util.List;
+
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+
+/**
+ * Índice de busca textual sobre a descrição dos lançamentos.
+ */
+public interface BuscaDescricaoService {
+
+	void indexar(Lancamento lancamento);
+	
+	void remover(Long idLancamento);
+	
+	/**
+	 * Ids dos lançamentos do usuário que correspondem ao termo, do mais relevante para o menos relevante.
+	 */
+	List<Long> buscar(Long idUsuario, String termo, int deslocamento, int limite);
+}
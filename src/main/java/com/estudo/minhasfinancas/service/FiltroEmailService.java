@@ -0,0 +1,14 @@
+package com.estudo.minhasfinancas.service;
+
+public interface FiltroEmailService {
+
+	/**
+	 * Falso apenas quando o email com certeza não está cadastrado. Enquanto o filtro
+	 * não termina de ser carregado a resposta é sempre verdadeira.
+	 */
+	boolean podeEstarCadastrado(String email);
+	
+	void registrar(String email);
+	
+	void registrarFalsoPositivo();
+}
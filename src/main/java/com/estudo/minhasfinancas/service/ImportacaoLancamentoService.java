@@ -0,0 +1,11 @@
+package com.estudo.minhasfinancas.service;
+
+import java.util.Iterator;
+
+import com.estudo.minhasfinancas.service.importacao.LinhaImportacao;
+import com.estudo.minhasfinancas.service.importacao.ResultadoImportacao;
+
+public interface ImportacaoLancamentoService {
+
+	ResultadoImportacao importar(Iterator<LinhaImportacao> linhas);
+}
@@ -0,0 +1,15 @@
+package com.estudo.minhasfinancas.service;
+
+import java.util.Optional;
+
+import com.estudo.minhasfinancas.model.entity.Usuario;
+
+public interface JwtService {
+
+	String gerarToken(Usuario usuario);
+	
+	/**
+	 * Id do usuário do token, vazio se a assinatura não conferir ou o token tiver expirado.
+	 */
+	Optional<Long> obterIdUsuario(String token);
+}
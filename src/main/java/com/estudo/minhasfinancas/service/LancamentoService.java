@@ -3,25 +3,41 @@ package com.estudo.minhasfinancas.service;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Slice;
 
 import com.estudo.minhasfinancas.model.entity.Lancamento;
 import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.repository.projection.LancamentoResumo;
+import com.estudo.minhasfinancas.model.repository.specification.CursorLancamento;
+import com.estudo.minhasfinancas.model.repository.specification.FiltroLancamento;
 
 public interface LancamentoService {
 
 	Lancamento salvar(Lancamento lancamento);
 	
-	Lancamento atualizar(Lancamento lancamento);
+	Optional<Lancamento> atualizar(Lancamento lancamento);
 	
 	void deletar(Lancamento lancamento);
 	
-	List<Lancamento> buscar(Lancamento lancamentoFiltro);
+	List<LancamentoResumo> buscar(FiltroLancamento filtro);
+	
+	Slice<LancamentoResumo> buscar(FiltroLancamento filtro, CursorLancamento cursor, int pagina, int tamanho);
+	
+	Slice<LancamentoResumo> buscarPorDescricao(Long idUsuario, String termo, int pagina, int tamanho);
 	
-	void atualizarStatus(Lancamento lancamento, StatusLancamento status);
+	void percorrer(FiltroLancamento filtro, Consumer<LancamentoResumo> destino);
+	
+	void exportar(Long idUsuario, Consumer<LancamentoResumo> destino);
+	
+	Optional<Lancamento> atualizarStatus(Lancamento lancamento, StatusLancamento status);
 	
 	void validar(Lancamento lancamento);
 	
 	Optional<Lancamento> obterPorId(Long id);
 	
+	Optional<LancamentoResumo> obterResumoPorId(Long id);
+	
 	BigDecimal obterSaldoPorUsuario(Long id);
 }
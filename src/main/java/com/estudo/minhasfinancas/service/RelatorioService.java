@@ -0,0 +1,29 @@
+package com.estudo.minhasfinancas.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+import com.estudo.minhasfinancas.model.repository.projection.ValorLancamento;
+import com.estudo.minhasfinancas.service.relatorio.Relatorio;
+
+public interface RelatorioService {
+
+	void registrar(Lancamento lancamento);
+	
+	void registrarTodos(Collection<Lancamento> lancamentos);
+	
+	void estornar(ValorLancamento valorGravado);
+	
+	void substituir(ValorLancamento valorGravado, Lancamento lancamento);
+	
+	Relatorio obterRelatorioMensal(Long idUsuario, Integer ano);
+	
+	Relatorio obterRelatorioAnual(Long idUsuario);
+	
+	List<Relatorio> obterRelatorios(Collection<Long> idsUsuarios, Integer ano);
+	
+	boolean verificar(Long idUsuario);
+	
+	void recalcular(Long idUsuario);
+}
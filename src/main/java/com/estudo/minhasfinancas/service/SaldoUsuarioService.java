@@ -0,0 +1,24 @@
+package com.estudo.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+import com.estudo.minhasfinancas.model.repository.projection.ValorLancamento;
+
+public interface SaldoUsuarioService {
+
+	void registrar(Lancamento lancamento);
+	
+	void registrarTodos(Collection<Lancamento> lancamentos);
+	
+	void estornar(ValorLancamento valorGravado);
+	
+	void substituir(ValorLancamento valorGravado, Lancamento lancamento);
+	
+	BigDecimal obterSaldo(Long idUsuario);
+	
+	boolean verificar(Long idUsuario);
+	
+	void recalcular(Long idUsuario);
+}
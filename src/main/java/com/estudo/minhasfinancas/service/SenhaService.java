@@ -0,0 +1,14 @@
+package com.estudo.minhasfinancas.service;
+
+public interface SenhaService {
+
+	String codificar(String senha);
+	
+	/**
+	 * Compara a senha informada com a gravada. Sem senha gravada, o custo de uma
+	 * verificação é pago mesmo assim e o resultado é sempre falso.
+	 */
+	boolean confere(String senha, String senhaGravada);
+	
+	boolean precisaRecodificar(String senhaGravada);
+}
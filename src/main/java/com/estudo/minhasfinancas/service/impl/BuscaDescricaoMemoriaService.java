@@ -0,0 +1,201 @@
+package com.estudo.minhasfinancas.service.impl;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+import com.estudo.minhasfinancas.model.repository.LancamentoRepository;
+import com.estudo.minhasfinancas.model.repository.projection.DescricaoLancamento;
+import com.estudo.minhasfinancas.service.BuscaDescricaoService;
+
+/**
+ * Índice invertido em memória usado quando a base não oferece pg_trgm (H2 nos testes e em
+ * execuções locais). Cada palavra da descrição, sem acentos e em minúsculas, aponta para os
+ * lançamentos que a contêm; os termos da busca casam por prefixo.
+ */
+public class BuscaDescricaoMemoriaService implements BuscaDescricaoService{
+
+	private static final int PESO_PALAVRA_EXATA = 2;
+	private static final int PESO_PREFIXO = 1;
+	private static final int TAMANHO_PAGINA_CARGA = 10000;
+
+	private LancamentoRepository repository;
+	
+	private final Map<Long, NavigableMap<String, Set<Long>>> indicePorUsuario = new HashMap<>();
+	private final Map<Long, Documento> documentos = new HashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	
+	public BuscaDescricaoMemoriaService(LancamentoRepository repository) {
+		super();
+		this.repository = repository;
+	}
+	
+	/**
+	 * Lê só id, usuário e descrição, em páginas pelo id, sem carregar as entidades.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void reconstruir() {
+		long ultimoId = 0;
+		List<DescricaoLancamento> pagina;
+		
+		do {
+			pagina = repository.obterDescricoesAposId(ultimoId, PageRequest.of(0, TAMANHO_PAGINA_CARGA));
+			for(DescricaoLancamento lancamento : pagina) {
+				adicionar(lancamento.getId(), lancamento.getIdUsuario(), lancamento.getDescricao());
+				ultimoId = lancamento.getId();
+			}
+		} while(pagina.size() == TAMANHO_PAGINA_CARGA);
+	}
+
+	@Override
+	public void indexar(Lancamento lancamento) {
+		Long id = lancamento.getId();
+		Long idUsuario = lancamento.getUsuario() == null ? null : lancamento.getUsuario().getId();
+		String descricao = lancamento.getDescricao();
+		
+		aposCommit(() -> adicionar(id, idUsuario, descricao));
+	}
+
+	@Override
+	public void remover(Long idLancamento) {
+		aposCommit(() -> {
+			lock.writeLock().lock();
+			try {
+				retirar(idLancamento);
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	@Override
+	public List<Long> buscar(Long idUsuario, String termo, int deslocamento, int limite) {
+		Set<String> palavras = tokenizar(termo);
+		Map<Long, Integer> pontuacao = new HashMap<>();
+		
+		lock.readLock().lock();
+		try {
+			NavigableMap<String, Set<Long>> indice = indicePorUsuario.get(idUsuario);
+			
+			if(indice == null || palavras.isEmpty()) {
+				return Collections.emptyList();
+			}
+			
+			for(String palavra : palavras) {
+				Map<Long, Integer> pontuacaoDaPalavra = new HashMap<>();
+				
+				indice.subMap(palavra, true, palavra + Character.MAX_VALUE, true).forEach((chave, ids) -> {
+					int peso = chave.equals(palavra) ? PESO_PALAVRA_EXATA : PESO_PREFIXO;
+					ids.forEach(id -> pontuacaoDaPalavra.merge(id, peso, Math::max));
+				});
+				
+				pontuacaoDaPalavra.forEach((id, peso) -> pontuacao.merge(id, peso, Integer::sum));
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		
+		return pontuacao.entrySet().stream()
+				.sorted(Comparator.comparing(Map.Entry<Long, Integer>::getValue)
+						.thenComparing(Map.Entry::getKey)
+						.reversed())
+				.skip(deslocamento)
+				.limit(limite)
+				.map(Map.Entry::getKey)
+				.collect(Collectors.toList());
+	}
+	
+	private void adicionar(Long id, Long idUsuario, String descricao) {
+		lock.writeLock().lock();
+		try {
+			retirar(id);
+			
+			if(idUsuario == null || descricao == null) {
+				return;
+			}
+			
+			Set<String> palavras = tokenizar(descricao);
+			NavigableMap<String, Set<Long>> indice = indicePorUsuario.computeIfAbsent(idUsuario, chave -> new TreeMap<>());
+			palavras.forEach(palavra -> indice.computeIfAbsent(palavra, chave -> new HashSet<>()).add(id));
+			documentos.put(id, new Documento(idUsuario, palavras));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	private void retirar(Long id) {
+		Documento documento = documentos.remove(id);
+		
+		if(documento == null) {
+			return;
+		}
+		
+		NavigableMap<String, Set<Long>> indice = indicePorUsuario.get(documento.idUsuario);
+		
+		for(String palavra : documento.palavras) {
+			Set<Long> ids = indice.get(palavra);
+			ids.remove(id);
+			
+			if(ids.isEmpty()) {
+				indice.remove(palavra);
+			}
+		}
+	}
+	
+	private void aposCommit(Runnable acao) {
+		if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+			acao.run();
+			return;
+		}
+		
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+			@Override
+			public void afterCommit() {
+				acao.run();
+			}
+		});
+	}
+	
+	static Set<String> tokenizar(String texto) {
+		if(texto == null) {
+			return Collections.emptySet();
+		}
+		
+		String normalizado = Normalizer.normalize(texto, Normalizer.Form.NFD)
+				.replaceAll("\\p{M}", "")
+				.toLowerCase();
+		
+		return Arrays.stream(normalizado.split("[^\\p{Alnum}]+"))
+				.filter(palavra -> !palavra.isEmpty())
+				.collect(Collectors.toSet());
+	}
+	
+	private static class Documento {
+		
+		private final Long idUsuario;
+		private final Set<String> palavras;
+		
+		Documento(Long idUsuario, Set<String> palavras) {
+			this.idUsuario = idUsuario;
+			this.palavras = palavras;
+		}
+	}
+}
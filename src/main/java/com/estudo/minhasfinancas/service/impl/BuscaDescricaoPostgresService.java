@@ -0,0 +1,38 @@
+package com.estudo.minhasfinancas.service.impl;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+import com.estudo.minhasfinancas.model.repository.LancamentoRepository;
+import com.estudo.minhasfinancas.service.BuscaDescricaoService;
+
+/**
+ * Busca apoiada no índice GIN pg_trgm de lancamento.descricao (migração V9 do Flyway),
+ * que o próprio PostgreSQL mantém a cada escrita.
+ */
+public class BuscaDescricaoPostgresService implements BuscaDescricaoService{
+
+	private LancamentoRepository repository;
+	
+	public BuscaDescricaoPostgresService(LancamentoRepository repository) {
+		super();
+		this.repository = repository;
+	}
+
+	@Override
+	public void indexar(Lancamento lancamento) {
+	}
+
+	@Override
+	public void remover(Long idLancamento) {
+	}
+
+	@Override
+	public List<Long> buscar(Long idUsuario, String termo, int deslocamento, int limite) {
+		return repository.buscarIdsPorSimilaridadeDaDescricao(idUsuario, termo, deslocamento, limite)
+				.stream()
+				.map(Number::longValue)
+				.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,122 @@
+package com.estudo.minhasfinancas.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.estudo.minhasfinancas.model.repository.UsuarioRepository;
+import com.estudo.minhasfinancas.model.repository.projection.EmailUsuario;
+import com.estudo.minhasfinancas.service.FiltroEmailService;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Filtro de Bloom com os emails cadastrados, carregado em páginas por id na inicialização e
+ * alimentado a cada cadastro. Só evita consultas cuja resposta seria "não existe"; a
+ * unicidade continua garantida pelo índice único da coluna.
+ */
+@Slf4j
+@Service
+public class FiltroEmailServiceImpl implements FiltroEmailService, MeterBinder{
+
+	private static final int TAMANHO_PAGINA_CARGA = 10000;
+	private static final String METRICA = "minhasfinancas.usuario.filtro-emails";
+
+	private UsuarioRepository repository;
+	private BloomFilter<CharSequence> filtro;
+	private long capacidade;
+	private volatile boolean carregado;
+	private AtomicLong consultasDescartadas = new AtomicLong();
+	private AtomicLong consultasEncaminhadas = new AtomicLong();
+	private AtomicLong falsosPositivos = new AtomicLong();
+
+	public FiltroEmailServiceImpl(UsuarioRepository repository,
+			@Value("${minhasfinancas.usuario.filtro-emails.capacidade:1000000}") long capacidade,
+			@Value("${minhasfinancas.usuario.filtro-emails.taxa-falsos-positivos:0.01}") double taxaFalsosPositivos) {
+		super();
+		this.repository = repository;
+		this.capacidade = capacidade;
+		this.filtro = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), capacidade, taxaFalsosPositivos);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void carregar() {
+		long ultimoId = 0;
+		long total = 0;
+		List<EmailUsuario> pagina;
+		
+		do {
+			pagina = repository.obterEmailsAposId(ultimoId, PageRequest.of(0, TAMANHO_PAGINA_CARGA));
+			for(EmailUsuario usuario : pagina) {
+				registrar(usuario.getEmail());
+				ultimoId = usuario.getId();
+			}
+			total += pagina.size();
+		} while(pagina.size() == TAMANHO_PAGINA_CARGA);
+		
+		carregado = true;
+		log.info("Filtro de emails carregado com {} usuários, taxa estimada de falsos positivos {}", 
+				total, filtro.expectedFpp());
+	}
+
+	@Override
+	public boolean podeEstarCadastrado(String email) {
+		if(!carregado || email == null || filtro.mightContain(email)) {
+			consultasEncaminhadas.incrementAndGet();
+			return true;
+		}
+		
+		consultasDescartadas.incrementAndGet();
+		return false;
+	}
+
+	@Override
+	public void registrar(String email) {
+		if(email != null) {
+			filtro.put(email);
+		}
+	}
+
+	@Override
+	public void registrarFalsoPositivo() {
+		if(carregado) {
+			falsosPositivos.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Taxa de falsos positivos estimada pelo filtro, emails estimados e as consultas
+	 * descartadas, encaminhadas e confirmadas como falso positivo, expostas pelo actuator.
+	 */
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder(METRICA + ".falsos-positivos.taxa-estimada", filtro, BloomFilter::expectedFpp)
+				.description("Probabilidade estimada de um email novo ser dado como possivelmente cadastrado")
+				.register(registry);
+		Gauge.builder(METRICA + ".emails-estimados", filtro, BloomFilter::approximateElementCount)
+				.register(registry);
+		Gauge.builder(METRICA + ".capacidade", () -> capacidade)
+				.register(registry);
+		Gauge.builder(METRICA + ".carregado", this, servico -> servico.carregado ? 1 : 0)
+				.register(registry);
+		FunctionCounter.builder(METRICA + ".consultas.descartadas", consultasDescartadas, AtomicLong::get)
+				.register(registry);
+		FunctionCounter.builder(METRICA + ".consultas.encaminhadas", consultasEncaminhadas, AtomicLong::get)
+				.register(registry);
+		FunctionCounter.builder(METRICA + ".falsos-positivos", falsosPositivos, AtomicLong::get)
+				.register(registry);
+	}
+}
@@ -0,0 +1,244 @@
+package com.estudo.minhasfinancas.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.estudo.minhasfinancas.exception.RegraNegocioException;
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.repository.LancamentoRepository;
+import com.estudo.minhasfinancas.model.repository.UsuarioRepository;
+import com.estudo.minhasfinancas.service.BuscaDescricaoService;
+import com.estudo.minhasfinancas.service.ImportacaoLancamentoService;
+import com.estudo.minhasfinancas.service.LancamentoService;
+import com.estudo.minhasfinancas.service.RelatorioService;
+import com.estudo.minhasfinancas.service.SaldoUsuarioService;
+import com.estudo.minhasfinancas.service.importacao.LinhaImportacao;
+import com.estudo.minhasfinancas.service.importacao.ResultadoImportacao;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Grava a entrada em lotes, cada um em sua própria transação, para que o contexto de
+ * persistência não cresça com o arquivo e os INSERTs sigam em batch pelo JDBC. A leitura
+ * e a validação correm em outra thread, sobrepostas à gravação.
+ * Quando um lote falha, suas linhas são regravadas uma a uma e só as com problema são
+ * rejeitadas.
+ */
+@Slf4j
+@Service
+public class ImportacaoLancamentoServiceImpl implements ImportacaoLancamentoService{
+
+	private static final int LOTES_NA_FILA = 2;
+	private static final long INTERVALO_RELATO_MS = 5000;
+	private static final LinhaImportacao FIM = LinhaImportacao.invalida(-1, null);
+
+	private LancamentoService lancamentoService;
+	private LancamentoRepository repository;
+	private UsuarioRepository usuarioRepository;
+	private SaldoUsuarioService saldoService;
+	private RelatorioService relatorioService;
+	private BuscaDescricaoService buscaDescricaoService;
+	private TransactionTemplate transactionTemplate;
+	private int tamanhoLote;
+	private int capacidadeFila;
+	private ExecutorService leitores = Executors.newCachedThreadPool(new CustomizableThreadFactory("importacao-leitura-"));
+	
+	public ImportacaoLancamentoServiceImpl(LancamentoService lancamentoService, LancamentoRepository repository,
+			UsuarioRepository usuarioRepository, SaldoUsuarioService saldoService, RelatorioService relatorioService,
+			BuscaDescricaoService buscaDescricaoService, PlatformTransactionManager transactionManager,
+			@Value("${minhasfinancas.importacao.tamanho-lote:500}") int tamanhoLote) {
+		super();
+		this.lancamentoService = lancamentoService;
+		this.repository = repository;
+		this.usuarioRepository = usuarioRepository;
+		this.saldoService = saldoService;
+		this.relatorioService = relatorioService;
+		this.buscaDescricaoService = buscaDescricaoService;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.tamanhoLote = tamanhoLote;
+		this.capacidadeFila = tamanhoLote * LOTES_NA_FILA;
+	}
+
+	@Override
+	public ResultadoImportacao importar(Iterator<LinhaImportacao> linhas) {
+		long inicio = System.currentTimeMillis();
+		ResultadoImportacao resultado = new ResultadoImportacao();
+		BlockingQueue<LinhaImportacao> fila = new ArrayBlockingQueue<>(capacidadeFila);
+		Future<?> leitura = leitores.submit(() -> ler(linhas, fila, resultado));
+		
+		try {
+			List<LinhaImportacao> lote = new ArrayList<>(tamanhoLote);
+			long ultimoRelato = inicio;
+			LinhaImportacao linha;
+			
+			while((linha = fila.take()) != FIM) {
+				lote.add(linha);
+				
+				if(lote.size() == tamanhoLote) {
+					gravar(lote, resultado);
+					lote.clear();
+					ultimoRelato = relatarAndamento(resultado, fila, inicio, ultimoRelato);
+				}
+			}
+			
+			if(!lote.isEmpty()) {
+				gravar(lote, resultado);
+			}
+			
+			leitura.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Importação interrompida.", e);
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			leitura.cancel(true);
+		}
+		
+		resultado.finalizar(System.currentTimeMillis() - inicio);
+		return resultado;
+	}
+	
+	@PreDestroy
+	public void encerrar() {
+		leitores.shutdownNow();
+	}
+	
+	/**
+	 * Etapa de leitura e validação. A fila limitada faz a leitura esperar sempre que a gravação
+	 * fica para trás, de modo que a memória usada não depende do tamanho da entrada.
+	 */
+	private Void ler(Iterator<LinhaImportacao> linhas, BlockingQueue<LinhaImportacao> fila, 
+			ResultadoImportacao resultado) throws InterruptedException {
+		try {
+			while(linhas.hasNext()) {
+				LinhaImportacao linha = linhas.next();
+				
+				if(linha.getErro() != null) {
+					resultado.registrarErro(linha.getNumero(), linha.getErro());
+					continue;
+				}
+				
+				try {
+					lancamentoService.validar(linha.getLancamento());
+					fila.put(linha);
+				} catch (RegraNegocioException e) {
+					resultado.registrarErro(linha.getNumero(), e.getMessage());
+				}
+			}
+		} finally {
+			fila.put(FIM);
+		}
+		
+		return null;
+	}
+	
+	private long relatarAndamento(ResultadoImportacao resultado, BlockingQueue<LinhaImportacao> fila, 
+			long inicio, long ultimoRelato) {
+		long agora = System.currentTimeMillis();
+		
+		if(agora - ultimoRelato < INTERVALO_RELATO_MS) {
+			return ultimoRelato;
+		}
+		
+		log.info("Importação em andamento: {} importado(s), {} rejeitado(s), {} lote(s) em {}s, {} linha(s) na fila.",
+				resultado.getImportados(), resultado.getRejeitados(), resultado.getLotes(), 
+				(agora - inicio) / 1000, fila.size());
+		return agora;
+	}
+	
+	private void gravar(List<LinhaImportacao> lote, ResultadoImportacao resultado) {
+		Set<Long> idsUsuarios = lote.stream()
+				.map(linha -> linha.getLancamento().getUsuario().getId())
+				.collect(Collectors.toSet());
+		Set<Long> usuariosExistentes = new HashSet<>(usuarioRepository.obterIdsExistentes(idsUsuarios));
+		
+		List<LinhaImportacao> aceitas = new ArrayList<>(lote.size());
+		List<Lancamento> lancamentos = new ArrayList<>(lote.size());
+		
+		for(LinhaImportacao linha : lote) {
+			if(usuariosExistentes.contains(linha.getLancamento().getUsuario().getId())) {
+				linha.getLancamento().setId(null);
+				linha.getLancamento().setVersao(null);
+				linha.getLancamento().setStatus(StatusLancamento.PENDENTE);
+				aceitas.add(linha);
+				lancamentos.add(linha.getLancamento());
+			} else {
+				resultado.registrarErro(linha.getNumero(), "Usuário não encontrado para o Id informado.");
+			}
+		}
+		
+		if(lancamentos.isEmpty()) {
+			return;
+		}
+		
+		try {
+			gravarTransacao(lancamentos);
+			resultado.registrarImportados(lancamentos.size());
+		} catch (DataAccessException e) {
+			log.warn("Falha ao gravar um lote de {} linha(s), regravando linha a linha: {}", 
+					lancamentos.size(), e.getMostSpecificCause().getMessage());
+			int gravadas = (int) aceitas.stream().filter(linha -> gravarLinha(linha, resultado)).count();
+			if(gravadas > 0) {
+				resultado.registrarImportados(gravadas);
+			}
+		}
+	}
+	
+	/**
+	 * Regrava uma linha de um lote que falhou, em transação própria, para que só as linhas
+	 * com problema sejam rejeitadas.
+	 */
+	private boolean gravarLinha(LinhaImportacao linha, ResultadoImportacao resultado) {
+		Lancamento lancamento = linha.getLancamento();
+		lancamento.setId(null);
+		lancamento.setVersao(null);
+		
+		try {
+			gravarTransacao(Collections.singletonList(lancamento));
+			return true;
+		} catch (DataAccessException e) {
+			resultado.registrarErro(linha.getNumero(), 
+					"Não foi possível gravar esta linha: " + e.getMostSpecificCause().getMessage());
+			return false;
+		}
+	}
+	
+	private void gravarTransacao(List<Lancamento> lancamentos) {
+		Set<Long> idsUsuarios = lancamentos.stream()
+				.map(lancamento -> lancamento.getUsuario().getId())
+				.collect(Collectors.toSet());
+		
+		transactionTemplate.executeWithoutResult(status -> {
+			usuarioRepository.bloquear(idsUsuarios);
+			repository.saveAll(lancamentos);
+			saldoService.registrarTodos(lancamentos);
+			relatorioService.registrarTodos(lancamentos);
+			lancamentos.forEach(buscaDescricaoService::indexar);
+		});
+	}
+}
@@ -0,0 +1,65 @@
+package com.estudo.minhasfinancas.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.estudo.minhasfinancas.model.entity.Usuario;
+import com.estudo.minhasfinancas.service.JwtService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+/**
+ * Tokens assinados com HMAC-SHA256 e a chave configurada, verificados sem consultar a base:
+ * qualquer instância com a mesma chave aceita os tokens emitidos pelas demais.
+ */
+@Service
+public class JwtServiceImpl implements JwtService{
+
+	private static final int TAMANHO_MINIMO_CHAVE = 32;
+
+	private SecretKeySpec chave;
+	private Duration expiracao;
+
+	public JwtServiceImpl(
+			@Value("${minhasfinancas.jwt.chave-assinatura}") String chaveAssinatura,
+			@Value("${minhasfinancas.jwt.expiracao:30m}") Duration expiracao) {
+		super();
+		byte[] bytes = chaveAssinatura.getBytes(StandardCharsets.UTF_8);
+		if(bytes.length < TAMANHO_MINIMO_CHAVE) {
+			throw new IllegalStateException("A chave de assinatura dos tokens deve ter ao menos " 
+					+ TAMANHO_MINIMO_CHAVE + " bytes; defina-a em MINHASFINANCAS_JWT_CHAVE.");
+		}
+		this.chave = new SecretKeySpec(bytes, SignatureAlgorithm.HS256.getJcaName());
+		this.expiracao = expiracao;
+	}
+
+	@Override
+	public String gerarToken(Usuario usuario) {
+		return Jwts.builder()
+				.setSubject(String.valueOf(usuario.getId()))
+				.claim("nome", usuario.getNome())
+				.setExpiration(new Date(System.currentTimeMillis() + expiracao.toMillis()))
+				.signWith(SignatureAlgorithm.HS256, chave)
+				.compact();
+	}
+
+	@Override
+	public Optional<Long> obterIdUsuario(String token) {
+		try {
+			Claims claims = Jwts.parser().setSigningKey(chave).parseClaimsJws(token).getBody();
+			return Optional.of(Long.valueOf(claims.getSubject()));
+		} catch (JwtException | IllegalArgumentException e) {
+			return Optional.empty();
+		}
+	}
+}
@@ -1,31 +1,65 @@
 package com.estudo.minhasfinancas.service.impl;
 
 import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import org.springframework.data.domain.Example;
-import org.springframework.data.domain.ExampleMatcher;
-import org.springframework.data.domain.ExampleMatcher.StringMatcher;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.estudo.minhasfinancas.config.CacheConfig;
 import com.estudo.minhasfinancas.exception.RegraNegocioException;
 import com.estudo.minhasfinancas.model.entity.Lancamento;
 import com.estudo.minhasfinancas.model.enums.StatusLancamento;
-import com.estudo.minhasfinancas.model.enums.TipoLancamento;
 import com.estudo.minhasfinancas.model.repository.LancamentoRepository;
+import com.estudo.minhasfinancas.model.repository.UsuarioRepository;
+import com.estudo.minhasfinancas.model.repository.projection.LancamentoResumo;
+import com.estudo.minhasfinancas.model.repository.projection.ValorLancamento;
+import com.estudo.minhasfinancas.model.repository.specification.CursorLancamento;
+import com.estudo.minhasfinancas.model.repository.specification.FiltroLancamento;
+import com.estudo.minhasfinancas.model.repository.specification.LancamentoSpecifications;
+import com.estudo.minhasfinancas.service.BuscaDescricaoService;
 import com.estudo.minhasfinancas.service.LancamentoService;
+import com.estudo.minhasfinancas.service.RelatorioService;
+import com.estudo.minhasfinancas.service.SaldoUsuarioService;
 
 @Service
 public class LancamentoServiceImpl implements LancamentoService{
 
+	public static final int TAMANHO_MAXIMO_PAGINA = 500;
+	public static final int TAMANHO_MAXIMO_DESCRICAO = 100;
+	/** Dígitos antes da vírgula que cabem na coluna valor, NUMERIC(16, 2). */
+	private static final int DIGITOS_INTEIROS_VALOR = 14;
+
 	private LancamentoRepository repository;
+	private SaldoUsuarioService saldoService;
+	private RelatorioService relatorioService;
+	private BuscaDescricaoService buscaDescricaoService;
+	private UsuarioRepository usuarioRepository;
 	
-	public LancamentoServiceImpl(LancamentoRepository repository) {
+	public LancamentoServiceImpl(LancamentoRepository repository, SaldoUsuarioService saldoService, 
+			RelatorioService relatorioService, BuscaDescricaoService buscaDescricaoService, 
+			UsuarioRepository usuarioRepository) {
 		super();
 		this.repository = repository;
+		this.saldoService = saldoService;
+		this.relatorioService = relatorioService;
+		this.buscaDescricaoService = buscaDescricaoService;
+		this.usuarioRepository = usuarioRepository;
 	}
 	
 	@Override
@@ -33,38 +67,165 @@ public class LancamentoServiceImpl implements LancamentoService{
 	public Lancamento salvar(Lancamento lancamento) {
 		validar(lancamento);
 		lancamento.setStatus(StatusLancamento.PENDENTE);
-		return repository.save(lancamento);
+		usuarioRepository.bloquear(Collections.singleton(lancamento.getUsuario().getId()));
+		Lancamento lancamentoSalvo = repository.save(lancamento);
+		saldoService.registrar(lancamentoSalvo);
+		relatorioService.registrar(lancamentoSalvo);
+		buscaDescricaoService.indexar(lancamentoSalvo);
+		return lancamentoSalvo;
 	}
 	
+	/**
+	 * Vazio quando o lançamento não existe ou não é do usuário informado nele.
+	 */
 	@Override
 	@Transactional
-	public Lancamento atualizar(Lancamento lancamento) {
+	@CacheEvict(cacheNames = CacheConfig.LANCAMENTOS, key = "#lancamento.id")
+	public Optional<Lancamento> atualizar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
-		validar(lancamento);		
-		return repository.save(lancamento);
+		validar(lancamento);
+		
+		return gravar(lancamento, gravado -> {
+			gravado.setDescricao(lancamento.getDescricao());
+			gravado.setMes(lancamento.getMes());
+			gravado.setAno(lancamento.getAno());
+			gravado.setValor(lancamento.getValor());
+			gravado.setTipo(lancamento.getTipo());
+			gravado.setStatus(lancamento.getStatus());
+		});
 	}
 
 	@Override
 	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.LANCAMENTOS, key = "#lancamento.id")
 	public void deletar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
+		repository.obterValorGravado(lancamento.getId()).ifPresent(valorGravado -> {
+			usuarioRepository.bloquear(Collections.singleton(valorGravado.getIdUsuario()));
+			saldoService.estornar(valorGravado);
+			relatorioService.estornar(valorGravado);
+		});
 		repository.delete(lancamento);
+		buscaDescricaoService.remover(lancamento.getId());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<LancamentoResumo> buscar(FiltroLancamento filtro) {
+		return repository.buscarResumos(LancamentoSpecifications.filtrar(filtro), LancamentoSpecifications.ORDENACAO);
 	}
 
 	@Override
 	@Transactional(readOnly = true)
-	public List<Lancamento> buscar(Lancamento lancamentoFiltro) {
-		Example example = Example.of(lancamentoFiltro, ExampleMatcher.matching()
-				.withIgnoreCase()
-				.withStringMatcher(StringMatcher.CONTAINING));
+	public Slice<LancamentoResumo> buscar(FiltroLancamento filtro, CursorLancamento cursor, int pagina, int tamanho) {
+		validarPaginacao(pagina, tamanho);
+		
+		Specification<Lancamento> specification = LancamentoSpecifications.filtrar(filtro);
+		
+		if(cursor != null) {
+			specification = specification.and(LancamentoSpecifications.aposCursor(cursor));
+			pagina = 0;
+		}
+		
+		return repository.buscarFatia(specification, PageRequest.of(pagina, tamanho, LancamentoSpecifications.ORDENACAO));
+	}
 
-		return repository.findAll(example);
+	@Override
+	@Transactional(readOnly = true)
+	public Slice<LancamentoResumo> buscarPorDescricao(Long idUsuario, String termo, int pagina, int tamanho) {
+		validarPaginacao(pagina, tamanho);
+		
+		if(termo == null || termo.trim().isEmpty()) {
+			throw new RegraNegocioException("Informe um termo para a busca.");
+		}
+		
+		List<Long> ids = buscaDescricaoService.buscar(idUsuario, termo.trim(), pagina * tamanho, tamanho + 1);
+		boolean temProxima = ids.size() > tamanho;
+		
+		if(temProxima) {
+			ids = ids.subList(0, tamanho);
+		}
+		
+		Map<Long, LancamentoResumo> encontrados = repository.obterResumosPorIds(ids).stream()
+				.collect(Collectors.toMap(LancamentoResumo::getId, Function.identity()));
+		
+		List<LancamentoResumo> ordenados = ids.stream()
+				.map(encontrados::get)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toList());
+		
+		return new SliceImpl<>(ordenados, PageRequest.of(pagina, tamanho), temProxima);
+	}
+	
+	/**
+	 * Mesma busca do {@link #buscar(FiltroLancamento)}, entregue ao destino conforme as
+	 * linhas chegam da base, sem montar a lista.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public void percorrer(FiltroLancamento filtro, Consumer<LancamentoResumo> destino) {
+		try (Stream<LancamentoResumo> lancamentos = repository.percorrerResumos(LancamentoSpecifications.filtrar(filtro), 
+				LancamentoSpecifications.ORDENACAO)) {
+			lancamentos.forEach(destino);
+		}
+	}
+	
+	/**
+	 * Entrega os lançamentos ao destino um a um, conforme são lidos da base. Como são
+	 * projeções e não entidades, o contexto de persistência não cresce durante a leitura.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public void exportar(Long idUsuario, Consumer<LancamentoResumo> destino) {
+		try (Stream<LancamentoResumo> lancamentos = repository.percorrerPorUsuario(idUsuario)) {
+			lancamentos.forEach(destino);
+		}
+	}
+	
+	private void validarPaginacao(int pagina, int tamanho) {
+		if(tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA) {
+			throw new RegraNegocioException("Informe um tamanho de página entre 1 e " + TAMANHO_MAXIMO_PAGINA + ".");
+		}
+		
+		if(pagina < 0) {
+			throw new RegraNegocioException("Informe uma página válida.");
+		}
 	}
 
 	@Override
-	public void atualizarStatus(Lancamento lancamento, StatusLancamento status) {
-		lancamento.setStatus(status);
-		atualizar(lancamento);
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.LANCAMENTOS, key = "#lancamento.id")
+	public Optional<Lancamento> atualizarStatus(Lancamento lancamento, StatusLancamento status) {
+		Objects.requireNonNull(lancamento.getId());
+		
+		return gravar(lancamento, gravado -> gravado.setStatus(status));
+	}
+	
+	/**
+	 * Trava o usuário, lê e trava o lançamento com a posse já conferida na consulta e aplica
+	 * a alteração na entidade gerenciada: o UPDATE, condicionado à versão, sai no flush e
+	 * muda só a entrada desse lançamento no cache de segundo nível. A versão informada pelo
+	 * cliente, quando houver, precisa ser a gravada.
+	 */
+	private Optional<Lancamento> gravar(Lancamento lancamento, Consumer<Lancamento> alteracao) {
+		Long idUsuario = lancamento.getUsuario().getId();
+		usuarioRepository.bloquear(Collections.singleton(idUsuario));
+		
+		Optional<Lancamento> encontrado = repository.obterParaAtualizar(lancamento.getId(), idUsuario);
+		
+		encontrado.ifPresent(gravado -> {
+			if(lancamento.getVersao() != null && !lancamento.getVersao().equals(gravado.getVersao())) {
+				throw new ObjectOptimisticLockingFailureException(Lancamento.class, lancamento.getId());
+			}
+			
+			ValorLancamento valorGravado = ValorLancamento.de(gravado);
+			alteracao.accept(gravado);
+			saldoService.substituir(valorGravado, gravado);
+			relatorioService.substituir(valorGravado, gravado);
+			buscaDescricaoService.indexar(gravado);
+		});
+		
+		return encontrado;
 	}
 
 	@Override
@@ -73,6 +234,10 @@ public class LancamentoServiceImpl implements LancamentoService{
 			throw new RegraNegocioException("informe uma Descrição válida.");	
 		}
 		
+		if(lancamento.getDescricao().length() > TAMANHO_MAXIMO_DESCRICAO) {
+			throw new RegraNegocioException("Informe uma Descrição de até " + TAMANHO_MAXIMO_DESCRICAO + " caracteres.");
+		}
+		
 		
 		if(lancamento.getMes() == null || lancamento.getMes() < 1 || lancamento.getMes() > 22) {
 			throw new RegraNegocioException("Informe um Mês válido.");	
@@ -86,7 +251,8 @@ public class LancamentoServiceImpl implements LancamentoService{
 			throw new RegraNegocioException("Informe um Usuário.");	
 		}
 		
-		if(lancamento.getValor() == null || lancamento.getValor().compareTo(BigDecimal.ZERO) < 1) {
+		if(lancamento.getValor() == null || lancamento.getValor().compareTo(BigDecimal.ZERO) < 1
+				|| lancamento.getValor().precision() - lancamento.getValor().scale() > DIGITOS_INTEIROS_VALOR) {
 			throw new RegraNegocioException("Informe um Valor válido.");
 		}
 		
@@ -101,20 +267,16 @@ public class LancamentoServiceImpl implements LancamentoService{
 		return repository.findById(id);
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	@Cacheable(cacheNames = CacheConfig.LANCAMENTOS, key = "#id", unless = "#result == null")
+	public Optional<LancamentoResumo> obterResumoPorId(Long id) {
+		return repository.obterResumoPorId(id);
+	}
+
 	@Override
 	@Transactional(readOnly = true)
 	public BigDecimal obterSaldoPorUsuario(Long id) {
-		BigDecimal receitas = repository.obterSaldoPorTipoLancamentoEUsuarioEStatus(id, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
-		BigDecimal despesas = repository.obterSaldoPorTipoLancamentoEUsuarioEStatus(id, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO);
-		
-		if(receitas == null) {
-			receitas = BigDecimal.ZERO;
-		}
-		
-		if(despesas == null) {
-			despesas = BigDecimal.ZERO;
-		}
-		
-		return receitas.subtract(despesas);
+		return saldoService.obterSaldo(id);
 	}
 }
@@ -0,0 +1,254 @@
+package com.estudo.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.estudo.minhasfinancas.exception.RegraNegocioException;
+import com.estudo.minhasfinancas.model.dinheiro.Dinheiro;
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+import com.estudo.minhasfinancas.model.entity.ResumoMensal;
+import com.estudo.minhasfinancas.model.entity.ResumoMensalId;
+import com.estudo.minhasfinancas.model.repository.LancamentoRepository;
+import com.estudo.minhasfinancas.model.repository.ResumoMensalRepository;
+import com.estudo.minhasfinancas.model.repository.UsuarioRepository;
+import com.estudo.minhasfinancas.model.repository.projection.TotalLancamentos;
+import com.estudo.minhasfinancas.model.repository.projection.TotalLancamentosUsuario;
+import com.estudo.minhasfinancas.model.repository.projection.TotalResumo;
+import com.estudo.minhasfinancas.model.repository.projection.ValorLancamento;
+import com.estudo.minhasfinancas.service.RelatorioService;
+import com.estudo.minhasfinancas.service.relatorio.AcumuladorTotais;
+import com.estudo.minhasfinancas.service.relatorio.Relatorio;
+import com.estudo.minhasfinancas.service.relatorio.TotalPeriodo;
+
+@Service
+public class RelatorioServiceImpl implements RelatorioService{
+
+	private static final int MAXIMO_USUARIOS_RELATORIOS = 1000;
+	private static final int LINHAS_REDUCAO_PARALELA = 10000;
+
+	private ResumoMensalRepository repository;
+	private LancamentoRepository lancamentoRepository;
+	private UsuarioRepository usuarioRepository;
+	
+	public RelatorioServiceImpl(ResumoMensalRepository repository, LancamentoRepository lancamentoRepository, 
+			UsuarioRepository usuarioRepository) {
+		super();
+		this.repository = repository;
+		this.lancamentoRepository = lancamentoRepository;
+		this.usuarioRepository = usuarioRepository;
+	}
+
+	@Override
+	@Transactional
+	public void registrar(Lancamento lancamento) {
+		somar(criarId(lancamento), dinheiro(lancamento.getValor()), 1l);
+	}
+
+	/**
+	 * Agrupa os lançamentos por mês, tipo e status para aplicar um único comando por chave,
+	 * somando centavos e quantidade de cada grupo como o registrarTodos do saldo.
+	 */
+	@Override
+	@Transactional
+	public void registrarTodos(Collection<Lancamento> lancamentos) {
+		Map<ResumoMensalId, long[]> totais = new HashMap<>();
+		
+		for(Lancamento lancamento : lancamentos) {
+			if(lancamento.getValor() != null) {
+				long[] total = totais.computeIfAbsent(criarId(lancamento), id -> new long[2]);
+				total[0] = Math.addExact(total[0], Dinheiro.centavos(lancamento.getValor()));
+				total[1]++;
+			}
+		}
+		
+		totais.forEach((id, total) -> somar(id, Dinheiro.deCentavos(total[0]), total[1]));
+	}
+
+	@Override
+	@Transactional
+	public void estornar(ValorLancamento valorGravado) {
+		somar(new ResumoMensalId(valorGravado.getIdUsuario(), valorGravado.getAno(), valorGravado.getMes(), 
+					valorGravado.getTipo(), valorGravado.getStatus()),
+				valorGravado.getValor() == null ? null : Dinheiro.de(valorGravado.getValor()).negar(), -1l);
+	}
+
+	/**
+	 * Como o substituir do saldo: um único comando com a diferença quando o mês, o tipo e o
+	 * status não mudam.
+	 */
+	@Override
+	@Transactional
+	public void substituir(ValorLancamento valorGravado, Lancamento lancamento) {
+		ResumoMensalId anterior = new ResumoMensalId(valorGravado.getIdUsuario(), valorGravado.getAno(), 
+				valorGravado.getMes(), valorGravado.getTipo(), valorGravado.getStatus());
+		ResumoMensalId atual = criarId(lancamento);
+		Dinheiro valorAnterior = dinheiro(valorGravado.getValor());
+		Dinheiro valorAtual = dinheiro(lancamento.getValor());
+		
+		if(anterior.equals(atual) && valorAnterior != null && valorAtual != null) {
+			Dinheiro diferenca = valorAtual.subtrair(valorAnterior);
+			
+			if(diferenca.signum() != 0) {
+				somar(atual, diferenca, 0l);
+			}
+			return;
+		}
+		
+		somar(anterior, valorAnterior == null ? null : valorAnterior.negar(), -1l);
+		somar(atual, valorAtual, 1l);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Relatorio obterRelatorioMensal(Long idUsuario, Integer ano) {
+		List<TotalPeriodo> meses = new ArrayList<>(12);
+		TotalPeriodo total = new TotalPeriodo(ano, null);
+		
+		for(int mes = 1; mes <= 12; mes++) {
+			meses.add(new TotalPeriodo(ano, mes));
+		}
+		
+		for(ResumoMensal resumo : repository.findByIdIdUsuarioAndIdAnoOrderByIdMes(idUsuario, ano)) {
+			ResumoMensalId id = resumo.getId();
+			
+			if(resumo.getValor() == null) {
+				continue;
+			}
+			
+			long centavos = resumo.getValor().getCentavos();
+			
+			if(id.getMes() != null && id.getMes() >= 1 && id.getMes() <= 12) {
+				meses.get(id.getMes() - 1).somar(id.getTipo(), id.getStatus(), centavos, resumo.getQuantidade());
+			}
+			total.somar(id.getTipo(), id.getStatus(), centavos, resumo.getQuantidade());
+		}
+		
+		return new Relatorio(idUsuario, ano, meses, total);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Relatorio obterRelatorioAnual(Long idUsuario) {
+		Map<Integer, TotalPeriodo> anos = new LinkedHashMap<>();
+		TotalPeriodo total = new TotalPeriodo(null, null);
+		
+		for(TotalResumo totalAno : repository.obterTotaisAnuais(idUsuario)) {
+			if(totalAno.getValor() == null) {
+				continue;
+			}
+			
+			long centavos = totalAno.getValor().getCentavos();
+			anos.computeIfAbsent(totalAno.getAno(), ano -> new TotalPeriodo(ano, null))
+				.somar(totalAno.getTipo(), totalAno.getStatus(), centavos, totalAno.getQuantidade());
+			total.somar(totalAno.getTipo(), totalAno.getStatus(), centavos, totalAno.getQuantidade());
+		}
+		
+		return new Relatorio(idUsuario, null, new ArrayList<>(anos.values()), total);
+	}
+
+	/**
+	 * Relatórios de vários usuários a partir de uma única consulta agrupada. As linhas são
+	 * somadas em centavos e, a partir de {@value #LINHAS_REDUCAO_PARALELA}, em paralelo.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<Relatorio> obterRelatorios(Collection<Long> idsUsuarios, Integer ano) {
+		Set<Long> ids = idsUsuarios == null ? Collections.emptySet() : new LinkedHashSet<>(idsUsuarios);
+		ids.remove(null);
+		
+		if(ids.isEmpty()) {
+			throw new RegraNegocioException("Informe ao menos um usuário.");
+		}
+		
+		if(ids.size() > MAXIMO_USUARIOS_RELATORIOS) {
+			throw new RegraNegocioException("Informe no máximo " + MAXIMO_USUARIOS_RELATORIOS + " usuários.");
+		}
+		
+		List<TotalLancamentosUsuario> totais = ano == null 
+				? repository.obterTotaisAnuaisPorUsuarios(ids) 
+				: repository.obterTotaisMensaisPorUsuarios(ids, ano);
+		
+		return (totais.size() >= LINHAS_REDUCAO_PARALELA ? totais.parallelStream() : totais.stream())
+				.collect(AcumuladorTotais.coletor(ano))
+				.relatorios(ids);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public boolean verificar(Long idUsuario) {
+		Map<ResumoMensalId, ResumoMensal> esperado = calcularTotais(idUsuario);
+		
+		for(ResumoMensal gravado : repository.findByIdIdUsuario(idUsuario)) {
+			ResumoMensal total = esperado.remove(gravado.getId());
+			Dinheiro valor = total == null ? Dinheiro.ZERO : total.getValor();
+			long quantidade = total == null ? 0 : total.getQuantidade();
+			
+			if(!valor.equals(gravado.getValor()) || quantidade != gravado.getQuantidade()) {
+				return false;
+			}
+		}
+		
+		return esperado.isEmpty();
+	}
+
+	/**
+	 * Sob a trava do usuário e conferindo de novo antes, como o recalcular do saldo.
+	 */
+	@Override
+	@Transactional
+	public void recalcular(Long idUsuario) {
+		usuarioRepository.bloquear(Collections.singleton(idUsuario));
+		
+		if(verificar(idUsuario)) {
+			return;
+		}
+		
+		repository.deletarPorUsuario(idUsuario);
+		repository.saveAll(calcularTotais(idUsuario).values());
+	}
+	
+	private ResumoMensalId criarId(Lancamento lancamento) {
+		return new ResumoMensalId(lancamento.getUsuario().getId(), lancamento.getAno(), lancamento.getMes(), 
+				lancamento.getTipo(), lancamento.getStatus());
+	}
+	
+	private void somar(ResumoMensalId id, Dinheiro delta, Long quantidade) {
+		if(id.getIdUsuario() == null || id.getAno() == null || id.getMes() == null 
+				|| id.getTipo() == null || id.getStatus() == null || delta == null) {
+			return;
+		}
+		
+		repository.acumular(id, delta, quantidade);
+	}
+	
+	private Map<ResumoMensalId, ResumoMensal> calcularTotais(Long idUsuario) {
+		Map<ResumoMensalId, ResumoMensal> totais = new HashMap<>();
+		
+		for(TotalLancamentos total : lancamentoRepository.obterTotaisMensaisPorUsuario(idUsuario)) {
+			if(total.getAno() == null || total.getMes() == null || total.getTipo() == null 
+					|| total.getStatus() == null || total.getValor() == null) {
+				continue;
+			}
+			
+			ResumoMensalId id = new ResumoMensalId(idUsuario, total.getAno(), total.getMes(), total.getTipo(), total.getStatus());
+			totais.put(id, new ResumoMensal(id, Dinheiro.de(total.getValor()), total.getQuantidade()));
+		}
+		
+		return totais;
+	}
+	
+	private Dinheiro dinheiro(BigDecimal valor) {
+		return valor == null ? null : Dinheiro.de(valor);
+	}
+}
@@ -0,0 +1,192 @@
+package com.estudo.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.estudo.minhasfinancas.config.CacheConfig;
+import com.estudo.minhasfinancas.model.dinheiro.Dinheiro;
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+import com.estudo.minhasfinancas.model.entity.SaldoUsuario;
+import com.estudo.minhasfinancas.model.entity.SaldoUsuarioId;
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+import com.estudo.minhasfinancas.model.repository.LancamentoRepository;
+import com.estudo.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.estudo.minhasfinancas.model.repository.UsuarioRepository;
+import com.estudo.minhasfinancas.model.repository.projection.ValorLancamento;
+import com.estudo.minhasfinancas.service.SaldoUsuarioService;
+
+@Service
+public class SaldoUsuarioServiceImpl implements SaldoUsuarioService{
+
+	private SaldoUsuarioRepository repository;
+	private LancamentoRepository lancamentoRepository;
+	private UsuarioRepository usuarioRepository;
+	
+	public SaldoUsuarioServiceImpl(SaldoUsuarioRepository repository, LancamentoRepository lancamentoRepository, 
+			UsuarioRepository usuarioRepository) {
+		super();
+		this.repository = repository;
+		this.lancamentoRepository = lancamentoRepository;
+		this.usuarioRepository = usuarioRepository;
+	}
+
+	@Override
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.SALDOS, key = "#lancamento.usuario.id", condition = "#lancamento.usuario != null")
+	public void registrar(Lancamento lancamento) {
+		somar(new SaldoUsuarioId(lancamento.getUsuario().getId(), lancamento.getTipo(), lancamento.getStatus()),
+				dinheiro(lancamento.getValor()));
+	}
+
+	/**
+	 * Agrupa os valores por usuário, tipo e status para aplicar um único comando por chave,
+	 * somando os centavos de cada grupo sem criar um valor a cada lançamento.
+	 */
+	@Override
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.SALDOS, allEntries = true)
+	public void registrarTodos(Collection<Lancamento> lancamentos) {
+		Map<SaldoUsuarioId, long[]> totais = new HashMap<>();
+		
+		for(Lancamento lancamento : lancamentos) {
+			if(lancamento.getValor() != null) {
+				long[] centavos = totais.computeIfAbsent(new SaldoUsuarioId(lancamento.getUsuario().getId(), 
+						lancamento.getTipo(), lancamento.getStatus()), id -> new long[1]);
+				centavos[0] = Math.addExact(centavos[0], Dinheiro.centavos(lancamento.getValor()));
+			}
+		}
+		
+		totais.forEach((id, centavos) -> somar(id, Dinheiro.deCentavos(centavos[0])));
+	}
+
+	@Override
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.SALDOS, key = "#valorGravado.idUsuario", condition = "#valorGravado.idUsuario != null")
+	public void estornar(ValorLancamento valorGravado) {
+		somar(new SaldoUsuarioId(valorGravado.getIdUsuario(), valorGravado.getTipo(), valorGravado.getStatus()),
+				valorGravado.getValor() == null ? null : Dinheiro.de(valorGravado.getValor()).negar());
+	}
+
+	/**
+	 * Estorna o valor gravado e registra o novo; quando a chave não muda, os dois viram um
+	 * único comando com a diferença, e nenhum quando o valor também não muda.
+	 */
+	@Override
+	@Transactional
+	@Caching(evict = {
+			@CacheEvict(cacheNames = CacheConfig.SALDOS, key = "#valorGravado.idUsuario", condition = "#valorGravado.idUsuario != null"),
+			@CacheEvict(cacheNames = CacheConfig.SALDOS, key = "#lancamento.usuario.id", condition = "#lancamento.usuario != null") })
+	public void substituir(ValorLancamento valorGravado, Lancamento lancamento) {
+		SaldoUsuarioId anterior = new SaldoUsuarioId(valorGravado.getIdUsuario(), valorGravado.getTipo(), valorGravado.getStatus());
+		SaldoUsuarioId atual = new SaldoUsuarioId(lancamento.getUsuario().getId(), lancamento.getTipo(), lancamento.getStatus());
+		Dinheiro valorAnterior = dinheiro(valorGravado.getValor());
+		Dinheiro valorAtual = dinheiro(lancamento.getValor());
+		
+		if(anterior.equals(atual) && valorAnterior != null && valorAtual != null) {
+			Dinheiro diferenca = valorAtual.subtrair(valorAnterior);
+			
+			if(diferenca.signum() != 0) {
+				somar(atual, diferenca);
+			}
+			return;
+		}
+		
+		somar(anterior, valorAnterior == null ? null : valorAnterior.negar());
+		somar(atual, valorAtual);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	@Cacheable(cacheNames = CacheConfig.SALDOS, key = "#idUsuario")
+	public BigDecimal obterSaldo(Long idUsuario) {
+		Dinheiro receitas = obterValor(new SaldoUsuarioId(idUsuario, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO));
+		Dinheiro despesas = obterValor(new SaldoUsuarioId(idUsuario, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO));
+		
+		return receitas.subtrair(despesas).paraBigDecimal();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public boolean verificar(Long idUsuario) {
+		Map<SaldoUsuarioId, Dinheiro> esperado = calcularTotais(idUsuario);
+		List<SaldoUsuario> gravados = repository.findByIdIdUsuario(idUsuario);
+		
+		for(SaldoUsuario saldo : gravados) {
+			Dinheiro valor = esperado.remove(saldo.getId());
+			
+			if(valor == null) {
+				valor = Dinheiro.ZERO;
+			}
+			
+			if(!valor.equals(saldo.getValor())) {
+				return false;
+			}
+		}
+		
+		return esperado.values().stream().allMatch(valor -> valor.signum() == 0);
+	}
+
+	/**
+	 * Reconstrói sob a trava do usuário, que as escritas de lançamentos também tomam, e
+	 * confere de novo antes: a divergência vista pelo {@link #verificar(Long)}, em outra
+	 * transação, pode já ter sido corrigida por outra reconstrução.
+	 */
+	@Override
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.SALDOS, key = "#idUsuario")
+	public void recalcular(Long idUsuario) {
+		usuarioRepository.bloquear(Collections.singleton(idUsuario));
+		
+		if(verificar(idUsuario)) {
+			return;
+		}
+		
+		repository.deletarPorUsuario(idUsuario);
+		
+		calcularTotais(idUsuario).forEach((id, valor) -> 
+			repository.save(SaldoUsuario.builder().id(id).valor(valor).build()));
+	}
+	
+	private void somar(SaldoUsuarioId id, Dinheiro delta) {
+		if(id.getIdUsuario() == null || id.getTipo() == null || id.getStatus() == null || delta == null) {
+			return;
+		}
+		
+		repository.acumular(id, delta);
+	}
+	
+	private Dinheiro obterValor(SaldoUsuarioId id) {
+		return repository.findById(id)
+				.map(SaldoUsuario::getValor)
+				.orElse(Dinheiro.ZERO);
+	}
+	
+	private Dinheiro dinheiro(BigDecimal valor) {
+		return valor == null ? null : Dinheiro.de(valor);
+	}
+	
+	private Map<SaldoUsuarioId, Dinheiro> calcularTotais(Long idUsuario) {
+		Map<SaldoUsuarioId, Dinheiro> totais = new HashMap<>();
+		
+		for(ValorLancamento total : lancamentoRepository.obterTotaisPorUsuario(idUsuario)) {
+			if(total.getTipo() == null || total.getStatus() == null || total.getValor() == null) {
+				continue;
+			}
+			
+			totais.put(new SaldoUsuarioId(idUsuario, total.getTipo(), total.getStatus()), Dinheiro.de(total.getValor()));
+		}
+		
+		return totais;
+	}
+}
@@ -0,0 +1,144 @@
+package com.estudo.minhasfinancas.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.estudo.minhasfinancas.exception.ServicoSobrecarregadoException;
+import com.estudo.minhasfinancas.service.SenhaService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Codifica e verifica senhas com BCrypt em um pool próprio e limitado, para que rajadas de
+ * login não ocupem todas as CPUs nem as threads das requisições. Quando a fila enche, a
+ * requisição é recusada de imediato em vez de esperar atrás das demais.
+ */
+@Service
+public class SenhaServiceImpl implements SenhaService, MeterBinder{
+
+	private static final Pattern BCRYPT = Pattern.compile("\\A\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+	private static final String SOBRECARREGADO = "Muitas autenticações simultâneas. Tente novamente em instantes.";
+	private static final String METRICA = "minhasfinancas.senha.verificacao";
+
+	private BCryptPasswordEncoder encoder;
+	private long tempoMaximoMs;
+	private String senhaFicticia;
+	private ThreadPoolExecutor verificadores;
+	private AtomicLong rejeitadas = new AtomicLong();
+
+	public SenhaServiceImpl(
+			@Value("${minhasfinancas.senha.custo:10}") int custo,
+			@Value("${minhasfinancas.senha.verificacao.threads:0}") int threads,
+			@Value("${minhasfinancas.senha.verificacao.capacidade-fila:64}") int capacidadeFila,
+			@Value("${minhasfinancas.senha.verificacao.tempo-maximo-ms:5000}") long tempoMaximoMs) {
+		super();
+		int totalThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		this.encoder = new BCryptPasswordEncoder(custo);
+		this.tempoMaximoMs = tempoMaximoMs;
+		this.senhaFicticia = encoder.encode("senha-ficticia");
+		this.verificadores = new ThreadPoolExecutor(totalThreads, totalThreads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(capacidadeFila), new CustomizableThreadFactory("verificacao-senha-"));
+	}
+
+	@Override
+	public String codificar(String senha) {
+		if(senha == null) {
+			return null;
+		}
+		return executar(() -> encoder.encode(senha));
+	}
+
+	@Override
+	public boolean confere(String senha, String senhaGravada) {
+		if(senha == null || senhaGravada == null) {
+			executar(() -> encoder.matches("", senhaFicticia));
+			return false;
+		}
+		
+		if(!BCRYPT.matcher(senhaGravada).matches()) {
+			return MessageDigest.isEqual(senha.getBytes(StandardCharsets.UTF_8), 
+					senhaGravada.getBytes(StandardCharsets.UTF_8));
+		}
+		
+		return executar(() -> encoder.matches(senha, senhaGravada));
+	}
+
+	@Override
+	public boolean precisaRecodificar(String senhaGravada) {
+		return senhaGravada != null
+				&& (!BCRYPT.matcher(senhaGravada).matches() || encoder.upgradeEncoding(senhaGravada));
+	}
+
+	/**
+	 * Profundidade da fila, verificações em andamento e recusadas do pool, registradas no
+	 * Micrometer pelo Spring Boot e expostas com as demais métricas do actuator.
+	 */
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder(METRICA + ".fila", verificadores, pool -> pool.getQueue().size())
+				.description("Verificações de senha aguardando uma thread do pool")
+				.register(registry);
+		Gauge.builder(METRICA + ".capacidade-fila", verificadores, 
+				pool -> pool.getQueue().size() + pool.getQueue().remainingCapacity())
+				.register(registry);
+		Gauge.builder(METRICA + ".ativas", verificadores, ThreadPoolExecutor::getActiveCount)
+				.register(registry);
+		FunctionCounter.builder(METRICA + ".concluidas", verificadores, ThreadPoolExecutor::getCompletedTaskCount)
+				.register(registry);
+		FunctionCounter.builder(METRICA + ".rejeitadas", rejeitadas, AtomicLong::get)
+				.description("Verificações recusadas por fila cheia ou tempo esgotado")
+				.register(registry);
+	}
+	
+	@PreDestroy
+	public void encerrar() {
+		verificadores.shutdownNow();
+	}
+
+	private <T> T executar(Callable<T> tarefa) {
+		Future<T> resultado;
+		try {
+			resultado = verificadores.submit(tarefa);
+		} catch (RejectedExecutionException e) {
+			rejeitadas.incrementAndGet();
+			throw new ServicoSobrecarregadoException(SOBRECARREGADO);
+		}
+		
+		try {
+			return resultado.get(tempoMaximoMs, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			resultado.cancel(true);
+			rejeitadas.incrementAndGet();
+			throw new ServicoSobrecarregadoException(SOBRECARREGADO);
+		} catch (InterruptedException e) {
+			resultado.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new ServicoSobrecarregadoException(SOBRECARREGADO);
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+}
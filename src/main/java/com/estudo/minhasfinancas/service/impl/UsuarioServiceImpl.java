@@ -2,58 +2,120 @@ package com.estudo.minhasfinancas.service.impl;
 
 import java.util.Optional;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import com.estudo.minhasfinancas.config.CacheConfig;
 import com.estudo.minhasfinancas.exception.ErroAutenticacao;
 import com.estudo.minhasfinancas.exception.RegraNegocioException;
 import com.estudo.minhasfinancas.model.entity.Usuario;
 import com.estudo.minhasfinancas.model.repository.UsuarioRepository;
+import com.estudo.minhasfinancas.service.FiltroEmailService;
+import com.estudo.minhasfinancas.service.SenhaService;
 import com.estudo.minhasfinancas.service.UsuarioService;
 
 @Service
 public class UsuarioServiceImpl implements UsuarioService{
 	
+	private static final String EMAIL_CADASTRADO = "Já existe um usuário cadastrado com esse email";
+	
 	private UsuarioRepository repository;
+	private SenhaService senhaService;
+	private FiltroEmailService filtroEmailService;
 	
 
-	public UsuarioServiceImpl(UsuarioRepository repository) {
+	public UsuarioServiceImpl(UsuarioRepository repository, SenhaService senhaService, 
+			FiltroEmailService filtroEmailService) {
 		super();
 		this.repository = repository;
+		this.senhaService = senhaService;
+		this.filtroEmailService = filtroEmailService;
 	}
 
+	/**
+	 * Senhas ainda gravadas em texto puro, ou com custo menor que o configurado, são
+	 * recodificadas no primeiro login bem-sucedido. Sem transação própria: a leitura e a
+	 * atualização da senha abrem cada uma a sua, e a codificação corre entre elas, sem
+	 * segurar uma conexão.
+	 */
 	@Override
 	public Usuario autenticar(String email, String senha) {
 		Optional<Usuario> usuario = repository.findByEmail(email);
 				
 		if(!usuario.isPresent()) {
+			senhaService.confere(senha, null);
 			throw new ErroAutenticacao("Usuário não encontrado para o email informado.");
 		}	
 		
-		if(!usuario.get().getSenha().equals(senha)) {
+		if(!senhaService.confere(senha, usuario.get().getSenha())) {
 			throw new ErroAutenticacao("Senha inválida.");
 		}
 		
+		if(senhaService.precisaRecodificar(usuario.get().getSenha())) {
+			recodificarSenha(usuario.get(), senha);
+		}
+		
 		return usuario.get();
 	}
+	
+	private void recodificarSenha(Usuario usuario, String senha) {
+		String senhaCodificada = senhaService.codificar(senha);
+		repository.atualizarSenha(usuario.getId(), usuario.getEmail(), usuario.getSenha(), senhaCodificada);
+	}
 
+	/**
+	 * Sem transação própria, para que a senha seja codificada antes de uma conexão ser
+	 * tomada; a gravação é um único save, que abre a sua.
+	 */
 	@Override
-	@Transactional
+	@Caching(
+			put = @CachePut(cacheNames = CacheConfig.USUARIOS, key = "#result.id"),
+			evict = @CacheEvict(cacheNames = CacheConfig.USUARIOS_POR_EMAIL, key = "#usuario.email", 
+					condition = "#usuario.email != null"))
 	public Usuario salvarUsuario(Usuario usuario) {		
 		validarEmail(usuario.getEmail());
-		return repository.save(usuario);
+		usuario.setSenha(senhaService.codificar(usuario.getSenha()));
+		
+		Usuario usuarioSalvo;
+		try {
+			usuarioSalvo = repository.save(usuario);
+		} catch (DataIntegrityViolationException e) {
+			throw new RegraNegocioException(EMAIL_CADASTRADO);
+		}
+		
+		filtroEmailService.registrar(usuarioSalvo.getEmail());
+		return usuarioSalvo;
 	}
 
+	/**
+	 * Uma verificação prévia para responder cedo; dois cadastros simultâneos com o mesmo
+	 * email só são barrados pelo índice único, na gravação.
+	 */
 	@Override
 	public void validarEmail(String email) {
+		if(!filtroEmailService.podeEstarCadastrado(email)) {
+			return;
+		}
+		
 		boolean existe = repository.existsByEmail(email);
 		if(existe) {
-			throw new RegraNegocioException("Já existe um usuário cadastrado com esse email");
-		}		
+			throw new RegraNegocioException(EMAIL_CADASTRADO);
+		}
+		filtroEmailService.registrarFalsoPositivo();
 	}
 	
 	@Override
+	@Cacheable(cacheNames = CacheConfig.USUARIOS, key = "#id", unless = "#result == null")
 	public Optional<Usuario> obterPorId(Long id) {
 		return repository.findById(id);
 	}
+	
+	@Override
+	public Usuario obterReferencia(Long id) {
+		return repository.getOne(id);
+	}
 }
@@ -0,0 +1,12 @@
+package com.estudo.minhasfinancas.service.importacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ErroImportacao {
+
+	private final long linha;
+	private final String mensagem;
+}
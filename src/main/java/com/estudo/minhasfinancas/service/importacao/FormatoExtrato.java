@@ -0,0 +1,23 @@
+package com.estudo.minhasfinancas.service.importacao;
+
+import java.io.Reader;
+
+import com.estudo.minhasfinancas.model.entity.Usuario;
+
+public enum FormatoExtrato {
+
+	CSV {
+		@Override
+		public LinhasExtrato ler(Reader entrada, Usuario usuario) {
+			return new LinhasExtratoCsv(entrada, usuario);
+		}
+	},
+	OFX {
+		@Override
+		public LinhasExtrato ler(Reader entrada, Usuario usuario) {
+			return new LinhasExtratoOfx(entrada, usuario);
+		}
+	};
+
+	public abstract LinhasExtrato ler(Reader entrada, Usuario usuario);
+}
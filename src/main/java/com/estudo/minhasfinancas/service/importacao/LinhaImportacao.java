@@ -0,0 +1,26 @@
+package com.estudo.minhasfinancas.service.importacao;
+
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Uma linha da entrada de importação: o lançamento convertido ou o motivo pelo qual não pôde ser lido.
+ */
+@Getter
+@AllArgsConstructor
+public class LinhaImportacao {
+
+	private final long numero;
+	private final Lancamento lancamento;
+	private final String erro;
+
+	public static LinhaImportacao valida(long numero, Lancamento lancamento) {
+		return new LinhaImportacao(numero, lancamento, null);
+	}
+
+	public static LinhaImportacao invalida(long numero, String erro) {
+		return new LinhaImportacao(numero, null, erro);
+	}
+}
@@ -0,0 +1,92 @@
+package com.estudo.minhasfinancas.service.importacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+import com.estudo.minhasfinancas.model.entity.Usuario;
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+
+/**
+ * Base dos leitores de extrato bancário: lê a entrada sob demanda, uma transação por vez,
+ * sem nunca manter o arquivo inteiro em memória.
+ */
+public abstract class LinhasExtrato implements Iterator<LinhaImportacao> {
+
+	protected final BufferedReader entrada;
+	private final Usuario usuario;
+	private LinhaImportacao proxima;
+	private boolean finalizada;
+
+	protected LinhasExtrato(Reader entrada, Usuario usuario) {
+		this.entrada = entrada instanceof BufferedReader ? (BufferedReader) entrada : new BufferedReader(entrada);
+		this.usuario = usuario;
+	}
+
+	/**
+	 * Lê a próxima transação da entrada ou retorna null ao final dela.
+	 */
+	protected abstract LinhaImportacao lerProxima() throws IOException;
+
+	@Override
+	public boolean hasNext() {
+		if(proxima == null && !finalizada) {
+			try {
+				proxima = lerProxima();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			finalizada = proxima == null;
+		}
+		
+		return proxima != null;
+	}
+
+	@Override
+	public LinhaImportacao next() {
+		if(!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		
+		LinhaImportacao linha = proxima;
+		proxima = null;
+		return linha;
+	}
+
+	/**
+	 * Valores negativos no extrato são saídas da conta e viram despesas; os demais, receitas.
+	 */
+	protected Lancamento criarLancamento(LocalDate data, String descricao, BigDecimal valor) {
+		return Lancamento.builder()
+				.descricao(descricao)
+				.mes(data.getMonthValue())
+				.ano(data.getYear())
+				.valor(valor.abs())
+				.tipo(valor.signum() < 0 ? TipoLancamento.DESPESA : TipoLancamento.RECEITA)
+				.status(StatusLancamento.PENDENTE)
+				.usuario(usuario)
+				.build();
+	}
+
+	/**
+	 * Aceita tanto "1.234,56" quanto "1,234.56": o último separador encontrado é o decimal.
+	 */
+	protected static BigDecimal converterValor(String texto) {
+		String valor = texto.replace("R$", "").replace(" ", "").trim();
+		int decimal = Math.max(valor.lastIndexOf(','), valor.lastIndexOf('.'));
+		
+		if(decimal < 0) {
+			return new BigDecimal(valor);
+		}
+		
+		String inteiro = valor.substring(0, decimal).replace(".", "").replace(",", "");
+		return new BigDecimal(inteiro + "." + valor.substring(decimal + 1));
+	}
+}
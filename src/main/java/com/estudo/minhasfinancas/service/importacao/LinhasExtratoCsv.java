@@ -0,0 +1,124 @@
+package com.estudo.minhasfinancas.service.importacao;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.estudo.minhasfinancas.model.entity.Usuario;
+
+/**
+ * Lê extratos CSV com as colunas data, descrição e valor, nesta ordem. O separador (";" ou ",")
+ * é deduzido da primeira linha, que é descartada quando for um cabeçalho.
+ */
+public class LinhasExtratoCsv extends LinhasExtrato {
+
+	private static final DateTimeFormatter[] FORMATOS_DATA = {
+			DateTimeFormatter.ofPattern("dd/MM/yyyy"), DateTimeFormatter.ISO_LOCAL_DATE };
+
+	private long numero;
+	private char separador;
+
+	public LinhasExtratoCsv(Reader entrada, Usuario usuario) {
+		super(entrada, usuario);
+	}
+
+	@Override
+	protected LinhaImportacao lerProxima() throws IOException {
+		String linha;
+		
+		while((linha = entrada.readLine()) != null) {
+			numero++;
+			
+			if(linha.trim().isEmpty()) {
+				continue;
+			}
+			
+			if(separador == 0) {
+				separador = linha.indexOf(';') >= 0 ? ';' : ',';
+				
+				if(ehCabecalho(linha)) {
+					continue;
+				}
+			}
+			
+			return converter(linha);
+		}
+		
+		return null;
+	}
+
+	private boolean ehCabecalho(String linha) {
+		List<String> campos = separar(linha);
+		return converterData(campos.get(0)) == null;
+	}
+
+	private LinhaImportacao converter(String linha) {
+		List<String> campos = separar(linha);
+		
+		if(campos.size() < 3) {
+			return LinhaImportacao.invalida(numero, "Linha deve conter data, descrição e valor.");
+		}
+		
+		LocalDate data = converterData(campos.get(0));
+		
+		if(data == null) {
+			return LinhaImportacao.invalida(numero, "Data inválida: " + campos.get(0));
+		}
+		
+		BigDecimal valor;
+		try {
+			valor = converterValor(campos.get(2));
+		} catch (NumberFormatException e) {
+			return LinhaImportacao.invalida(numero, "Valor inválido: " + campos.get(2));
+		}
+		
+		return LinhaImportacao.valida(numero, criarLancamento(data, campos.get(1).trim(), valor));
+	}
+
+	private static LocalDate converterData(String texto) {
+		for(DateTimeFormatter formato : FORMATOS_DATA) {
+			try {
+				return LocalDate.parse(texto.trim(), formato);
+			} catch (DateTimeParseException e) {
+				// tenta o próximo formato
+			}
+		}
+		
+		return null;
+	}
+
+	/**
+	 * Separa os campos respeitando valores entre aspas, onde "" representa uma aspa literal.
+	 */
+	private List<String> separar(String linha) {
+		List<String> campos = new ArrayList<>(3);
+		StringBuilder campo = new StringBuilder();
+		boolean entreAspas = false;
+		
+		for(int i = 0; i < linha.length(); i++) {
+			char c = linha.charAt(i);
+			
+			if(c == '"') {
+				if(entreAspas && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+					campo.append('"');
+					i++;
+				} else {
+					entreAspas = !entreAspas;
+				}
+			} else if(c == separador && !entreAspas) {
+				campos.add(campo.toString());
+				campo.setLength(0);
+			} else {
+				campo.append(c);
+			}
+		}
+		
+		campos.add(campo.toString());
+		return campos;
+	}
+}
@@ -0,0 +1,127 @@
+package com.estudo.minhasfinancas.service.importacao;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import com.estudo.minhasfinancas.model.entity.Usuario;
+
+/**
+ * Lê as transações (STMTTRN) de extratos OFX, tanto no formato SGML, sem tags de fechamento,
+ * quanto no XML. A entrada é percorrida tag a tag, então o tamanho do arquivo não importa.
+ */
+public class LinhasExtratoOfx extends LinhasExtrato {
+
+	private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.BASIC_ISO_DATE;
+
+	private long numero;
+	private final StringBuilder tag = new StringBuilder();
+	private final StringBuilder texto = new StringBuilder();
+
+	public LinhasExtratoOfx(Reader entrada, Usuario usuario) {
+		super(entrada, usuario);
+	}
+
+	@Override
+	protected LinhaImportacao lerProxima() throws IOException {
+		String data = null;
+		String valor = null;
+		String memo = null;
+		String nome = null;
+		boolean naTransacao = false;
+		
+		String atual;
+		while((atual = lerTag()) != null) {
+			if("STMTTRN".equals(atual)) {
+				naTransacao = true;
+				numero++;
+				data = valor = memo = nome = null;
+			} else if("/STMTTRN".equals(atual) && naTransacao) {
+				return converter(data, valor, memo != null ? memo : nome);
+			} else if(naTransacao) {
+				String conteudo = lerTexto();
+				
+				switch (atual) {
+				case "DTPOSTED": data = conteudo; break;
+				case "TRNAMT": valor = conteudo; break;
+				case "MEMO": memo = conteudo; break;
+				case "NAME": nome = conteudo; break;
+				default: break;
+				}
+			}
+		}
+		
+		return null;
+	}
+
+	private LinhaImportacao converter(String data, String valor, String descricao) {
+		if(data == null || data.length() < 8) {
+			return LinhaImportacao.invalida(numero, "Transação sem data (DTPOSTED).");
+		}
+		
+		if(valor == null) {
+			return LinhaImportacao.invalida(numero, "Transação sem valor (TRNAMT).");
+		}
+		
+		LocalDate dataLancamento;
+		try {
+			dataLancamento = LocalDate.parse(data.substring(0, 8), FORMATO_DATA);
+		} catch (DateTimeParseException e) {
+			return LinhaImportacao.invalida(numero, "Data inválida: " + data);
+		}
+		
+		BigDecimal valorLancamento;
+		try {
+			valorLancamento = converterValor(valor);
+		} catch (NumberFormatException e) {
+			return LinhaImportacao.invalida(numero, "Valor inválido: " + valor);
+		}
+		
+		return LinhaImportacao.valida(numero, criarLancamento(dataLancamento, descricao, valorLancamento));
+	}
+
+	/**
+	 * Avança até a próxima tag e retorna seu nome em maiúsculas, ou null ao final da entrada.
+	 */
+	private String lerTag() throws IOException {
+		int c;
+		while((c = entrada.read()) != -1 && c != '<') {
+			// ignora o cabeçalho e os textos fora das transações
+		}
+		
+		if(c == -1) {
+			return null;
+		}
+		
+		tag.setLength(0);
+		while((c = entrada.read()) != -1 && c != '>') {
+			tag.append((char) c);
+		}
+		
+		return tag.toString().trim().toUpperCase();
+	}
+
+	/**
+	 * Lê o conteúdo da tag atual até o início da próxima, sem consumi-la.
+	 */
+	private String lerTexto() throws IOException {
+		texto.setLength(0);
+		entrada.mark(1);
+		
+		int c;
+		while((c = entrada.read()) != -1 && c != '<') {
+			texto.append((char) c);
+			entrada.mark(1);
+		}
+		
+		if(c == '<') {
+			entrada.reset();
+		}
+		
+		return texto.toString().trim()
+				.replace("&lt;", "<").replace("&gt;", ">").replace("&amp;", "&");
+	}
+}
@@ -0,0 +1,47 @@
+package com.estudo.minhasfinancas.service.importacao;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * Resumo de uma importação. Apenas os primeiros {@link #MAXIMO_ERROS_DETALHADOS} erros
+ * são listados; os demais entram somente na contagem de rejeitados. É atualizado tanto
+ * pela leitura quanto pela gravação, que correm em paralelo.
+ */
+@Getter
+public class ResultadoImportacao {
+
+	public static final int MAXIMO_ERROS_DETALHADOS = 1000;
+
+	private long total;
+	private long importados;
+	private long rejeitados;
+	private int lotes;
+	private long duracaoMs;
+	private double lancamentosPorSegundo;
+	private final List<ErroImportacao> erros = new ArrayList<>();
+
+	public synchronized void registrarImportados(int quantidade) {
+		total += quantidade;
+		importados += quantidade;
+		lotes++;
+	}
+
+	public synchronized void registrarErro(long linha, String mensagem) {
+		total++;
+		rejeitados++;
+
+		if(erros.size() < MAXIMO_ERROS_DETALHADOS) {
+			erros.add(new ErroImportacao(linha, mensagem));
+		}
+	}
+
+	public synchronized void finalizar(long duracaoMs) {
+		erros.sort(Comparator.comparingLong(ErroImportacao::getLinha));
+		this.duracaoMs = duracaoMs;
+		this.lancamentosPorSegundo = duracaoMs == 0 ? importados : importados * 1000d / duracaoMs;
+	}
+}
@@ -0,0 +1,77 @@
+package com.estudo.minhasfinancas.service.job;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.estudo.minhasfinancas.model.repository.LancamentoRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantém as partições anuais de lançamentos no PostgreSQL: cria com antecedência as dos
+ * próximos anos, dá partição própria aos anos que caíram na partição padrão e, quando
+ * configurado, junta os anos antigos na partição de arquivo. Nas demais bases não faz nada.
+ * As leituras e escritas só pelo id (findById e o UPDATE e o DELETE do Hibernate) não têm o
+ * ano e consultam o índice de cada partição; os anos ativos limitam quantas são.
+ */
+@Slf4j
+@Component
+public class ParticionamentoLancamentoJob {
+
+	private final LancamentoRepository repository;
+	private final boolean particionado;
+	private final int anosFuturos;
+	private final int anosAtivos;
+
+	public ParticionamentoLancamentoJob(LancamentoRepository repository, DataSource dataSource,
+			@Value("${minhasfinancas.lancamento.particionamento.anos-futuros:1}") int anosFuturos,
+			@Value("${minhasfinancas.lancamento.particionamento.anos-ativos:0}") int anosAtivos)
+					throws MetaDataAccessException {
+		super();
+		this.repository = repository;
+		this.particionado = "PostgreSQL".equals(JdbcUtils.commonDatabaseName(
+				JdbcUtils.extractDatabaseMetaData(dataSource, "getDatabaseProductName")));
+		this.anosFuturos = anosFuturos;
+		this.anosAtivos = anosAtivos;
+	}
+
+	@Scheduled(initialDelayString = "${minhasfinancas.lancamento.particionamento.atraso-inicial:0}",
+			fixedDelayString = "${minhasfinancas.lancamento.particionamento.intervalo:86400000}")
+	public void manterParticoes() {
+		if(!particionado) {
+			return;
+		}
+
+		int anoAtual = LocalDate.now().getYear();
+		int arquivadas = 0;
+		int criadas = 0;
+
+		// anos ativos igual a zero mantém todas as partições anuais
+		if(anosAtivos > 0) {
+			arquivadas = repository.arquivarAnteriores(anoAtual - anosAtivos + 1);
+		}
+
+		Set<Integer> anos = new TreeSet<>(repository.obterAnosSemParticao());
+		for(int ano = anoAtual; ano <= anoAtual + anosFuturos; ano++) {
+			anos.add(ano);
+		}
+
+		for(Integer ano : anos) {
+			if(repository.criarParticao(ano)) {
+				criadas++;
+			}
+		}
+
+		log.info("Manutenção das partições de lançamentos concluída, {} partição(ões) criada(s) e {} arquivada(s).",
+				criadas, arquivadas);
+	}
+}
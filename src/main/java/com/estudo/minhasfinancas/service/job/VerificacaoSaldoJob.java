@@ -0,0 +1,84 @@
+package com.estudo.minhasfinancas.service.job;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.estudo.minhasfinancas.model.repository.TravaTarefaRepository;
+import com.estudo.minhasfinancas.model.repository.UsuarioRepository;
+import com.estudo.minhasfinancas.service.RelatorioService;
+import com.estudo.minhasfinancas.service.SaldoUsuarioService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Confere periodicamente o saldo materializado e os resumos mensais de cada usuário
+ * contra os lançamentos gravados e os reconstrói quando houver divergência. Com várias
+ * instâncias, só a que obtiver a trava {@value #TRAVA} faz a passagem; as outras a pulam.
+ */
+@Slf4j
+@Component
+public class VerificacaoSaldoJob {
+
+	static final String TRAVA = "verificacao-saldo";
+
+	private final SaldoUsuarioService saldoService;
+	private final RelatorioService relatorioService;
+	private final UsuarioRepository usuarioRepository;
+	private final TravaTarefaRepository travaRepository;
+	private final Duration duracaoMaximaTrava;
+	private final String instancia = UUID.randomUUID().toString();
+	
+	public VerificacaoSaldoJob(SaldoUsuarioService saldoService, RelatorioService relatorioService,
+			UsuarioRepository usuarioRepository, TravaTarefaRepository travaRepository,
+			@Value("${minhasfinancas.saldo.verificacao.trava-maxima:6h}") Duration duracaoMaximaTrava) {
+		super();
+		this.saldoService = saldoService;
+		this.relatorioService = relatorioService;
+		this.usuarioRepository = usuarioRepository;
+		this.travaRepository = travaRepository;
+		this.duracaoMaximaTrava = duracaoMaximaTrava;
+	}
+	
+	@Scheduled(initialDelayString = "${minhasfinancas.saldo.verificacao.atraso-inicial:60000}",
+			fixedDelayString = "${minhasfinancas.saldo.verificacao.intervalo:86400000}")
+	public void verificarSaldos() {
+		LocalDateTime agora = LocalDateTime.now(ZoneOffset.UTC);
+		
+		if(travaRepository.adquirir(TRAVA, instancia, agora, agora.plus(duracaoMaximaTrava)) == 0) {
+			log.info("Verificação de saldos em andamento em outra instância, ignorada nesta.");
+			return;
+		}
+		
+		try {
+			verificarTodos();
+		} finally {
+			travaRepository.liberar(TRAVA, instancia, LocalDateTime.now(ZoneOffset.UTC));
+		}
+	}
+	
+	private void verificarTodos() {
+		int recalculados = 0;
+		
+		for(Long idUsuario : usuarioRepository.obterIds()) {
+			if(!saldoService.verificar(idUsuario)) {
+				log.warn("Saldo divergente para o usuário {}, recalculando.", idUsuario);
+				saldoService.recalcular(idUsuario);
+				recalculados++;
+			}
+			
+			if(!relatorioService.verificar(idUsuario)) {
+				log.warn("Resumo mensal divergente para o usuário {}, recalculando.", idUsuario);
+				relatorioService.recalcular(idUsuario);
+				recalculados++;
+			}
+		}
+		
+		log.info("Verificação de saldos concluída, {} saldo(s) e resumo(s) recalculado(s).", recalculados);
+	}
+}
@@ -0,0 +1,116 @@
+package com.estudo.minhasfinancas.service.relatorio;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collector;
+
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+import com.estudo.minhasfinancas.model.repository.projection.TotalLancamentosUsuario;
+
+/**
+ * Totais de vários usuários por período, somados em centavos num {@code long} em vez de
+ * encadear {@link BigDecimal#add}. Dois acumuladores podem ser combinados, o que permite
+ * reduzir um stream paralelo de totais com {@link #coletor(Integer)}. As regras são as do
+ * {@link TotalPeriodo}: cancelados ficam de fora e o saldo efetivado só conta os efetivados.
+ */
+public class AcumuladorTotais {
+
+	private static final int RECEITAS = 0;
+	private static final int DESPESAS = 1;
+	private static final int SALDO_EFETIVADO = 2;
+	private static final int QUANTIDADE = 3;
+	private static final int CAMPOS = 4;
+	private static final int MESES = 12;
+
+	private final Integer ano;
+	private final Map<Long, Map<Integer, long[]>> usuarios = new HashMap<>();
+
+	/**
+	 * Com o ano informado os períodos são os meses dele; sem o ano, cada ano é um período.
+	 */
+	public AcumuladorTotais(Integer ano) {
+		this.ano = ano;
+	}
+
+	public static Collector<TotalLancamentosUsuario, AcumuladorTotais, AcumuladorTotais> coletor(Integer ano) {
+		return Collector.of(() -> new AcumuladorTotais(ano), AcumuladorTotais::somar, AcumuladorTotais::combinar, 
+				Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+	}
+
+	public void somar(TotalLancamentosUsuario total) {
+		Integer periodo = ano == null ? total.getAno() : total.getMes();
+		
+		if(total.getIdUsuario() == null || periodo == null || total.getTipo() == null || total.getStatus() == null 
+				|| total.getValor() == null || total.getStatus() == StatusLancamento.CANCELADO) {
+			return;
+		}
+		
+		long[] campos = usuarios.computeIfAbsent(total.getIdUsuario(), id -> new HashMap<>())
+				.computeIfAbsent(periodo, chave -> new long[CAMPOS]);
+		long centavos = total.getValor().getCentavos();
+		int campo = total.getTipo() == TipoLancamento.RECEITA ? RECEITAS : DESPESAS;
+		
+		campos[campo] = Math.addExact(campos[campo], centavos);
+		if(total.getStatus() == StatusLancamento.EFETIVADO) {
+			campos[SALDO_EFETIVADO] = Math.addExact(campos[SALDO_EFETIVADO], 
+					total.getTipo() == TipoLancamento.RECEITA ? centavos : -centavos);
+		}
+		campos[QUANTIDADE] += total.getQuantidade() == null ? 0 : total.getQuantidade();
+	}
+
+	public AcumuladorTotais combinar(AcumuladorTotais outro) {
+		outro.usuarios.forEach((idUsuario, periodos) -> {
+			Map<Integer, long[]> destino = usuarios.computeIfAbsent(idUsuario, id -> new HashMap<>());
+			
+			periodos.forEach((periodo, campos) -> destino.merge(periodo, campos, (atual, novo) -> {
+				somarCampos(atual, novo);
+				return atual;
+			}));
+		});
+		
+		return this;
+	}
+
+	/**
+	 * Um relatório por usuário, na ordem informada, inclusive para os que não têm lançamentos.
+	 */
+	public List<Relatorio> relatorios(Collection<Long> idsUsuarios) {
+		List<Relatorio> relatorios = new ArrayList<>(idsUsuarios.size());
+		
+		for(Long idUsuario : idsUsuarios) {
+			Map<Integer, long[]> periodos = usuarios.getOrDefault(idUsuario, new HashMap<>());
+			List<TotalPeriodo> totais = new ArrayList<>();
+			long[] soma = new long[CAMPOS];
+			
+			if(ano != null) {
+				for(int mes = 1; mes <= MESES; mes++) {
+					totais.add(totalPeriodo(ano, mes, periodos.getOrDefault(mes, new long[CAMPOS]), soma));
+				}
+			} else {
+				new TreeMap<>(periodos).forEach((anoPeriodo, campos) -> totais.add(totalPeriodo(anoPeriodo, null, campos, soma)));
+			}
+			
+			relatorios.add(new Relatorio(idUsuario, ano, totais, totalPeriodo(ano, null, soma, new long[CAMPOS])));
+		}
+		
+		return relatorios;
+	}
+
+	private static TotalPeriodo totalPeriodo(Integer ano, Integer mes, long[] campos, long[] soma) {
+		somarCampos(soma, campos);
+		
+		return new TotalPeriodo(ano, mes, campos[RECEITAS], campos[DESPESAS], campos[SALDO_EFETIVADO], campos[QUANTIDADE]);
+	}
+
+	private static void somarCampos(long[] destino, long[] campos) {
+		for(int i = 0; i < CAMPOS; i++) {
+			destino[i] = Math.addExact(destino[i], campos[i]);
+		}
+	}
+}
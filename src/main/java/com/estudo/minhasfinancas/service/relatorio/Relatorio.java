@@ -0,0 +1,19 @@
+package com.estudo.minhasfinancas.service.relatorio;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Totais de um usuário por período: os doze meses de um ano ou todos os anos com lançamentos.
+ */
+@Getter
+@AllArgsConstructor
+public class Relatorio {
+
+	private final Long usuario;
+	private final Integer ano;
+	private final List<TotalPeriodo> periodos;
+	private final TotalPeriodo total;
+}
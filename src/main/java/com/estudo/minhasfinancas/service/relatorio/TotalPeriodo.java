@@ -0,0 +1,83 @@
+package com.estudo.minhasfinancas.service.relatorio;
+
+import java.math.BigDecimal;
+
+import com.estudo.minhasfinancas.model.dinheiro.Dinheiro;
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.Getter;
+
+/**
+ * Receitas e despesas de um mês ou de um ano. Lançamentos cancelados ficam de fora;
+ * o saldo efetivado considera apenas os efetivados, como o saldo do usuário. Os totais
+ * são somados em centavos e só viram {@link BigDecimal} na leitura.
+ */
+public class TotalPeriodo {
+
+	@Getter
+	private final Integer ano;
+	@Getter
+	private final Integer mes;
+	private long receitas;
+	private long despesas;
+	private long saldoEfetivado;
+	@Getter
+	private long quantidade;
+
+	public TotalPeriodo(Integer ano, Integer mes) {
+		this.ano = ano;
+		this.mes = mes;
+	}
+
+	/**
+	 * Período com os totais já somados, em centavos.
+	 */
+	public TotalPeriodo(Integer ano, Integer mes, long receitas, long despesas, long saldoEfetivado, long quantidade) {
+		this(ano, mes);
+		this.receitas = receitas;
+		this.despesas = despesas;
+		this.saldoEfetivado = saldoEfetivado;
+		this.quantidade = quantidade;
+	}
+
+	public BigDecimal getReceitas() {
+		return Dinheiro.paraBigDecimal(receitas);
+	}
+
+	public BigDecimal getDespesas() {
+		return Dinheiro.paraBigDecimal(despesas);
+	}
+
+	public BigDecimal getSaldoEfetivado() {
+		return Dinheiro.paraBigDecimal(saldoEfetivado);
+	}
+
+	public BigDecimal getSaldo() {
+		return Dinheiro.paraBigDecimal(Math.subtractExact(receitas, despesas));
+	}
+
+	public void somar(TipoLancamento tipo, StatusLancamento status, BigDecimal valor, Long quantidade) {
+		if(valor != null) {
+			somar(tipo, status, Dinheiro.centavos(valor), quantidade);
+		}
+	}
+
+	public void somar(TipoLancamento tipo, StatusLancamento status, long centavos, Long quantidade) {
+		if(tipo == null || status == null || status == StatusLancamento.CANCELADO) {
+			return;
+		}
+		
+		if(tipo == TipoLancamento.RECEITA) {
+			receitas = Math.addExact(receitas, centavos);
+		} else {
+			despesas = Math.addExact(despesas, centavos);
+		}
+		
+		if(status == StatusLancamento.EFETIVADO) {
+			saldoEfetivado = Math.addExact(saldoEfetivado, tipo == TipoLancamento.RECEITA ? centavos : -centavos);
+		}
+		
+		this.quantidade += quantidade == null ? 0 : quantidade;
+	}
+}
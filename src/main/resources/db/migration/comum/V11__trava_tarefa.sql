@@ -0,0 +1,11 @@
+-- Travas das tarefas agendadas que devem rodar em uma única instância por vez: quem
+-- muda bloqueada_ate para o futuro executa, e a trava vence sozinha se a instância cair
+CREATE TABLE IF NOT EXISTS financas.trava_tarefa (
+    nome VARCHAR(100) NOT NULL PRIMARY KEY,
+    bloqueada_ate TIMESTAMP NOT NULL,
+    instancia VARCHAR(100)
+);
+
+INSERT INTO financas.trava_tarefa (nome, bloqueada_ate)
+SELECT 'verificacao-saldo', TIMESTAMP '1970-01-01 00:00:00'
+ WHERE NOT EXISTS (SELECT 1 FROM financas.trava_tarefa WHERE nome = 'verificacao-saldo');
@@ -0,0 +1,21 @@
+-- Estrutura original do schema financas. Bases que já a possuem entram no Flyway
+-- pela baseline (versão 1) e recebem apenas as migrações seguintes.
+CREATE TABLE financas.usuario (
+    id BIGSERIAL NOT NULL PRIMARY KEY,
+    nome VARCHAR(150),
+    email VARCHAR(100),
+    senha VARCHAR(20),
+    data_cadastro DATE DEFAULT CURRENT_DATE
+);
+
+CREATE TABLE financas.lancamento (
+    id BIGSERIAL NOT NULL PRIMARY KEY,
+    descricao VARCHAR(100) NOT NULL,
+    mes INTEGER NOT NULL,
+    ano INTEGER NOT NULL,
+    valor NUMERIC(16, 2) NOT NULL,
+    tipo VARCHAR(20) NOT NULL CHECK (tipo IN ('RECEITA', 'DESPESA')),
+    status VARCHAR(20) NOT NULL CHECK (status IN ('PENDENTE', 'CANCELADO', 'EFETIVADO')),
+    id_usuario BIGINT REFERENCES financas.usuario (id),
+    data_cadastro DATE DEFAULT CURRENT_DATE
+);
@@ -0,0 +1,2 @@
+-- Coluna de versão usada no controle de concorrência otimista de Lancamento
+ALTER TABLE financas.lancamento ADD COLUMN IF NOT EXISTS versao BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,3 @@
+-- Sequência com incremento igual ao allocationSize de Lancamento.id, para o otimizador pooled do Hibernate
+CREATE SEQUENCE IF NOT EXISTS financas.lancamento_id_seq;
+ALTER SEQUENCE financas.lancamento_id_seq INCREMENT BY 50;
@@ -0,0 +1,15 @@
+-- Saldos acumulados por usuário, tipo e status, mantidos por SaldoUsuarioService
+CREATE TABLE IF NOT EXISTS financas.saldo_usuario (
+    id_usuario BIGINT NOT NULL REFERENCES financas.usuario (id),
+    tipo VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    valor NUMERIC(16, 2) NOT NULL,
+    PRIMARY KEY (id_usuario, tipo, status)
+);
+
+-- Carga inicial a partir dos lançamentos existentes
+INSERT INTO financas.saldo_usuario (id_usuario, tipo, status, valor)
+SELECT id_usuario, tipo, status, SUM(valor)
+  FROM financas.lancamento
+ WHERE NOT EXISTS (SELECT 1 FROM financas.saldo_usuario)
+ GROUP BY id_usuario, tipo, status;
@@ -0,0 +1,18 @@
+-- Resumos mensais mantidos por RelatorioService a cada escrita de lançamento
+CREATE TABLE IF NOT EXISTS financas.resumo_mensal (
+    id_usuario BIGINT NOT NULL REFERENCES financas.usuario (id),
+    ano INTEGER NOT NULL,
+    mes INTEGER NOT NULL,
+    tipo VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    valor NUMERIC(16, 2) NOT NULL,
+    quantidade BIGINT NOT NULL,
+    PRIMARY KEY (id_usuario, ano, mes, tipo, status)
+);
+
+-- Carga inicial a partir dos lançamentos existentes
+INSERT INTO financas.resumo_mensal (id_usuario, ano, mes, tipo, status, valor, quantidade)
+SELECT id_usuario, ano, mes, tipo, status, SUM(valor), COUNT(*)
+  FROM financas.lancamento
+ WHERE NOT EXISTS (SELECT 1 FROM financas.resumo_mensal)
+ GROUP BY id_usuario, ano, mes, tipo, status;
@@ -0,0 +1,4 @@
+-- Índice único que impede dois cadastros com o mesmo email mesmo sob concorrência.
+-- Emails já duplicados precisam ser resolvidos antes; esta consulta os lista:
+--   SELECT email, COUNT(*) FROM financas.usuario GROUP BY email HAVING COUNT(*) > 1;
+CREATE UNIQUE INDEX IF NOT EXISTS idx_usuario_email ON financas.usuario (email);
@@ -0,0 +1,2 @@
+-- Espaço para as senhas codificadas com BCrypt (60 caracteres)
+ALTER TABLE financas.usuario ALTER COLUMN senha SET DATA TYPE VARCHAR(100);
@@ -0,0 +1,3 @@
+-- Mesmo posicionamento da migração do PostgreSQL: o próximo valor é o topo de um bloco
+-- do otimizador pooled inteiramente acima do maior id já gravado.
+ALTER SEQUENCE financas.lancamento_id_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 100 FROM financas.lancamento);
@@ -0,0 +1,8 @@
+-- Mesmos caminhos de acesso da versão PostgreSQL; o H2 não tem INCLUDE nem índices
+-- parciais, então as colunas lidas entram na própria chave. Ele também não percorre
+-- índices de trás para frente, por isso a ordem decrescente da listagem vai no índice.
+CREATE INDEX IF NOT EXISTS idx_lancamento_usuario_ano_mes
+    ON financas.lancamento (id_usuario, ano DESC, mes DESC, id DESC, descricao, valor, tipo, status, versao);
+
+CREATE INDEX IF NOT EXISTS idx_lancamento_usuario_tipo_status
+    ON financas.lancamento (id_usuario, tipo, status, valor);
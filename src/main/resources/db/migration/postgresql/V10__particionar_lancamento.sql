@@ -0,0 +1,133 @@
+-- Particiona financas.lancamento por faixa de ano: as listagens filtram por ano e passam
+-- a ler só a partição do ano pedido. A chave primária precisa conter a coluna de
+-- particionamento, por isso vira (id, ano); o id continua vindo da mesma sequência.
+-- Requer PostgreSQL 11 ou superior.
+ALTER SEQUENCE financas.lancamento_id_seq OWNED BY NONE;
+ALTER TABLE financas.lancamento RENAME TO lancamento_nao_particionada;
+
+CREATE TABLE financas.lancamento (
+    id BIGINT NOT NULL DEFAULT nextval('financas.lancamento_id_seq'),
+    descricao VARCHAR(100) NOT NULL,
+    mes INTEGER NOT NULL,
+    ano INTEGER NOT NULL,
+    valor NUMERIC(16, 2) NOT NULL,
+    tipo VARCHAR(20) NOT NULL CHECK (tipo IN ('RECEITA', 'DESPESA')),
+    status VARCHAR(20) NOT NULL CHECK (status IN ('PENDENTE', 'CANCELADO', 'EFETIVADO')),
+    id_usuario BIGINT REFERENCES financas.usuario (id),
+    data_cadastro DATE DEFAULT CURRENT_DATE,
+    versao BIGINT DEFAULT 0 NOT NULL,
+    PRIMARY KEY (id, ano)
+) PARTITION BY RANGE (ano);
+
+-- Recebe os anos que ainda não têm partição própria, para que nenhuma gravação falhe
+CREATE TABLE financas.lancamento_padrao PARTITION OF financas.lancamento DEFAULT;
+
+-- Ano final (exclusivo) da partição de arquivo, ou NULL enquanto ela não existir
+CREATE FUNCTION financas.limite_arquivo_lancamento() RETURNS INTEGER AS $$
+    SELECT (regexp_match(pg_get_expr(c.relpartbound, c.oid), 'TO \((-?\d+)\)'))[1]::INTEGER
+      FROM pg_class c
+     WHERE c.oid = to_regclass('financas.lancamento_arquivo');
+$$ LANGUAGE sql STABLE;
+
+-- Cria a partição do ano, trazendo da partição padrão as linhas que já estiverem lá.
+-- Devolve falso quando o ano já tem partição ou está coberto pelo arquivo.
+CREATE FUNCTION financas.criar_particao_lancamento(p_ano INTEGER) RETURNS BOOLEAN AS $$
+DECLARE
+    v_particao TEXT := 'lancamento_' || p_ano;
+BEGIN
+    -- serializa a manutenção entre instâncias da aplicação
+    PERFORM pg_advisory_xact_lock(hashtext('financas.lancamento'));
+
+    IF to_regclass('financas.' || v_particao) IS NOT NULL
+            OR p_ano < COALESCE(financas.limite_arquivo_lancamento(), p_ano) THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE financas.%I (LIKE financas.lancamento INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+            v_particao);
+    EXECUTE format('WITH movidos AS (DELETE FROM financas.lancamento_padrao WHERE ano = %s RETURNING *) '
+            'INSERT INTO financas.%I SELECT * FROM movidos', p_ano, v_particao);
+    EXECUTE format('ALTER TABLE financas.lancamento ATTACH PARTITION financas.%I FOR VALUES FROM (%s) TO (%s)',
+            v_particao, p_ano, p_ano + 1);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Junta os anos anteriores a p_ano_limite numa única partição de arquivo, reduzindo o
+-- número de partições e de índices a manter. Devolve quantas partições anuais foram
+-- incorporadas. O PostgreSQL não comprime tabelas comuns; o arquivo pode ser levado
+-- para um tablespace em armazenamento comprimido com ALTER TABLE ... SET TABLESPACE.
+CREATE FUNCTION financas.arquivar_lancamentos(p_ano_limite INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    v_limite_atual INTEGER;
+    v_particao TEXT;
+    v_incorporadas INTEGER := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('financas.lancamento'));
+
+    v_limite_atual := financas.limite_arquivo_lancamento();
+    IF v_limite_atual >= p_ano_limite THEN
+        RETURN 0;
+    END IF;
+
+    IF v_limite_atual IS NULL THEN
+        CREATE TABLE financas.lancamento_arquivo
+            (LIKE financas.lancamento INCLUDING DEFAULTS INCLUDING CONSTRAINTS);
+    ELSE
+        ALTER TABLE financas.lancamento DETACH PARTITION financas.lancamento_arquivo;
+    END IF;
+
+    FOR v_particao IN
+        SELECT c.relname
+          FROM pg_inherits i
+          JOIN pg_class c ON c.oid = i.inhrelid
+         WHERE i.inhparent = 'financas.lancamento'::regclass
+           AND c.relname ~ '^lancamento_\d+$'
+           AND substring(c.relname FROM '\d+$')::INTEGER < p_ano_limite
+    LOOP
+        EXECUTE format('INSERT INTO financas.lancamento_arquivo SELECT * FROM financas.%I', v_particao);
+        EXECUTE format('DROP TABLE financas.%I', v_particao);
+        v_incorporadas := v_incorporadas + 1;
+    END LOOP;
+
+    WITH movidos AS (DELETE FROM financas.lancamento_padrao WHERE ano < p_ano_limite RETURNING *)
+    INSERT INTO financas.lancamento_arquivo SELECT * FROM movidos;
+
+    EXECUTE format('ALTER TABLE financas.lancamento ATTACH PARTITION financas.lancamento_arquivo '
+            'FOR VALUES FROM (MINVALUE) TO (%s)', p_ano_limite);
+    RETURN v_incorporadas;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Uma partição por ano já gravado, mais o ano corrente e o seguinte
+SELECT financas.criar_particao_lancamento(anos.ano)
+  FROM (SELECT DISTINCT ano FROM financas.lancamento_nao_particionada
+         UNION
+        SELECT EXTRACT(YEAR FROM CURRENT_DATE)::INTEGER + deslocamento FROM generate_series(0, 1) deslocamento) anos;
+
+INSERT INTO financas.lancamento (id, descricao, mes, ano, valor, tipo, status, id_usuario, data_cadastro, versao)
+SELECT id, descricao, mes, ano, valor, tipo, status, id_usuario, data_cadastro, versao
+  FROM financas.lancamento_nao_particionada;
+
+DROP TABLE financas.lancamento_nao_particionada;
+ALTER SEQUENCE financas.lancamento_id_seq OWNED BY financas.lancamento.id;
+
+-- Índices das migrações V8 e V9, agora declarados na tabela particionada e
+-- replicados pelo PostgreSQL em cada partição, inclusive nas criadas depois
+CREATE INDEX idx_lancamento_usuario_ano_mes
+    ON financas.lancamento (id_usuario, ano, mes, id)
+    INCLUDE (descricao, valor, tipo, status, versao);
+
+CREATE INDEX idx_lancamento_usuario_tipo_status
+    ON financas.lancamento (id_usuario, tipo, status)
+    INCLUDE (valor);
+
+CREATE INDEX idx_lancamento_efetivado
+    ON financas.lancamento (id_usuario, tipo)
+    INCLUDE (valor)
+    WHERE status = 'EFETIVADO';
+
+CREATE INDEX idx_lancamento_descricao_trgm
+    ON financas.lancamento USING gin (descricao gin_trgm_ops);
+
+ANALYZE financas.lancamento;
@@ -0,0 +1,3 @@
+-- Posiciona a sequência após o maior id já gravado. Com o otimizador pooled o valor lido
+-- é o topo de um bloco de 50, então o próximo nextval (MAX + 100) entrega MAX + 51 em diante.
+SELECT setval('financas.lancamento_id_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM financas.lancamento), true);
@@ -0,0 +1,16 @@
+-- Listagens e exportação: filtram por usuário, ano e mês e ordenam por ano, mês e id.
+-- As colunas incluídas cobrem a projeção LancamentoResumo, permitindo index-only scan.
+CREATE INDEX IF NOT EXISTS idx_lancamento_usuario_ano_mes
+    ON financas.lancamento (id_usuario, ano, mes, id)
+    INCLUDE (descricao, valor, tipo, status, versao);
+
+-- Totais por tipo e status usados na verificação e no recálculo dos saldos
+CREATE INDEX IF NOT EXISTS idx_lancamento_usuario_tipo_status
+    ON financas.lancamento (id_usuario, tipo, status)
+    INCLUDE (valor);
+
+-- Saldo efetivado, a consulta mais frequente sobre valores: só as linhas que entram nele
+CREATE INDEX IF NOT EXISTS idx_lancamento_efetivado
+    ON financas.lancamento (id_usuario, tipo)
+    INCLUDE (valor)
+    WHERE status = 'EFETIVADO';
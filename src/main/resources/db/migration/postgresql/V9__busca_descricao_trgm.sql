@@ -0,0 +1,5 @@
+-- Índice trigram usado por LancamentoRepository.buscarIdsPorSimilaridadeDaDescricao
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_lancamento_descricao_trgm
+    ON financas.lancamento USING gin (descricao gin_trgm_ops);
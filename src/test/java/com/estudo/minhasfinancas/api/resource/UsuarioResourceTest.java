@@ -1,5 +1,11 @@
 package com.estudo.minhasfinancas.api.resource;
 
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
@@ -16,11 +22,18 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import com.estudo.minhasfinancas.api.dto.UsuarioDTO;
+import com.estudo.minhasfinancas.api.seguranca.TokenAutenticacaoFilter;
 import com.estudo.minhasfinancas.exception.ErroAutenticacao;
 import com.estudo.minhasfinancas.exception.RegraNegocioException;
 import com.estudo.minhasfinancas.model.entity.Usuario;
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+import com.estudo.minhasfinancas.service.JwtService;
 import com.estudo.minhasfinancas.service.LancamentoService;
+import com.estudo.minhasfinancas.service.RelatorioService;
 import com.estudo.minhasfinancas.service.UsuarioService;
+import com.estudo.minhasfinancas.service.relatorio.Relatorio;
+import com.estudo.minhasfinancas.service.relatorio.TotalPeriodo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @ExtendWith(SpringExtension.class)
@@ -41,6 +54,12 @@ public class UsuarioResourceTest {
 	@MockBean
 	LancamentoService lancamentoService;
 	
+	@MockBean
+	RelatorioService relatorioService;
+	
+	@MockBean
+	JwtService jwtService;
+	
 	@Test
 	public void deveAutenticarUmUsuario() throws Exception {
 		String email = "usuario@email.com";
@@ -50,6 +69,7 @@ public class UsuarioResourceTest {
 		Usuario usuario = Usuario.builder().id(1l).email(email).senha(senha).build();
 		
 		Mockito.when(service.autenticar(email, senha)).thenReturn(usuario);
+		Mockito.when(jwtService.gerarToken(usuario)).thenReturn("token");
 		
 		String json = new ObjectMapper().writeValueAsString(dto);
 		
@@ -64,7 +84,8 @@ public class UsuarioResourceTest {
 		.andExpect(MockMvcResultMatchers.status().isOk())
 		.andExpect(MockMvcResultMatchers.jsonPath("id").value(usuario.getId()))
 		.andExpect(MockMvcResultMatchers.jsonPath("nome").value(usuario.getNome()))
-		.andExpect(MockMvcResultMatchers.jsonPath("email").value(usuario.getEmail()));
+		.andExpect(MockMvcResultMatchers.jsonPath("email").value(usuario.getEmail()))
+		.andExpect(MockMvcResultMatchers.jsonPath("token").value("token"));
 		
 	}
 	
@@ -137,4 +158,68 @@ public class UsuarioResourceTest {
 		.perform(request)
 		.andExpect(MockMvcResultMatchers.status().isBadRequest());		
 	}
+	
+	@Test
+	public void deveObterORelatorioMensalDoUsuario() throws Exception {
+		Usuario usuario = Usuario.builder().id(1l).build();
+		TotalPeriodo janeiro = new TotalPeriodo(2020, 1);
+		janeiro.somar(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(100), 1l);
+		Relatorio relatorio = new Relatorio(1l, 2020, Collections.singletonList(janeiro), janeiro);
+		
+		Mockito.when(service.obterPorId(1l)).thenReturn(Optional.of(usuario));
+		Mockito.when(relatorioService.obterRelatorioMensal(1l, 2020)).thenReturn(relatorio);
+		
+		mvc
+		.perform(MockMvcRequestBuilders.get(API.concat("/1/relatorio")).param("ano", "2020")
+				.requestAttr(TokenAutenticacaoFilter.USUARIO, 1l).accept(JSON))
+		.andExpect(MockMvcResultMatchers.status().isOk())
+		.andExpect(MockMvcResultMatchers.jsonPath("ano").value(2020))
+		.andExpect(MockMvcResultMatchers.jsonPath("periodos[0].mes").value(1))
+		.andExpect(MockMvcResultMatchers.jsonPath("periodos[0].receitas").value(100))
+		.andExpect(MockMvcResultMatchers.jsonPath("periodos[0].saldo").value(100));
+	}
+	
+	@Test
+	public void naoDeveObterORelatorioDeOutroUsuario() throws Exception {
+		mvc
+		.perform(MockMvcRequestBuilders.get(API.concat("/2/relatorio"))
+				.requestAttr(TokenAutenticacaoFilter.USUARIO, 1l).accept(JSON))
+		.andExpect(MockMvcResultMatchers.status().isForbidden());
+		
+		Mockito.verify(service, Mockito.never()).obterPorId(Mockito.anyLong());
+		Mockito.verifyNoInteractions(relatorioService);
+	}
+	
+	@Test
+	public void deveObterSomenteOsRelatoriosVisiveisAoUsuario() throws Exception {
+		TotalPeriodo total = new TotalPeriodo(null, null, 1234, 0, 1234, 1);
+		Mockito.when(relatorioService.obterRelatorios(Collections.singletonList(1l), null)).thenReturn(
+				Collections.singletonList(new Relatorio(1l, null, Collections.singletonList(total), total)));
+		
+		mvc
+		.perform(MockMvcRequestBuilders.get(API.concat("/relatorios")).param("ids", "2,1,1")
+				.requestAttr(TokenAutenticacaoFilter.USUARIO, 1l).accept(JSON))
+		.andExpect(MockMvcResultMatchers.status().isOk())
+		.andExpect(MockMvcResultMatchers.jsonPath("length()").value(1))
+		.andExpect(MockMvcResultMatchers.jsonPath("[0].usuario").value(1))
+		.andExpect(MockMvcResultMatchers.jsonPath("[0].total.saldo").value(12.34));
+		
+		mvc
+		.perform(MockMvcRequestBuilders.get(API.concat("/relatorios")).param("ids", "2,3")
+				.requestAttr(TokenAutenticacaoFilter.USUARIO, 1l).accept(JSON))
+		.andExpect(MockMvcResultMatchers.status().isOk())
+		.andExpect(MockMvcResultMatchers.jsonPath("length()").value(0));
+	}
+	
+	@Test
+	public void deveRecusarOsRelatoriosComIdsDemais() throws Exception {
+		String ids = LongStream.rangeClosed(1, 101).mapToObj(String::valueOf).collect(Collectors.joining(","));
+		
+		mvc
+		.perform(MockMvcRequestBuilders.get(API.concat("/relatorios")).param("ids", ids)
+				.requestAttr(TokenAutenticacaoFilter.USUARIO, 1l).accept(JSON))
+		.andExpect(MockMvcResultMatchers.status().isBadRequest());
+		
+		Mockito.verifyNoInteractions(relatorioService);
+	}
 }
@@ -0,0 +1,160 @@
+package com.estudo.minhasfinancas.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.estudo.minhasfinancas.model.dinheiro.Dinheiro;
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+import com.estudo.minhasfinancas.model.repository.projection.TotalLancamentosUsuario;
+import com.estudo.minhasfinancas.service.relatorio.AcumuladorTotais;
+import com.estudo.minhasfinancas.service.relatorio.TotalPeriodo;
+
+/**
+ * Redução dos totais de vários usuários, como no relatório em lote, conforme o número de
+ * threads do fork/join, comparada à soma sequencial em um TotalPeriodo por usuário e ano.
+ * Com uma thread a redução é sequencial; as demais rodam o stream paralelo em um
+ * ForkJoinPool do tamanho informado. O ganho depende dos núcleos da máquina.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class AgregacaoTotaisBenchmark {
+
+	private static final int USUARIOS = 1000;
+	private static final int ANOS = 10;
+
+	@Param({ "100000", "1000000" })
+	int linhas;
+
+	@Param({ "1", "2", "4", "8" })
+	int threads;
+
+	List<TotalLancamentosUsuario> totais;
+	ForkJoinPool pool;
+
+	@Setup
+	public void setUp() {
+		SplittableRandom aleatorio = new SplittableRandom(42);
+		totais = new ArrayList<>(linhas);
+		
+		for(int i = 0; i < linhas; i++) {
+			totais.add(new Total((long) aleatorio.nextInt(USUARIOS), 2015 + aleatorio.nextInt(ANOS),
+					TipoLancamento.values()[aleatorio.nextInt(TipoLancamento.values().length)],
+					StatusLancamento.values()[aleatorio.nextInt(StatusLancamento.values().length)],
+					Dinheiro.deCentavos(aleatorio.nextInt(1000000))));
+		}
+		pool = new ForkJoinPool(threads);
+	}
+
+	@TearDown
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public AcumuladorTotais reduzirEmCentavos() {
+		if(threads == 1) {
+			return totais.stream().collect(AcumuladorTotais.coletor(null));
+		}
+		return pool.submit(() -> totais.parallelStream().collect(AcumuladorTotais.coletor(null))).join();
+	}
+
+	/**
+	 * O que o obterRelatorioAnual faz para um usuário, repetido para todos: um TotalPeriodo
+	 * por ano e outro para o total.
+	 */
+	@Benchmark
+	public Map<Long, Map<Integer, TotalPeriodo>> somarPorTotalPeriodo() {
+		Map<Long, Map<Integer, TotalPeriodo>> porUsuario = new HashMap<>();
+		
+		for(TotalLancamentosUsuario total : totais) {
+			Map<Integer, TotalPeriodo> periodos = porUsuario.computeIfAbsent(total.getIdUsuario(), id -> new HashMap<>());
+			periodos.computeIfAbsent(total.getAno(), ano -> new TotalPeriodo(ano, null))
+					.somar(total.getTipo(), total.getStatus(), total.getValor().getCentavos(), total.getQuantidade());
+			periodos.computeIfAbsent(null, ano -> new TotalPeriodo(null, null))
+					.somar(total.getTipo(), total.getStatus(), total.getValor().getCentavos(), total.getQuantidade());
+		}
+		return porUsuario;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(AgregacaoTotaisBenchmark.class.getSimpleName()).build()).run();
+	}
+
+	private static class Total implements TotalLancamentosUsuario {
+
+		private final Long idUsuario;
+		private final Integer ano;
+		private final TipoLancamento tipo;
+		private final StatusLancamento status;
+		private final Dinheiro valor;
+
+		Total(Long idUsuario, Integer ano, TipoLancamento tipo, StatusLancamento status, Dinheiro valor) {
+			this.idUsuario = idUsuario;
+			this.ano = ano;
+			this.tipo = tipo;
+			this.status = status;
+			this.valor = valor;
+		}
+
+		@Override
+		public Long getIdUsuario() {
+			return idUsuario;
+		}
+
+		@Override
+		public Integer getAno() {
+			return ano;
+		}
+
+		@Override
+		public Integer getMes() {
+			return null;
+		}
+
+		@Override
+		public TipoLancamento getTipo() {
+			return tipo;
+		}
+
+		@Override
+		public StatusLancamento getStatus() {
+			return status;
+		}
+
+		@Override
+		public Dinheiro getValor() {
+			return valor;
+		}
+
+		@Override
+		public Long getQuantidade() {
+			return 1l;
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.estudo.minhasfinancas.benchmark;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.estudo.minhasfinancas.model.entity.Usuario;
+import com.estudo.minhasfinancas.model.repository.UsuarioRepository;
+import com.estudo.minhasfinancas.service.impl.FiltroEmailServiceImpl;
+import com.estudo.minhasfinancas.service.impl.SenhaServiceImpl;
+import com.estudo.minhasfinancas.service.impl.UsuarioServiceImpl;
+
+/**
+ * Vazão de logins por custo do BCrypt, com mais requisições simultâneas que threads de
+ * verificação, como numa rajada. O repositório é simulado para medir só a verificação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(16)
+public class AutenticacaoBenchmark {
+
+	private static final String EMAIL = "usuario@email.com";
+	private static final String SENHA = "senha";
+
+	@Param({ "4", "8", "10", "12" })
+	int custo;
+	
+	SenhaServiceImpl senhaService;
+	UsuarioServiceImpl usuarioService;
+	
+	@Setup
+	public void setUp() {
+		senhaService = new SenhaServiceImpl(custo, 0, 1024, 60000);
+		Usuario usuario = Usuario.builder().id(1l).email(EMAIL).senha(senhaService.codificar(SENHA)).build();
+		
+		UsuarioRepository repository = Mockito.mock(UsuarioRepository.class);
+		Mockito.when(repository.findByEmail(EMAIL)).thenReturn(Optional.of(usuario));
+		usuarioService = new UsuarioServiceImpl(repository, senhaService, 
+				new FiltroEmailServiceImpl(repository, 1000, 0.01));
+	}
+	
+	@TearDown
+	public void encerrar() {
+		senhaService.encerrar();
+	}
+	
+	@Benchmark
+	public Usuario autenticar() {
+		return usuarioService.autenticar(EMAIL, SENHA);
+	}
+	
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(AutenticacaoBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,175 @@
+package com.estudo.minhasfinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.estudo.minhasfinancas.MinhasfinancasApplication;
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+import com.estudo.minhasfinancas.model.repository.projection.LancamentoResumo;
+import com.estudo.minhasfinancas.model.repository.specification.CursorLancamento;
+import com.estudo.minhasfinancas.model.repository.specification.FiltroLancamento;
+import com.estudo.minhasfinancas.service.LancamentoService;
+import com.estudo.minhasfinancas.service.RelatorioService;
+import com.estudo.minhasfinancas.service.SaldoUsuarioService;
+
+/**
+ * Consultas do serviço de lançamentos sobre a aplicação completa em um H2 em memória, com
+ * os lançamentos do usuário medido distribuídos por dez anos, ao lado de um segundo usuário
+ * com {@value #LINHAS_OUTRO_USUARIO} lançamentos. Os caches ficam desligados para que cada
+ * chamada chegue à base; a página do meio é buscada por deslocamento e por cursor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BuscaLancamentoBenchmark {
+
+	private static final int ANO_INICIAL = 2015;
+	private static final int ANOS = 10;
+	private static final int LINHAS_OUTRO_USUARIO = 10000;
+	private static final int TAMANHO_PAGINA = 50;
+	private static final int TAMANHO_LOTE = 5000;
+
+	@Param({ "1000", "10000", "100000", "1000000" })
+	int linhas;
+
+	ConfigurableApplicationContext contexto;
+	LancamentoService service;
+	Long idUsuario;
+	FiltroLancamento filtroUsuario;
+	FiltroLancamento filtroMes;
+	CursorLancamento cursorMeio;
+	int paginaMeio;
+
+	@Setup
+	public void setUp() {
+		contexto = new SpringApplicationBuilder(MinhasfinancasApplication.class)
+				.profiles("test")
+				.properties("spring.datasource.url=jdbc:h2:mem:benchmark_busca;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE",
+						"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+						"spring.jpa.properties.hibernate.cache.use_query_cache=false",
+						"minhasfinancas.cache.lancamentos=maximumSize=0",
+						"minhasfinancas.cache.saldos=maximumSize=0",
+						"minhasfinancas.saldo.verificacao.atraso-inicial=86400000",
+						"server.port=0",
+						"logging.level.root=WARN")
+				.run();
+		service = contexto.getBean(LancamentoService.class);
+
+		JdbcTemplate jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+		idUsuario = inserirUsuario(jdbcTemplate, "benchmark@email.com");
+		Long idOutroUsuario = inserirUsuario(jdbcTemplate, "outro@email.com");
+		inserirLancamentos(jdbcTemplate, idUsuario, 0, linhas);
+		inserirLancamentos(jdbcTemplate, idOutroUsuario, linhas, LINHAS_OUTRO_USUARIO);
+		jdbcTemplate.execute("analyze");
+
+		for(Long id : new Long[] { idUsuario, idOutroUsuario }) {
+			contexto.getBean(SaldoUsuarioService.class).recalcular(id);
+			contexto.getBean(RelatorioService.class).recalcular(id);
+		}
+
+		filtroUsuario = FiltroLancamento.builder().idUsuario(idUsuario).build();
+		filtroMes = FiltroLancamento.builder().idUsuario(idUsuario).ano(ANO_INICIAL).mes(1).build();
+		paginaMeio = linhas / TAMANHO_PAGINA / 2;
+		List<LancamentoResumo> anteriores = service.buscar(filtroUsuario, null, paginaMeio - 1, TAMANHO_PAGINA).getContent();
+		cursorMeio = CursorLancamento.de(anteriores.get(anteriores.size() - 1));
+	}
+
+	private Long inserirUsuario(JdbcTemplate jdbcTemplate, String email) {
+		jdbcTemplate.update("insert into financas.usuario (nome, email, senha) values ('benchmark', ?, 'senha')", email);
+		return jdbcTemplate.queryForObject("select id from financas.usuario where email = ?", Long.class, email);
+	}
+
+	/**
+	 * Lançamentos com ids a partir de {@code primeiro + 1}, cada mês de cada ano com a mesma
+	 * quantidade, metade receitas e um terço efetivados.
+	 */
+	private void inserirLancamentos(JdbcTemplate jdbcTemplate, Long usuario, int primeiro, int quantidade) {
+		Date dataCadastro = Date.valueOf(LocalDate.of(ANO_INICIAL, 1, 1));
+		List<Object[]> lote = new ArrayList<>(TAMANHO_LOTE);
+
+		for(int i = 0; i < quantidade; i++) {
+			lote.add(new Object[] { primeiro + i + 1L, "lancamento " + i, 1 + (i / ANOS) % 12, ANO_INICIAL + i % ANOS,
+					usuario, BigDecimal.valueOf(i % 10000 + 100, 2), dataCadastro,
+					(i % 2 == 0 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA).name(),
+					(i % 3 == 0 ? StatusLancamento.EFETIVADO : StatusLancamento.PENDENTE).name() });
+
+			if(lote.size() == TAMANHO_LOTE || i == quantidade - 1) {
+				jdbcTemplate.batchUpdate("insert into financas.lancamento (id, descricao, mes, ano, id_usuario, valor, "
+						+ "data_cadastro, tipo, status, versao) values (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", lote);
+				lote.clear();
+			}
+		}
+	}
+
+	@TearDown
+	public void encerrar() {
+		contexto.getBean(JdbcTemplate.class).execute("drop all objects");
+		contexto.close();
+	}
+
+	@Benchmark
+	public List<LancamentoResumo> buscarMes() {
+		return service.buscar(filtroMes);
+	}
+
+	/**
+	 * A mesma busca do buscarMes entregue linha a linha, como no /api/lancamentos/fluxo.
+	 */
+	@Benchmark
+	public void percorrerMes(Blackhole blackhole) {
+		service.percorrer(filtroMes, blackhole::consume);
+	}
+
+	@Benchmark
+	public Slice<LancamentoResumo> buscarPrimeiraPagina() {
+		return service.buscar(filtroUsuario, null, 0, TAMANHO_PAGINA);
+	}
+
+	@Benchmark
+	public Slice<LancamentoResumo> buscarPaginaDoMeioPorDeslocamento() {
+		return service.buscar(filtroUsuario, null, paginaMeio, TAMANHO_PAGINA);
+	}
+
+	@Benchmark
+	public Slice<LancamentoResumo> buscarPaginaDoMeioPorCursor() {
+		return service.buscar(filtroUsuario, cursorMeio, 0, TAMANHO_PAGINA);
+	}
+
+	@Benchmark
+	public BigDecimal obterSaldoPorUsuario() {
+		return service.obterSaldoPorUsuario(idUsuario);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(BuscaLancamentoBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,63 @@
+package com.estudo.minhasfinancas.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compara dois resultados em JSON do JMH, como os gerados pelo perfil benchmarks em
+ * commits diferentes: {@code ComparacaoBenchmarks anterior.json atual.json}. Imprime a
+ * variação de cada benchmark e parâmetros presentes nos dois e marca com * as diferenças
+ * maiores que a soma das margens de erro.
+ */
+public class ComparacaoBenchmarks {
+
+	public static void main(String[] args) throws IOException {
+		if(args.length != 2) {
+			System.err.println("Uso: ComparacaoBenchmarks <anterior.json> <atual.json>");
+			System.exit(1);
+		}
+
+		Map<String, JsonNode> anteriores = ler(new File(args[0]));
+		Map<String, JsonNode> atuais = ler(new File(args[1]));
+
+		System.out.printf("%-90s %14s %14s %9s%n", "benchmark", "anterior", "atual", "variação");
+		atuais.forEach((chave, atual) -> {
+			JsonNode anterior = anteriores.get(chave);
+			if(anterior == null) {
+				return;
+			}
+
+			double scoreAnterior = anterior.path("score").asDouble();
+			double scoreAtual = atual.path("score").asDouble();
+			double variacao = (scoreAtual - scoreAnterior) / scoreAnterior * 100;
+			boolean significativa = Math.abs(scoreAtual - scoreAnterior) 
+					> anterior.path("scoreError").asDouble() + atual.path("scoreError").asDouble();
+
+			System.out.printf("%-90s %14.3f %14.3f %+8.1f%% %s %s%n", chave, scoreAnterior, scoreAtual, variacao, 
+					atual.path("scoreUnit").asText(), significativa ? "*" : "");
+		});
+	}
+
+	/**
+	 * Métrica principal de cada execução, pelo nome do benchmark seguido dos parâmetros.
+	 */
+	private static Map<String, JsonNode> ler(File arquivo) throws IOException {
+		Map<String, JsonNode> resultados = new LinkedHashMap<>();
+
+		for(JsonNode execucao : new ObjectMapper().readTree(arquivo)) {
+			StringBuilder chave = new StringBuilder(execucao.path("benchmark").asText()
+					.replace(ComparacaoBenchmarks.class.getPackage().getName() + ".", ""));
+			execucao.path("params").fields()
+					.forEachRemaining(parametro -> chave.append(' ').append(parametro.getKey()).append('=')
+							.append(parametro.getValue().asText()));
+			resultados.put(chave.toString(), execucao.path("primaryMetric"));
+		}
+
+		return resultados;
+	}
+}
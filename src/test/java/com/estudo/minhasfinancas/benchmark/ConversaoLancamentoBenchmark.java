@@ -0,0 +1,97 @@
+package com.estudo.minhasfinancas.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.ResponseEntity;
+
+import com.estudo.minhasfinancas.api.dto.LancamentoDTO;
+import com.estudo.minhasfinancas.api.resource.LancamentoResource;
+import com.estudo.minhasfinancas.model.entity.Usuario;
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+import com.estudo.minhasfinancas.model.repository.projection.LancamentoResumo;
+import com.estudo.minhasfinancas.service.LancamentoService;
+import com.estudo.minhasfinancas.service.UsuarioService;
+
+/**
+ * Conversões do {@link LancamentoResource}, chamadas pelos próprios endpoints com os
+ * serviços simulados: do DTO para a entidade e de volta no cadastro, e da fatia de
+ * resumos para a página com o próximo cursor na busca paginada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class ConversaoLancamentoBenchmark {
+
+	private static final Long USUARIO = 1l;
+	private static final int TAMANHO_PAGINA = 50;
+
+	LancamentoResource resource;
+	LancamentoDTO dto;
+
+	@Setup
+	public void setUp() {
+		List<LancamentoResumo> resumos = new ArrayList<>();
+		for(long id = TAMANHO_PAGINA; id > 0; id--) {
+			resumos.add(new LancamentoResumo(id, "lancamento " + id, 1, 2020, BigDecimal.TEN, USUARIO,
+					TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 0l));
+		}
+		Slice<LancamentoResumo> fatia = new SliceImpl<>(resumos, PageRequest.of(0, TAMANHO_PAGINA), true);
+		Usuario usuario = Usuario.builder().id(USUARIO).build();
+
+		LancamentoService service = simular(LancamentoService.class, (metodo, args) -> 
+				metodo.equals("salvar") ? args[0] : fatia);
+		UsuarioService usuarioService = simular(UsuarioService.class, (metodo, args) -> usuario);
+		resource = new LancamentoResource(service, usuarioService, null, null);
+		dto = LancamentoDTO.builder().descricao("salario").mes(1).ano(2020).valor(BigDecimal.TEN)
+				.tipo(TipoLancamento.RECEITA.name()).status(StatusLancamento.PENDENTE.name()).build();
+	}
+
+	/**
+	 * Proxy que devolve o valor pronto para qualquer método, mais barato que um mock do
+	 * Mockito, cujo tempo de resposta dominaria a medição.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T simular(Class<T> tipo, BiFunction<String, Object[], Object> resposta) {
+		return (T) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[] { tipo },
+				(proxy, metodo, args) -> resposta.apply(metodo.getName(), args));
+	}
+
+	@Benchmark
+	public ResponseEntity converterCadastro() {
+		return resource.salvar(USUARIO, dto);
+	}
+
+	@Benchmark
+	public ResponseEntity converterPagina() {
+		return resource.buscar(null, null, null, null, null, null, USUARIO, null, TAMANHO_PAGINA, null);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ConversaoLancamentoBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,155 @@
+package com.estudo.minhasfinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Consultas por ano na tabela de lançamentos particionada por ano, como na migração V10,
+ * e numa tabela comum com os mesmos índices. A leitura pelo id, sem o ano, mede o custo
+ * de consultar o índice de cada partição, que cresce com o número de anos. Precisa de um PostgreSQL 11 ou superior em
+ * -Dminhasfinancas.benchmark.url (com .usuario e .senha); as tabelas são criadas no
+ * schema benchmark_particionamento e removidas ao final.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class ParticionamentoBenchmark {
+
+	private static final int ANO_INICIAL = 2011;
+	private static final int USUARIOS = 1000;
+
+	@Param({ "false", "true" })
+	boolean particionada;
+
+	@Param({ "2000000" })
+	int linhas;
+
+	@Param({ "10", "40" })
+	int anos;
+
+	Connection conexao;
+	PreparedStatement totalDoAno;
+	PreparedStatement listagemDoAno;
+	PreparedStatement lancamentoPorId;
+	SplittableRandom aleatorio = new SplittableRandom(42);
+	int consulta;
+
+	@Setup
+	public void setUp() throws SQLException {
+		conexao = DriverManager.getConnection(System.getProperty("minhasfinancas.benchmark.url"),
+				System.getProperty("minhasfinancas.benchmark.usuario", "postgres"),
+				System.getProperty("minhasfinancas.benchmark.senha", ""));
+
+		try (Statement statement = conexao.createStatement()) {
+			statement.execute("drop schema if exists benchmark_particionamento cascade");
+			statement.execute("create schema benchmark_particionamento");
+			statement.execute("create table benchmark_particionamento.lancamento (id bigint not null, "
+					+ "descricao varchar(100) not null, mes integer not null, ano integer not null, "
+					+ "valor numeric(16, 2) not null, tipo varchar(20) not null, status varchar(20) not null, "
+					+ "id_usuario bigint, versao bigint not null default 0, primary key (id, ano))"
+					+ (particionada ? " partition by range (ano)" : ""));
+
+			if(particionada) {
+				for(int ano = ANO_INICIAL; ano < ANO_INICIAL + anos; ano++) {
+					statement.execute("create table benchmark_particionamento.lancamento_" + ano
+							+ " partition of benchmark_particionamento.lancamento for values from (" + ano
+							+ ") to (" + (ano + 1) + ")");
+				}
+			}
+
+			statement.execute("insert into benchmark_particionamento.lancamento "
+					+ "(id, descricao, mes, ano, valor, tipo, status, id_usuario) "
+					+ "select g, 'lancamento ' || g, 1 + g % 12, " + ANO_INICIAL + " + g / " + USUARIOS + " % " + anos + ", "
+					+ "(g % 1000) + 0.5, case when g % 2 = 0 then 'RECEITA' else 'DESPESA' end, "
+					+ "case when g % 3 = 0 then 'EFETIVADO' else 'PENDENTE' end, 1 + g % " + USUARIOS + " "
+					+ "from generate_series(1, " + linhas + ") g");
+			statement.execute("create index on benchmark_particionamento.lancamento (id_usuario, ano, mes, id) "
+					+ "include (descricao, valor, tipo, status, versao)");
+			statement.execute("vacuum analyze benchmark_particionamento.lancamento");
+		}
+
+		totalDoAno = conexao.prepareStatement("select sum(valor) from benchmark_particionamento.lancamento "
+				+ "where ano = ? and status = 'EFETIVADO'");
+		listagemDoAno = conexao.prepareStatement("select id, descricao, mes, ano, valor, tipo, status, versao "
+				+ "from benchmark_particionamento.lancamento where id_usuario = ? and ano = ? "
+				+ "order by ano desc, mes desc, id desc");
+		lancamentoPorId = conexao.prepareStatement("select id, descricao, mes, ano, valor, tipo, status, versao "
+				+ "from benchmark_particionamento.lancamento where id = ?");
+	}
+
+	@TearDown
+	public void encerrar() throws SQLException {
+		try (Statement statement = conexao.createStatement()) {
+			statement.execute("drop schema benchmark_particionamento cascade");
+		}
+		conexao.close();
+	}
+
+	@Benchmark
+	public BigDecimal totalDoAno() throws SQLException {
+		totalDoAno.setInt(1, ANO_INICIAL + consulta++ % anos);
+		try (ResultSet resultado = totalDoAno.executeQuery()) {
+			resultado.next();
+			return resultado.getBigDecimal(1);
+		}
+	}
+
+	@Benchmark
+	public int listagemDoAno() throws SQLException {
+		consulta++;
+		listagemDoAno.setLong(1, 1 + consulta % USUARIOS);
+		listagemDoAno.setInt(2, ANO_INICIAL + consulta % anos);
+		int quantidade = 0;
+		try (ResultSet resultado = listagemDoAno.executeQuery()) {
+			while(resultado.next()) {
+				quantidade++;
+			}
+		}
+		return quantidade;
+	}
+
+	/**
+	 * Como o findById, o UPDATE e o DELETE do Hibernate, que só conhecem o id.
+	 */
+	@Benchmark
+	public boolean lancamentoPorId() throws SQLException {
+		lancamentoPorId.setLong(1, 1 + aleatorio.nextInt(linhas));
+		try (ResultSet resultado = lancamentoPorId.executeQuery()) {
+			return resultado.next();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ParticionamentoBenchmark.class.getSimpleName())
+				.jvmArgsAppend("-Dminhasfinancas.benchmark.url=" + System.getProperty("minhasfinancas.benchmark.url"),
+						"-Dminhasfinancas.benchmark.usuario=" + System.getProperty("minhasfinancas.benchmark.usuario", "postgres"),
+						"-Dminhasfinancas.benchmark.senha=" + System.getProperty("minhasfinancas.benchmark.senha", ""))
+				.build()).run();
+	}
+}
@@ -0,0 +1,133 @@
+package com.estudo.minhasfinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Vazão da consulta de saldo conforme o tamanho do pool, com mais requisições simultâneas
+ * que conexões. Usa um H2 em memória, ou a base informada em -Dminhasfinancas.benchmark.url
+ * (com .usuario e .senha), onde cria e remove a tabela benchmark_pool_lancamento. Ao fim
+ * de cada tamanho imprime a espera média e máxima por uma conexão.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(64)
+public class PoolConexoesBenchmark {
+
+	private static final String URL_PADRAO = "jdbc:h2:mem:benchmark_pool;DB_CLOSE_DELAY=-1";
+	private static final int USUARIOS = 1000;
+	private static final int LANCAMENTOS_POR_USUARIO = 100;
+
+	@Param({ "1", "2", "4", "8", "16", "32", "64" })
+	int tamanhoPool;
+
+	HikariDataSource dataSource;
+	SimpleMeterRegistry registry;
+
+	@Setup
+	public void setUp() throws SQLException {
+		registry = new SimpleMeterRegistry();
+		dataSource = new HikariDataSource();
+		dataSource.setJdbcUrl(System.getProperty("minhasfinancas.benchmark.url", URL_PADRAO));
+		dataSource.setUsername(System.getProperty("minhasfinancas.benchmark.usuario", "sa"));
+		dataSource.setPassword(System.getProperty("minhasfinancas.benchmark.senha", ""));
+		dataSource.setMaximumPoolSize(tamanhoPool);
+		dataSource.setConnectionTimeout(60000);
+		dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+
+		try (Connection conexao = dataSource.getConnection(); Statement statement = conexao.createStatement()) {
+			statement.execute("drop table if exists benchmark_pool_lancamento");
+			statement.execute("create table benchmark_pool_lancamento (id bigint primary key, id_usuario bigint, "
+					+ "tipo varchar(20), status varchar(20), valor numeric(16, 2))");
+
+			try (PreparedStatement insert = conexao.prepareStatement(
+					"insert into benchmark_pool_lancamento values (?, ?, ?, ?, ?)")) {
+				for(int id = 0; id < USUARIOS * LANCAMENTOS_POR_USUARIO; id++) {
+					insert.setLong(1, id);
+					insert.setLong(2, id % USUARIOS);
+					insert.setString(3, id % 2 == 0 ? "RECEITA" : "DESPESA");
+					insert.setString(4, id % 3 == 0 ? "EFETIVADO" : "PENDENTE");
+					insert.setBigDecimal(5, BigDecimal.valueOf(id % 1000, 2));
+					insert.addBatch();
+					if(id % 1000 == 999) {
+						insert.executeBatch();
+					}
+				}
+			}
+
+			statement.execute("create index idx_benchmark_pool on benchmark_pool_lancamento "
+					+ "(id_usuario, tipo, status, valor)");
+		}
+	}
+
+	@TearDown
+	public void encerrar() throws SQLException {
+		Timer espera = registry.get("hikaricp.connections.acquire").timer();
+		System.out.printf("%npool %d: espera média %.3f ms, máxima %.1f ms, %.0f expiradas%n", tamanhoPool,
+				espera.mean(TimeUnit.MILLISECONDS), espera.max(TimeUnit.MILLISECONDS), 
+				registry.get("hikaricp.connections.timeout").counter().count());
+
+		try (Connection conexao = dataSource.getConnection(); Statement statement = conexao.createStatement()) {
+			statement.execute("drop table benchmark_pool_lancamento");
+		}
+		dataSource.close();
+	}
+
+	@Benchmark
+	public BigDecimal obterSaldo() throws SQLException {
+		try (Connection conexao = dataSource.getConnection();
+				PreparedStatement consulta = conexao.prepareStatement("select sum(valor) from benchmark_pool_lancamento "
+						+ "where id_usuario = ? and tipo = 'RECEITA' and status = 'EFETIVADO'")) {
+			consulta.setLong(1, ThreadLocalRandom.current().nextInt(USUARIOS));
+			try (ResultSet resultado = consulta.executeQuery()) {
+				resultado.next();
+				return resultado.getBigDecimal(1);
+			}
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		OptionsBuilder opcoes = new OptionsBuilder();
+		opcoes.include(PoolConexoesBenchmark.class.getSimpleName());
+		for(String propriedade : new String[] { "url", "usuario", "senha" }) {
+			String valor = System.getProperty("minhasfinancas.benchmark." + propriedade);
+			if(valor != null) {
+				opcoes.jvmArgsAppend("-Dminhasfinancas.benchmark." + propriedade + "=" + valor);
+			}
+		}
+		new Runner(opcoes.build()).run();
+	}
+}
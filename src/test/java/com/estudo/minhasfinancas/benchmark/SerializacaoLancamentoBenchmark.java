@@ -0,0 +1,90 @@
+package com.estudo.minhasfinancas.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.estudo.minhasfinancas.api.dto.LancamentoDTO;
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+import com.estudo.minhasfinancas.model.repository.projection.LancamentoResumo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serialização pelo Jackson, com a configuração padrão do Spring, das listas de
+ * lançamentos que a API devolve: os resumos da busca e os DTOs do cadastro e da
+ * atualização. A saída vai para um buffer reaproveitado entre as chamadas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class SerializacaoLancamentoBenchmark {
+
+	@Param({ "10", "100", "1000", "10000" })
+	int quantidade;
+
+	ObjectMapper objectMapper;
+	ByteArrayOutputStream saida;
+	List<LancamentoResumo> resumos;
+	List<LancamentoDTO> dtos;
+
+	@Setup
+	public void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		saida = new ByteArrayOutputStream(quantidade * 256);
+		resumos = new ArrayList<>(quantidade);
+		dtos = new ArrayList<>(quantidade);
+
+		for(long id = 1; id <= quantidade; id++) {
+			LancamentoResumo resumo = new LancamentoResumo(id, "lancamento " + id, (int) (id % 12 + 1), 2020,
+					BigDecimal.valueOf(id * 100 + 99, 2), 1l, 
+					id % 2 == 0 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 0l);
+			resumos.add(resumo);
+			dtos.add(LancamentoDTO.builder().id(resumo.getId()).descricao(resumo.getDescricao()).mes(resumo.getMes())
+					.ano(resumo.getAno()).valor(resumo.getValor()).usuario(resumo.getUsuario())
+					.tipo(resumo.getTipo().name()).status(resumo.getStatus().name()).versao(resumo.getVersao()).build());
+		}
+	}
+
+	@Benchmark
+	public int serializarResumos() throws IOException {
+		return serializar(resumos);
+	}
+
+	@Benchmark
+	public int serializarDtos() throws IOException {
+		return serializar(dtos);
+	}
+
+	private int serializar(Object valor) throws IOException {
+		saida.reset();
+		objectMapper.writeValue(saida, valor);
+		return saida.size();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(SerializacaoLancamentoBenchmark.class.getSimpleName()).build()).run();
+	}
+}
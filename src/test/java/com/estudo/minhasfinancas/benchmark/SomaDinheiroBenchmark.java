@@ -0,0 +1,122 @@
+package com.estudo.minhasfinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.estudo.minhasfinancas.model.dinheiro.Dinheiro;
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+import com.estudo.minhasfinancas.service.relatorio.TotalPeriodo;
+
+/**
+ * Soma de valores monetários em BigDecimal, em {@link Dinheiro} e em centavos, e o custo
+ * de converter cada BigDecimal lido do banco. As alocações aparecem com o profiler de GC,
+ * em {@code -Dbenchmarks.argumentos="SomaDinheiroBenchmark -prof gc"}, na métrica
+ * {@code gc.alloc.rate.norm}, em bytes por chamada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class SomaDinheiroBenchmark {
+
+	@Param({ "1000000" })
+	int valores;
+
+	BigDecimal[] decimais;
+	Dinheiro[] dinheiros;
+	long[] centavos;
+	TipoLancamento[] tipos;
+
+	@Setup
+	public void setUp() {
+		SplittableRandom aleatorio = new SplittableRandom(42);
+		decimais = new BigDecimal[valores];
+		dinheiros = new Dinheiro[valores];
+		centavos = new long[valores];
+		tipos = new TipoLancamento[valores];
+
+		for(int i = 0; i < valores; i++) {
+			// Como lidos de uma coluna NUMERIC(16, 2): sempre com duas casas.
+			decimais[i] = BigDecimal.valueOf(aleatorio.nextInt(1000000), 2);
+			dinheiros[i] = Dinheiro.de(decimais[i]);
+			centavos[i] = dinheiros[i].getCentavos();
+			tipos[i] = aleatorio.nextBoolean() ? TipoLancamento.RECEITA : TipoLancamento.DESPESA;
+		}
+	}
+
+	@Benchmark
+	public BigDecimal somarBigDecimal() {
+		BigDecimal soma = BigDecimal.ZERO;
+		for(BigDecimal valor : decimais) {
+			soma = soma.add(valor);
+		}
+		return soma;
+	}
+
+	@Benchmark
+	public Dinheiro somarDinheiro() {
+		Dinheiro soma = Dinheiro.ZERO;
+		for(Dinheiro valor : dinheiros) {
+			soma = soma.somar(valor);
+		}
+		return soma;
+	}
+
+	@Benchmark
+	public long somarCentavos() {
+		long soma = 0;
+		for(long valor : centavos) {
+			soma = Math.addExact(soma, valor);
+		}
+		return soma;
+	}
+
+	/**
+	 * Somas em centavos a partir dos valores lidos do banco, a conversão incluída.
+	 */
+	@Benchmark
+	public long converterESomarCentavos() {
+		long soma = 0;
+		for(BigDecimal valor : decimais) {
+			soma = Math.addExact(soma, Dinheiro.centavos(valor));
+		}
+		return soma;
+	}
+
+	/**
+	 * Receitas, despesas e saldo efetivado como nos relatórios, a partir dos valores lidos.
+	 */
+	@Benchmark
+	public TotalPeriodo somarTotalPeriodo() {
+		TotalPeriodo total = new TotalPeriodo(null, null);
+		for(int i = 0; i < valores; i++) {
+			total.somar(tipos[i], StatusLancamento.EFETIVADO, decimais[i], 1l);
+		}
+		return total;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(SomaDinheiroBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class).build()).run();
+	}
+}
@@ -0,0 +1,73 @@
+package com.estudo.minhasfinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.estudo.minhasfinancas.exception.RegraNegocioException;
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+import com.estudo.minhasfinancas.model.entity.Usuario;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+import com.estudo.minhasfinancas.service.impl.LancamentoServiceImpl;
+
+/**
+ * Custo do {@link LancamentoServiceImpl#validar(Lancamento)} para um lançamento válido e
+ * para um reprovado só na última regra, que percorre todas as anteriores e lança a exceção.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class ValidacaoLancamentoBenchmark {
+
+	LancamentoServiceImpl service;
+	Lancamento valido;
+	Lancamento semTipo;
+
+	@Setup
+	public void setUp() {
+		service = new LancamentoServiceImpl(null, null, null, null, null);
+		valido = criarLancamento(TipoLancamento.RECEITA);
+		semTipo = criarLancamento(null);
+	}
+
+	private Lancamento criarLancamento(TipoLancamento tipo) {
+		return Lancamento.builder().descricao("salario").mes(1).ano(2020).usuario(Usuario.builder().id(1l).build())
+				.valor(BigDecimal.valueOf(1000)).tipo(tipo).build();
+	}
+
+	@Benchmark
+	public Lancamento validarLancamentoValido() {
+		service.validar(valido);
+		return valido;
+	}
+
+	@Benchmark
+	public RegraNegocioException validarLancamentoInvalido() {
+		try {
+			service.validar(semTipo);
+			return null;
+		} catch (RegraNegocioException e) {
+			return e;
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ValidacaoLancamentoBenchmark.class.getSimpleName()).build()).run();
+	}
+}
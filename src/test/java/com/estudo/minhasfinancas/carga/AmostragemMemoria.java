@@ -0,0 +1,102 @@
+package com.estudo.minhasfinancas.carga;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Amostra durante a medição o heap em uso, a memória residente do processo e as requisições
+ * em andamento, para estimar a memória ocupada por requisição em andamento. Servidor e
+ * clientes estão no mesmo processo, então o número só serve para comparar execuções com os
+ * mesmos clientes, como com e sem threads virtuais.
+ */
+class AmostragemMemoria {
+
+	private static final long INTERVALO_MS = 100;
+	private static final Path STATUS = Paths.get("/proc/self/status");
+	private static final double BYTES_POR_MB = 1024.0 * 1024.0;
+
+	private final AtomicInteger emAndamento;
+	private final MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+	private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+	private final ScheduledExecutorService amostragem = Executors.newSingleThreadScheduledExecutor();
+	private final LongAdder amostras = new LongAdder();
+	private final LongAdder somaHeap = new LongAdder();
+	private final LongAdder somaResidente = new LongAdder();
+	private final LongAdder somaEmAndamento = new LongAdder();
+	private final AtomicLong maximoEmAndamento = new AtomicLong();
+	private long heapInicial;
+	private long residenteInicial;
+
+	AmostragemMemoria(AtomicInteger emAndamento) {
+		this.emAndamento = emAndamento;
+	}
+
+	void iniciar() {
+		System.gc();
+		heapInicial = memoria.getHeapMemoryUsage().getUsed();
+		residenteInicial = residente();
+		threads.resetPeakThreadCount();
+		amostragem.scheduleAtFixedRate(this::amostrar, 0, INTERVALO_MS, TimeUnit.MILLISECONDS);
+	}
+
+	void encerrar() throws InterruptedException {
+		amostragem.shutdown();
+		amostragem.awaitTermination(1, TimeUnit.SECONDS);
+	}
+
+	private void amostrar() {
+		int atual = emAndamento.get();
+		amostras.increment();
+		somaHeap.add(memoria.getHeapMemoryUsage().getUsed());
+		somaResidente.add(residente());
+		somaEmAndamento.add(atual);
+		maximoEmAndamento.accumulateAndGet(atual, Math::max);
+	}
+
+	void relatar() {
+		long total = Math.max(amostras.sum(), 1);
+		double emAndamentoMedio = somaEmAndamento.sum() / (double) total;
+		long heapMedio = somaHeap.sum() / total;
+		long residenteMedio = somaResidente.sum() / total;
+		
+		System.out.printf("%nEm andamento: média %.0f, máximo %d; threads de plataforma: pico %d%n", 
+				emAndamentoMedio, maximoEmAndamento.get(), threads.getPeakThreadCount());
+		System.out.printf("Heap: %.1f MB antes, %.1f MB em média, %s por requisição em andamento%n", 
+				heapInicial / BYTES_POR_MB, heapMedio / BYTES_POR_MB, porRequisicao(heapMedio - heapInicial, emAndamentoMedio));
+		if(residenteInicial > 0) {
+			System.out.printf("Residente: %.1f MB antes, %.1f MB em média, %s por requisição em andamento%n", 
+					residenteInicial / BYTES_POR_MB, residenteMedio / BYTES_POR_MB, 
+					porRequisicao(residenteMedio - residenteInicial, emAndamentoMedio));
+		}
+	}
+
+	private String porRequisicao(long bytes, double emAndamentoMedio) {
+		return emAndamentoMedio < 1 ? "-" : String.format("%.1f KB", bytes / emAndamentoMedio / 1024);
+	}
+
+	/**
+	 * Memória residente do processo em bytes, lida do /proc no Linux; zero nos demais sistemas.
+	 */
+	private long residente() {
+		try {
+			return Files.readAllLines(STATUS).stream()
+					.filter(linha -> linha.startsWith("VmRSS:"))
+					.mapToLong(linha -> Long.parseLong(linha.replaceAll("\\D", "")) * 1024)
+					.findFirst()
+					.orElse(0);
+		} catch (IOException | UnsupportedOperationException e) {
+			return 0;
+		}
+	}
+}
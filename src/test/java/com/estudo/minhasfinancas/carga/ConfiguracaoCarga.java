@@ -0,0 +1,65 @@
+package com.estudo.minhasfinancas.carga;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import lombok.Data;
+
+/**
+ * Parâmetros do teste de carga, lidos das propriedades {@code carga.*}, que podem ser
+ * informadas na linha de comando como {@code --carga.rps=200}.
+ */
+@Data
+public class ConfiguracaoCarga {
+
+	/** Usuários criados antes da carga, cada um com seus lançamentos. */
+	private int usuarios = 100;
+	
+	/** Média de lançamentos por usuário, sorteados por uma distribuição exponencial. */
+	private int lancamentosPorUsuario = 200;
+	
+	private int anoInicial = 2016;
+	private int anoFinal = 2025;
+	private double proporcaoReceitas = 0.4;
+	private double proporcaoEfetivados = 0.6;
+	private double proporcaoCancelados = 0.05;
+	
+	/** Semente dos dados gerados e da sequência de requisições, para repetir a mesma carga. */
+	private long semente = 42;
+	
+	/** Requisições por segundo disparadas em intervalos fixos, mesmo que as anteriores atrasem. */
+	private int rps = 50;
+	
+	private Duration aquecimento = Duration.ofSeconds(10);
+	private Duration duracao = Duration.ofSeconds(60);
+	
+	/**
+	 * Clientes simultâneos, cada um enviando a próxima requisição ao receber a resposta da
+	 * anterior; quando informado, substitui a taxa fixa de {@link #rps}.
+	 */
+	private int clientes;
+	
+	/** Requisições simultâneas no máximo; as demais esperam e a espera entra na latência. */
+	private int conexoes = 32;
+	
+	/** Peso de cada operação na carga, no formato operacao:peso separado por vírgulas. */
+	private String mix = "busca:35,obter:15,saldo:15,relatorio:5,cadastro:10,atualizacao:8,status:6,exclusao:5,autenticacao:1";
+	
+	/** Diretório dos histogramas de cada operação, no formato de saída do HdrHistogram. */
+	private String saida = "target/carga";
+
+	public Map<Operacao, Integer> obterPesos() {
+		Map<Operacao, Integer> pesos = new EnumMap<>(Operacao.class);
+		
+		for(String item : mix.split(",")) {
+			String[] partes = item.trim().split(":");
+			if(partes.length != 2) {
+				throw new IllegalArgumentException("Item inválido em carga.mix: " + item);
+			}
+			pesos.put(Operacao.valueOf(partes[0].trim().toUpperCase()), Integer.valueOf(partes[1].trim()));
+		}
+		
+		return pesos;
+	}
+}
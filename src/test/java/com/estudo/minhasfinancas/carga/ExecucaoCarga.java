@@ -0,0 +1,359 @@
+package com.estudo.minhasfinancas.carga;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.estudo.minhasfinancas.api.dto.AtualizaStatusDTO;
+import com.estudo.minhasfinancas.api.dto.LancamentoDTO;
+import com.estudo.minhasfinancas.api.dto.UsuarioDTO;
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Dispara as requisições em intervalos fixos para manter a taxa configurada, sem esperar
+ * as anteriores, ou, com {@code carga.clientes}, mantém esse número de clientes simultâneos.
+ * No primeiro modo a latência é medida a partir do instante previsto para o disparo, e não
+ * do envio, para que a fila formada quando o servidor não acompanha a taxa apareça nos
+ * percentis em vez de reduzir a carga (a omissão coordenada). O sorteio das operações, dos
+ * usuários e dos parâmetros usa a semente configurada.
+ */
+public class ExecucaoCarga {
+
+	private static final long LATENCIA_MAXIMA_US = TimeUnit.MINUTES.toMicros(5);
+	private static final double MICROS_POR_MILI = 1000.0;
+	private static final long PILHA_CLIENTE = 256 * 1024;
+
+	private final ConfiguracaoCarga configuracao;
+	private final List<UsuarioCarga> usuarios;
+	private final String base;
+	private final RestTemplate restTemplate = new RestTemplate();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final Map<Operacao, Histogram> histogramas = new EnumMap<>(Operacao.class);
+	private final Map<Operacao, LongAdder> erros = new EnumMap<>(Operacao.class);
+	private final Queue<Cadastrado> cadastrados = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger emAndamento = new AtomicInteger();
+	private volatile boolean medindo;
+
+	public ExecucaoCarga(ConfiguracaoCarga configuracao, List<UsuarioCarga> usuarios, int porta) {
+		this.configuracao = configuracao;
+		this.usuarios = usuarios;
+		this.base = "http://localhost:" + porta;
+		
+		for(Operacao operacao : Operacao.values()) {
+			histogramas.put(operacao, new ConcurrentHistogram(LATENCIA_MAXIMA_US, 3));
+			erros.put(operacao, new LongAdder());
+		}
+		
+		restTemplate.setErrorHandler(new DefaultResponseErrorHandler() {
+			@Override
+			public boolean hasError(ClientHttpResponse response) {
+				return false;
+			}
+		});
+	}
+
+	public void executar() throws InterruptedException, IOException {
+		System.setProperty("http.maxConnections", String.valueOf(Math.max(configuracao.getConexoes(), configuracao.getClientes())));
+		Operacao[] sorteio = montarSorteio();
+		Random aleatorio = new Random(configuracao.getSemente());
+		File saida = new File(configuracao.getSaida());
+		saida.mkdirs();
+		AmostragemMemoria memoria = new AmostragemMemoria(emAndamento);
+		VerificacaoFixacao fixacao = new VerificacaoFixacao(saida);
+		
+		System.out.printf("Aquecimento de %ds com %s%n", configuracao.getAquecimento().getSeconds(), descreverCarga());
+		aplicar(sorteio, aleatorio, configuracao.getAquecimento());
+		
+		memoria.iniciar();
+		fixacao.iniciar();
+		medindo = true;
+		System.out.printf("Medição de %ds com %s%n", configuracao.getDuracao().getSeconds(), descreverCarga());
+		long inicio = System.nanoTime();
+		aplicar(sorteio, aleatorio, configuracao.getDuracao());
+		long duracao = System.nanoTime() - inicio;
+		memoria.encerrar();
+		
+		relatar(saida, duracao);
+		memoria.relatar();
+		fixacao.relatar();
+	}
+
+	private String descreverCarga() {
+		return configuracao.getClientes() > 0 
+				? configuracao.getClientes() + " clientes simultâneos" 
+				: configuracao.getRps() + " req/s";
+	}
+
+	private void aplicar(Operacao[] sorteio, Random aleatorio, Duration duracao) throws InterruptedException {
+		if(configuracao.getClientes() > 0) {
+			simularClientes(sorteio, aleatorio, duracao);
+			return;
+		}
+		
+		ExecutorService conexoes = Executors.newFixedThreadPool(configuracao.getConexoes());
+		disparar(conexoes, sorteio, aleatorio, duracao);
+		conexoes.shutdown();
+		if(!conexoes.awaitTermination(LATENCIA_MAXIMA_US, TimeUnit.MICROSECONDS)) {
+			conexoes.shutdownNow();
+		}
+	}
+
+	private Operacao[] montarSorteio() {
+		List<Operacao> sorteio = new ArrayList<>();
+		configuracao.obterPesos().forEach((operacao, peso) -> sorteio.addAll(Collections.nCopies(peso, operacao)));
+		
+		if(sorteio.isEmpty()) {
+			throw new IllegalArgumentException("Informe ao menos uma operação com peso em carga.mix.");
+		}
+		return sorteio.toArray(new Operacao[0]);
+	}
+
+	private void disparar(ExecutorService conexoes, Operacao[] sorteio, Random aleatorio, Duration duracao) {
+		long intervalo = TimeUnit.SECONDS.toNanos(1) / configuracao.getRps();
+		long total = duracao.toNanos() / intervalo;
+		long inicio = System.nanoTime();
+		
+		for(long i = 0; i < total; i++) {
+			long previsto = inicio + i * intervalo;
+			long espera;
+			while((espera = previsto - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(espera);
+			}
+			
+			Operacao operacao = sorteio[aleatorio.nextInt(sorteio.length)];
+			UsuarioCarga usuario = usuarios.get(aleatorio.nextInt(usuarios.size()));
+			long semente = aleatorio.nextLong();
+			boolean medir = medindo;
+			conexoes.execute(() -> executar(operacao, usuario, new SplittableRandom(semente), previsto, medir));
+		}
+	}
+
+	/**
+	 * Cada cliente envia a próxima requisição assim que recebe a resposta da anterior, com a
+	 * latência medida a partir do envio. Os clientes usam threads de plataforma com pilha
+	 * reduzida, iguais nos dois modos do servidor, para que só ele mude entre as execuções.
+	 */
+	private void simularClientes(Operacao[] sorteio, Random aleatorio, Duration duracao) throws InterruptedException {
+		long fim = System.nanoTime() + duracao.toNanos();
+		List<Thread> clientes = new ArrayList<>(configuracao.getClientes());
+		
+		for(int i = 0; i < configuracao.getClientes(); i++) {
+			SplittableRandom sorteioCliente = new SplittableRandom(aleatorio.nextLong());
+			boolean medir = medindo;
+			Thread cliente = new Thread(null, () -> {
+				while(System.nanoTime() < fim) {
+					Operacao operacao = sorteio[sorteioCliente.nextInt(sorteio.length)];
+					UsuarioCarga usuario = usuarios.get(sorteioCliente.nextInt(usuarios.size()));
+					executar(operacao, usuario, sorteioCliente.split(), System.nanoTime(), medir);
+				}
+			}, "cliente-carga-" + i, PILHA_CLIENTE);
+			cliente.setDaemon(true);
+			cliente.start();
+			clientes.add(cliente);
+		}
+		
+		for(Thread cliente : clientes) {
+			cliente.join();
+		}
+	}
+
+	private void executar(Operacao operacao, UsuarioCarga usuario, SplittableRandom aleatorio, long previsto, boolean medir) {
+		Operacao executada = operacao;
+		boolean sucesso;
+		
+		emAndamento.incrementAndGet();
+		try {
+			if(operacao == Operacao.EXCLUSAO && cadastrados.isEmpty()) {
+				executada = Operacao.CADASTRO;
+			}
+			sucesso = requisitar(executada, usuario, aleatorio);
+		} catch (RestClientException | IOException e) {
+			sucesso = false;
+		} finally {
+			emAndamento.decrementAndGet();
+		}
+		
+		if(medir) {
+			long latencia = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - previsto);
+			histogramas.get(executada).recordValue(Math.min(latencia, LATENCIA_MAXIMA_US));
+			if(!sucesso) {
+				erros.get(executada).increment();
+			}
+		}
+	}
+
+	private boolean requisitar(Operacao operacao, UsuarioCarga usuario, SplittableRandom aleatorio) throws IOException {
+		switch (operacao) {
+		case BUSCA:
+			return enviar(HttpMethod.GET, "/api/lancamentos?size=50&ano=" + sortearAno(aleatorio), usuario, null);
+		case LISTA:
+			return enviar(HttpMethod.GET, "/api/lancamentos?ano=" + sortearAno(aleatorio), usuario, null);
+		case FLUXO:
+			return enviar(HttpMethod.GET, "/api/lancamentos/fluxo?ano=" + sortearAno(aleatorio), usuario, null);
+		case OBTER:
+			return enviar(HttpMethod.GET, "/api/lancamentos/" + sortearLancamento(usuario, aleatorio), usuario, null);
+		case SALDO:
+			return enviar(HttpMethod.GET, "/api/usuarios/" + usuario.getId() + "/saldo", null, null);
+		case RELATORIO:
+			return enviar(HttpMethod.GET, "/api/usuarios/" + usuario.getId() + "/relatorio?ano=" + sortearAno(aleatorio), 
+					null, null);
+		case CADASTRO:
+			ResponseEntity<String> resposta = trocar(HttpMethod.POST, "/api/lancamentos", usuario, 
+					sortearLancamento(aleatorio, null));
+			if(!resposta.getStatusCode().is2xxSuccessful()) {
+				return false;
+			}
+			cadastrados.add(new Cadastrado(usuario, objectMapper.readTree(resposta.getBody()).path("id").asLong()));
+			return true;
+		case ATUALIZACAO:
+			return enviar(HttpMethod.PUT, "/api/lancamentos/" + sortearLancamento(usuario, aleatorio), usuario,
+					sortearLancamento(aleatorio, sortearStatus(aleatorio)));
+		case STATUS:
+			AtualizaStatusDTO status = new AtualizaStatusDTO();
+			status.setStatus(sortearStatus(aleatorio).name());
+			return enviar(HttpMethod.PUT, "/api/lancamentos/" + sortearLancamento(usuario, aleatorio) + "/atualiza-status", 
+					usuario, status);
+		case EXCLUSAO:
+			Cadastrado cadastrado = cadastrados.poll();
+			return cadastrado == null || enviar(HttpMethod.DELETE, "/api/lancamentos/" + cadastrado.id, cadastrado.usuario, null);
+		case AUTENTICACAO:
+			return enviar(HttpMethod.POST, "/api/usuarios/autenticar", null, 
+					UsuarioDTO.builder().email(usuario.getEmail()).senha(GeradorDados.SENHA).build());
+		default:
+			throw new IllegalArgumentException(operacao.name());
+		}
+	}
+
+	private boolean enviar(HttpMethod metodo, String caminho, UsuarioCarga usuario, Object corpo) throws IOException {
+		return trocar(metodo, caminho, usuario, corpo).getStatusCode().is2xxSuccessful();
+	}
+
+	private ResponseEntity<String> trocar(HttpMethod metodo, String caminho, UsuarioCarga usuario, Object corpo) 
+			throws IOException {
+		RequestEntity.BodyBuilder requisicao = RequestEntity.method(metodo, URI.create(base + caminho))
+				.accept(MediaType.APPLICATION_JSON);
+		if(usuario != null) {
+			requisicao.header(HttpHeaders.AUTHORIZATION, "Bearer " + usuario.getToken());
+		}
+		
+		RequestEntity<?> entidade = corpo == null 
+				? requisicao.build() 
+				: requisicao.contentType(MediaType.APPLICATION_JSON).body(objectMapper.writeValueAsString(corpo));
+		return restTemplate.exchange(entidade, String.class);
+	}
+
+	private int sortearAno(SplittableRandom aleatorio) {
+		return aleatorio.nextInt(configuracao.getAnoInicial(), configuracao.getAnoFinal() + 1);
+	}
+
+	/**
+	 * Um dos lançamentos gerados para o usuário; os cadastrados durante a carga ficam para
+	 * as exclusões, de modo que os gerados nunca desaparecem.
+	 */
+	private long sortearLancamento(UsuarioCarga usuario, SplittableRandom aleatorio) {
+		long[] lancamentos = usuario.getLancamentos();
+		return lancamentos[aleatorio.nextInt(lancamentos.length)];
+	}
+
+	private LancamentoDTO sortearLancamento(SplittableRandom aleatorio, StatusLancamento status) {
+		TipoLancamento tipo = aleatorio.nextDouble() < configuracao.getProporcaoReceitas() 
+				? TipoLancamento.RECEITA : TipoLancamento.DESPESA;
+		return LancamentoDTO.builder()
+				.descricao("carga " + aleatorio.nextInt(1000))
+				.ano(sortearAno(aleatorio))
+				.mes(aleatorio.nextInt(1, 13))
+				.valor(BigDecimal.valueOf(aleatorio.nextInt(100, 100000), 2))
+				.tipo(tipo.name())
+				.status(status == null ? null : status.name())
+				.build();
+	}
+
+	private StatusLancamento sortearStatus(SplittableRandom aleatorio) {
+		double sorteio = aleatorio.nextDouble();
+		if(sorteio < configuracao.getProporcaoEfetivados()) {
+			return StatusLancamento.EFETIVADO;
+		}
+		return sorteio < configuracao.getProporcaoEfetivados() + configuracao.getProporcaoCancelados() 
+				? StatusLancamento.CANCELADO : StatusLancamento.PENDENTE;
+	}
+
+	/**
+	 * Imprime a vazão e os percentis de cada operação e grava o histograma completo de cada
+	 * uma, e o de todas juntas, em arquivos .hgrm com as latências em milissegundos.
+	 */
+	private void relatar(File saida, long duracaoNanos) {
+		double segundos = duracaoNanos / 1e9;
+		Histogram total = new Histogram(LATENCIA_MAXIMA_US, 3);
+		
+		System.out.printf("%n%-13s %-42s %9s %7s %9s %9s %9s %9s %9s%n", "operacao", "endpoint", "req", "erros", 
+				"req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+		histogramas.forEach((operacao, histograma) -> {
+			total.add(histograma);
+			if(histograma.getTotalCount() > 0) {
+				imprimir(operacao.name().toLowerCase(), operacao.getEndpoint(), histograma, erros.get(operacao).sum(), segundos);
+				gravar(new File(saida, operacao.name().toLowerCase() + ".hgrm"), histograma);
+			}
+		});
+		imprimir("total", "", total, erros.values().stream().mapToLong(LongAdder::sum).sum(), segundos);
+		gravar(new File(saida, "total.hgrm"), total);
+		System.out.printf("%nHistogramas em %s%n", saida.getAbsolutePath());
+	}
+
+	private void imprimir(String nome, String endpoint, Histogram histograma, long erros, double segundos) {
+		System.out.printf("%-13s %-42s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", nome, endpoint, 
+				histograma.getTotalCount(), erros, histograma.getTotalCount() / segundos,
+				histograma.getValueAtPercentile(50) / MICROS_POR_MILI, histograma.getValueAtPercentile(99) / MICROS_POR_MILI,
+				histograma.getValueAtPercentile(99.9) / MICROS_POR_MILI, histograma.getMaxValue() / MICROS_POR_MILI);
+	}
+
+	private void gravar(File arquivo, Histogram histograma) {
+		try (PrintStream saida = new PrintStream(arquivo, "UTF-8")) {
+			histograma.outputPercentileDistribution(saida, MICROS_POR_MILI);
+		} catch (IOException e) {
+			throw new IllegalStateException("Não foi possível gravar " + arquivo, e);
+		}
+	}
+
+	private static class Cadastrado {
+
+		private final UsuarioCarga usuario;
+		private final long id;
+
+		Cadastrado(UsuarioCarga usuario, long id) {
+			this.usuario = usuario;
+			this.id = id;
+		}
+	}
+}
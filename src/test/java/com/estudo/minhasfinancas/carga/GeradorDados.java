@@ -0,0 +1,203 @@
+package com.estudo.minhasfinancas.carga;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+import com.estudo.minhasfinancas.model.entity.Usuario;
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+import com.estudo.minhasfinancas.service.FiltroEmailService;
+import com.estudo.minhasfinancas.service.ImportacaoLancamentoService;
+import com.estudo.minhasfinancas.service.JwtService;
+import com.estudo.minhasfinancas.service.RelatorioService;
+import com.estudo.minhasfinancas.service.SaldoUsuarioService;
+import com.estudo.minhasfinancas.service.SenhaService;
+import com.estudo.minhasfinancas.service.importacao.LinhaImportacao;
+import com.estudo.minhasfinancas.service.importacao.ResultadoImportacao;
+
+/**
+ * Cria os usuários e os lançamentos da carga. Os usuários são inseridos direto na base com
+ * a mesma senha codificada, para não pagar o BCrypt de cada um; os lançamentos passam pela
+ * importação, que mantém o saldo, os resumos mensais e o índice de busca. Como a importação
+ * grava tudo como pendente, os status sorteados são aplicados em seguida e o saldo e os
+ * resumos de cada usuário são recalculados.
+ */
+public class GeradorDados {
+
+	public static final String SENHA = "senha-carga";
+
+	private static final String[] DESCRICOES = { "mercado", "aluguel", "salario", "energia", "internet", 
+			"restaurante", "combustivel", "farmacia", "academia", "streaming", "condominio", "freelance" };
+	private static final int TAMANHO_LOTE = 1000;
+
+	private final ConfiguracaoCarga configuracao;
+	private final ApplicationContext contexto;
+	private final JdbcTemplate jdbcTemplate;
+	private final Random aleatorio;
+
+	public GeradorDados(ConfiguracaoCarga configuracao, ApplicationContext contexto) {
+		this.configuracao = configuracao;
+		this.contexto = contexto;
+		this.jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+		this.aleatorio = new Random(configuracao.getSemente());
+	}
+
+	public List<UsuarioCarga> gerar() {
+		String prefixo = "carga-" + System.currentTimeMillis() + "-";
+		Map<Long, String> usuarios = inserirUsuarios(prefixo);
+
+		ResultadoImportacao resultado = contexto.getBean(ImportacaoLancamentoService.class)
+				.importar(new LinhasGeradas(new ArrayList<>(usuarios.keySet())));
+		System.out.printf("%d lançamento(s) importado(s) para %d usuário(s) em %d ms%n", resultado.getImportados(),
+				usuarios.size(), resultado.getDuracaoMs());
+
+		Map<Long, List<Long>> lancamentos = obterLancamentos(prefixo);
+		sortearStatus(lancamentos);
+
+		JwtService jwtService = contexto.getBean(JwtService.class);
+		return usuarios.entrySet().stream()
+				.map(usuario -> new UsuarioCarga(usuario.getKey(), usuario.getValue(),
+						jwtService.gerarToken(Usuario.builder().id(usuario.getKey()).nome("carga").build()),
+						lancamentos.getOrDefault(usuario.getKey(), new ArrayList<>()).stream()
+								.mapToLong(Long::longValue).toArray()))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * O prefixo com o horário separa os usuários de cada execução quando a base é mantida
+	 * entre elas, como no PostgreSQL.
+	 */
+	private Map<Long, String> inserirUsuarios(String prefixo) {
+		String senha = contexto.getBean(SenhaService.class).codificar(SENHA);
+		List<Object[]> linhas = new ArrayList<>(configuracao.getUsuarios());
+		for(int i = 0; i < configuracao.getUsuarios(); i++) {
+			linhas.add(new Object[] { "carga " + i, prefixo + i + "@email.com", senha });
+		}
+		jdbcTemplate.batchUpdate("insert into financas.usuario (nome, email, senha) values (?, ?, ?)", linhas);
+
+		Map<Long, String> usuarios = new LinkedHashMap<>();
+		jdbcTemplate.query("select id, email from financas.usuario where email like ? order by id", 
+				resultado -> {
+					usuarios.put(resultado.getLong(1), resultado.getString(2));
+				}, prefixo + "%");
+
+		FiltroEmailService filtro = contexto.getBean(FiltroEmailService.class);
+		usuarios.values().forEach(filtro::registrar);
+		return usuarios;
+	}
+
+	private Map<Long, List<Long>> obterLancamentos(String prefixo) {
+		Map<Long, List<Long>> lancamentos = new HashMap<>();
+		jdbcTemplate.query("select l.id, l.id_usuario from financas.lancamento l join financas.usuario u "
+				+ "on u.id = l.id_usuario where u.email like ? order by l.id", resultado -> {
+			lancamentos.computeIfAbsent(resultado.getLong(2), id -> new ArrayList<>()).add(resultado.getLong(1));
+		}, prefixo + "%");
+		return lancamentos;
+	}
+
+	private void sortearStatus(Map<Long, List<Long>> lancamentos) {
+		List<Object[]> alteracoes = new ArrayList<>(TAMANHO_LOTE);
+		
+		for(List<Long> ids : lancamentos.values()) {
+			for(Long id : ids) {
+				StatusLancamento status = sortearStatus();
+				if(status != StatusLancamento.PENDENTE) {
+					alteracoes.add(new Object[] { status.name(), id });
+				}
+				if(alteracoes.size() == TAMANHO_LOTE) {
+					jdbcTemplate.batchUpdate("update financas.lancamento set status = ? where id = ?", alteracoes);
+					alteracoes.clear();
+				}
+			}
+		}
+		if(!alteracoes.isEmpty()) {
+			jdbcTemplate.batchUpdate("update financas.lancamento set status = ? where id = ?", alteracoes);
+		}
+
+		SaldoUsuarioService saldoService = contexto.getBean(SaldoUsuarioService.class);
+		RelatorioService relatorioService = contexto.getBean(RelatorioService.class);
+		lancamentos.keySet().forEach(idUsuario -> {
+			saldoService.recalcular(idUsuario);
+			relatorioService.recalcular(idUsuario);
+		});
+	}
+
+	StatusLancamento sortearStatus() {
+		double sorteio = aleatorio.nextDouble();
+		if(sorteio < configuracao.getProporcaoEfetivados()) {
+			return StatusLancamento.EFETIVADO;
+		}
+		if(sorteio < configuracao.getProporcaoEfetivados() + configuracao.getProporcaoCancelados()) {
+			return StatusLancamento.CANCELADO;
+		}
+		return StatusLancamento.PENDENTE;
+	}
+
+	TipoLancamento sortearTipo() {
+		return aleatorio.nextDouble() < configuracao.getProporcaoReceitas() ? TipoLancamento.RECEITA : TipoLancamento.DESPESA;
+	}
+
+	Lancamento sortearLancamento(Long idUsuario) {
+		TipoLancamento tipo = sortearTipo();
+		int ano = configuracao.getAnoInicial() + aleatorio.nextInt(configuracao.getAnoFinal() - configuracao.getAnoInicial() + 1);
+		int mes = 1 + aleatorio.nextInt(12);
+		long centavos = tipo == TipoLancamento.RECEITA ? 100000 + aleatorio.nextInt(900000) : 500 + aleatorio.nextInt(80000);
+
+		return Lancamento.builder()
+				.descricao(DESCRICOES[aleatorio.nextInt(DESCRICOES.length)] + " " + mes + "/" + ano)
+				.ano(ano)
+				.mes(mes)
+				.valor(BigDecimal.valueOf(centavos, 2))
+				.tipo(tipo)
+				.usuario(Usuario.builder().id(idUsuario).build())
+				.dataCadastro(LocalDate.of(ano, mes, 1))
+				.build();
+	}
+
+	/**
+	 * Gera os lançamentos conforme a importação os consome, usuário a usuário, com a
+	 * quantidade de cada um sorteada por uma exponencial com a média configurada.
+	 */
+	private class LinhasGeradas implements Iterator<LinhaImportacao> {
+
+		private final Iterator<Long> usuarios;
+		private Long usuario;
+		private long restantes;
+		private long numero;
+
+		LinhasGeradas(List<Long> usuarios) {
+			this.usuarios = usuarios.iterator();
+		}
+
+		@Override
+		public boolean hasNext() {
+			while(restantes == 0 && usuarios.hasNext()) {
+				usuario = usuarios.next();
+				restantes = Math.max(1, Math.round(-configuracao.getLancamentosPorUsuario() * Math.log(1 - aleatorio.nextDouble())));
+			}
+			return restantes > 0;
+		}
+
+		@Override
+		public LinhaImportacao next() {
+			if(!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			restantes--;
+			return LinhaImportacao.valida(++numero, sortearLancamento(usuario));
+		}
+	}
+}
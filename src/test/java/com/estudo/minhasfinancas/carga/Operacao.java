@@ -0,0 +1,31 @@
+package com.estudo.minhasfinancas.carga;
+
+/**
+ * Operações da carga, cada uma sobre um endpoint da API. LISTA e FLUXO trazem o ano inteiro,
+ * montado em uma lista ou escrito conforme é lido, e ficam fora do mix padrão para serem
+ * comparadas isoladamente, como em {@code --carga.mix=fluxo:1}.
+ */
+public enum Operacao {
+
+	BUSCA("GET /api/lancamentos?ano&size"),
+	OBTER("GET /api/lancamentos/{id}"),
+	SALDO("GET /api/usuarios/{id}/saldo"),
+	RELATORIO("GET /api/usuarios/{id}/relatorio?ano"),
+	CADASTRO("POST /api/lancamentos"),
+	ATUALIZACAO("PUT /api/lancamentos/{id}"),
+	STATUS("PUT /api/lancamentos/{id}/atualiza-status"),
+	EXCLUSAO("DELETE /api/lancamentos/{id}"),
+	AUTENTICACAO("POST /api/usuarios/autenticar"),
+	LISTA("GET /api/lancamentos?ano"),
+	FLUXO("GET /api/lancamentos/fluxo?ano");
+
+	private final String endpoint;
+
+	Operacao(String endpoint) {
+		this.endpoint = endpoint;
+	}
+
+	public String getEndpoint() {
+		return endpoint;
+	}
+}
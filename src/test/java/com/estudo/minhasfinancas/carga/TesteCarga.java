@@ -0,0 +1,46 @@
+package com.estudo.minhasfinancas.carga;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.estudo.minhasfinancas.MinhasfinancasApplication;
+
+/**
+ * Sobe a aplicação em uma porta livre, gera os dados e aplica a carga pela API, executado
+ * com {@code mvn -Pcarga verify}. Por padrão usa o perfil test, com o H2 em memória; com
+ * {@code --spring.profiles.active=default} usa o PostgreSQL do application.properties, com a
+ * chave dos tokens em MINHASFINANCAS_JWT_CHAVE. Os argumentos seguem o formato do Spring
+ * Boot, como {@code --carga.rps=200}; os parâmetros estão em {@link ConfiguracaoCarga}. Para comparar com as threads virtuais, execute no Java
+ * 21, com {@code -Dcarga.java}, e com {@code --minhasfinancas.threads-virtuais.habilitado=true}.
+ */
+public class TesteCarga {
+
+	public static void main(String[] args) throws InterruptedException, IOException {
+		// O devtools reiniciaria a aplicação em outro classloader a cada classe alterada.
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		ConfigurableApplicationContext contexto = new SpringApplicationBuilder(MinhasfinancasApplication.class)
+				.properties("spring.profiles.active=test",
+						"server.port=0",
+						"minhasfinancas.jwt.expiracao=24h",
+						"server.tomcat.max-connections=20000",
+						"logging.level.root=WARN")
+				.run(args);
+
+		try {
+			ConfiguracaoCarga configuracao = Binder.get(contexto.getEnvironment())
+					.bind("carga", ConfiguracaoCarga.class)
+					.orElseGet(ConfiguracaoCarga::new);
+			List<UsuarioCarga> usuarios = new GeradorDados(configuracao, contexto).gerar();
+			int porta = ((ServletWebServerApplicationContext) contexto).getWebServer().getPort();
+
+			new ExecucaoCarga(configuracao, usuarios, porta).executar();
+		} finally {
+			contexto.close();
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package com.estudo.minhasfinancas.carga;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Usuário gerado para a carga, com o token já emitido e os ids dos seus lançamentos.
+ */
+@Getter
+@AllArgsConstructor
+public class UsuarioCarga {
+
+	private final Long id;
+	private final String email;
+	private final String token;
+	private final long[] lancamentos;
+}
@@ -0,0 +1,84 @@
+package com.estudo.minhasfinancas.carga;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.estudo.minhasfinancas.config.threads.ThreadsVirtuais;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Registra com o JFR, durante a medição, as vezes em que uma thread virtual das requisições
+ * ficou presa à thread de plataforma ao esperar dentro de um bloco synchronized, como nos
+ * drivers JDBC que sincronizam o envio dos comandos. Cada local é identificado pelo primeiro
+ * quadro da pilha fora do JDK. Só se aplica no Java 21 ou superior.
+ */
+class VerificacaoFixacao {
+
+	private static final String EVENTO = "jdk.VirtualThreadPinned";
+	private static final String PREFIXO_THREADS = "requisicao-virtual-";
+	private static final int LOCAIS_IMPRESSOS = 10;
+
+	private final File arquivo;
+	private Recording gravacao;
+
+	VerificacaoFixacao(File saida) {
+		this.arquivo = new File(saida, "fixacao.jfr");
+	}
+
+	void iniciar() {
+		if(!ThreadsVirtuais.disponiveis()) {
+			return;
+		}
+		
+		gravacao = new Recording();
+		gravacao.enable(EVENTO).withStackTrace().withThreshold(Duration.ZERO);
+		gravacao.start();
+	}
+
+	void relatar() throws IOException {
+		if(gravacao == null) {
+			return;
+		}
+		
+		gravacao.stop();
+		gravacao.dump(arquivo.toPath());
+		gravacao.close();
+		
+		List<RecordedEvent> fixacoes = RecordingFile.readAllEvents(arquivo.toPath()).stream()
+				.filter(evento -> evento.getEventType().getName().equals(EVENTO))
+				.filter(evento -> evento.getThread() != null && evento.getThread().getJavaName() != null 
+						&& evento.getThread().getJavaName().startsWith(PREFIXO_THREADS))
+				.collect(Collectors.toList());
+		
+		System.out.printf("%nThreads virtuais presas em synchronized: %d, %.1f ms no total (%s)%n", fixacoes.size(),
+				fixacoes.stream().mapToLong(evento -> evento.getDuration().toNanos()).sum() / 1e6, arquivo.getPath());
+		
+		Map<String, Long> locais = fixacoes.stream()
+				.collect(Collectors.groupingBy(this::local, Collectors.counting()));
+		locais.entrySet().stream()
+				.sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+				.limit(LOCAIS_IMPRESSOS)
+				.forEach(local -> System.out.printf("%9d  %s%n", local.getValue(), local.getKey()));
+	}
+
+	private String local(RecordedEvent evento) {
+		if(evento.getStackTrace() == null) {
+			return "(sem pilha)";
+		}
+		
+		return evento.getStackTrace().getFrames().stream()
+				.filter(RecordedFrame::isJavaFrame)
+				.map(quadro -> quadro.getMethod().getType().getName() + "." + quadro.getMethod().getName())
+				.filter(metodo -> !metodo.startsWith("java.") && !metodo.startsWith("jdk.") && !metodo.startsWith("sun."))
+				.findFirst()
+				.orElse("(somente JDK)");
+	}
+}
@@ -0,0 +1,75 @@
+package com.estudo.minhasfinancas.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.estudo.minhasfinancas.model.entity.Usuario;
+import com.estudo.minhasfinancas.model.repository.UsuarioRepository;
+import com.estudo.minhasfinancas.service.UsuarioService;
+import com.estudo.minhasfinancas.service.impl.FiltroEmailServiceImpl;
+import com.estudo.minhasfinancas.service.impl.SenhaServiceImpl;
+import com.estudo.minhasfinancas.service.impl.UsuarioServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { CacheConfig.class, UsuarioServiceImpl.class, SenhaServiceImpl.class, 
+		FiltroEmailServiceImpl.class })
+public class CacheConfigTest {
+
+	@MockBean
+	UsuarioRepository repository;
+	
+	@Autowired
+	UsuarioService service;
+	
+	@Autowired
+	CacheManager cacheManager;
+	
+	@BeforeEach
+	public void setUp() {
+		CacheConfig.NOMES.forEach(nome -> cacheManager.getCache(nome).clear());
+	}
+	
+	@Test
+	public void deveConsultarOUsuarioNaBaseApenasUmaVez() {
+		Usuario usuario = Usuario.builder().id(1l).email("usuario@email.com").build();
+		Mockito.when(repository.findById(1l)).thenReturn(Optional.of(usuario));
+		
+		service.obterPorId(1l);
+		Optional<Usuario> emCache = service.obterPorId(1l);
+		
+		assertThat(emCache).containsSame(usuario);
+		Mockito.verify(repository, Mockito.times(1)).findById(1l);
+	}
+	
+	@Test
+	public void naoDeveGuardarUsuarioInexistente() {
+		Mockito.when(repository.findById(2l)).thenReturn(Optional.empty());
+		
+		service.obterPorId(2l);
+		service.obterPorId(2l);
+		
+		Mockito.verify(repository, Mockito.times(2)).findById(2l);
+	}
+	
+	@Test
+	public void deveGuardarOUsuarioSalvo() {
+		Usuario usuario = Usuario.builder().id(3l).email("novo@email.com").build();
+		Mockito.when(repository.save(usuario)).thenReturn(usuario);
+		
+		service.salvarUsuario(usuario);
+		
+		assertThat(service.obterPorId(3l)).containsSame(usuario);
+		Mockito.verify(repository, Mockito.never()).findById(3l);
+	}
+}
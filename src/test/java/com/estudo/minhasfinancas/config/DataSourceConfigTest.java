@@ -0,0 +1,59 @@
+package com.estudo.minhasfinancas.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.jdbc.DataSourcePoolMetricsAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+public class DataSourceConfigTest {
+
+	@EnableConfigurationProperties(DataSourceProperties.class)
+	static class Propriedades {
+	}
+
+	ApplicationContextRunner contexto = new ApplicationContextRunner()
+			.withUserConfiguration(Propriedades.class, DataSourceConfig.class)
+			.withPropertyValues("spring.datasource.url=jdbc:h2:mem:pool", "spring.datasource.username=sa");
+
+	@Test
+	public void deveDerivarOTamanhoDoPoolDosNucleos() {
+		contexto.run(context -> assertThat(context.getBean(HikariDataSource.class).getMaximumPoolSize())
+				.isEqualTo(Runtime.getRuntime().availableProcessors() * 2 + 1));
+	}
+
+	@Test
+	public void devePrevalecerOTamanhoInformado() {
+		contexto.withPropertyValues("spring.datasource.hikari.maximum-pool-size=3")
+				.run(context -> assertThat(context.getBean(HikariDataSource.class).getMaximumPoolSize()).isEqualTo(3));
+	}
+
+	@Test
+	public void deveRegistrarAEsperaDeCadaConexaoObtidaNasMetricasDoHikari() {
+		contexto.withConfiguration(AutoConfigurations.of(MetricsAutoConfiguration.class, 
+						SimpleMetricsExportAutoConfiguration.class, DataSourcePoolMetricsAutoConfiguration.class))
+				.run(context -> {
+					HikariDataSource dataSource = context.getBean(HikariDataSource.class);
+					MeterRegistry registry = context.getBean(MeterRegistry.class);
+
+					try (Connection primeira = dataSource.getConnection(); Connection segunda = dataSource.getConnection()) {
+						Timer espera = registry.get("hikaricp.connections.acquire").timer();
+
+						assertThat(espera.count()).isEqualTo(2);
+						assertThat(registry.get("hikaricp.connections.active").gauge().value()).isEqualTo(2);
+					}
+				});
+	}
+}
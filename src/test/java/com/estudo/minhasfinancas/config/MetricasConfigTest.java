@@ -0,0 +1,76 @@
+package com.estudo.minhasfinancas.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.estudo.minhasfinancas.config.metricas.TempoMetodosAspect;
+import com.estudo.minhasfinancas.exception.ErroAutenticacao;
+import com.estudo.minhasfinancas.model.entity.Usuario;
+import com.estudo.minhasfinancas.model.repository.UsuarioRepository;
+import com.estudo.minhasfinancas.service.UsuarioService;
+import com.estudo.minhasfinancas.service.impl.FiltroEmailServiceImpl;
+import com.estudo.minhasfinancas.service.impl.SenhaServiceImpl;
+import com.estudo.minhasfinancas.service.impl.UsuarioServiceImpl;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { MetricasConfig.class, MetricasConfigTest.Registro.class, UsuarioServiceImpl.class,
+		SenhaServiceImpl.class, FiltroEmailServiceImpl.class })
+public class MetricasConfigTest {
+
+	static class Registro {
+
+		@Bean
+		public PrometheusMeterRegistry registry() {
+			return new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+		}
+	}
+
+	@MockBean
+	UsuarioRepository repository;
+
+	@Autowired
+	UsuarioService service;
+
+	@Autowired
+	PrometheusMeterRegistry registry;
+
+	@Test
+	public void deveMedirCadaChamadaAoServicoPelaInterface() {
+		Mockito.when(repository.findById(1l)).thenReturn(Optional.of(Usuario.builder().id(1l).build()));
+
+		service.obterPorId(1l);
+		service.obterPorId(1l);
+
+		Timer timer = registry.get(TempoMetodosAspect.TIMER)
+				.tags("classe", "UsuarioService", "metodo", "obterPorId", "excecao", "none")
+				.timer();
+		assertThat(timer.count()).isEqualTo(2);
+		assertThat(registry.scrape()).contains("minhasfinancas_metodos_seconds_bucket{classe=\"UsuarioService\",");
+	}
+
+	@Test
+	public void deveIdentificarAExcecaoLancada() {
+		Mockito.when(repository.findByEmail(Mockito.anyString())).thenReturn(Optional.empty());
+
+		assertThrows(ErroAutenticacao.class, () -> service.autenticar("email@email.com", "senha"));
+
+		assertThat(registry.get(TempoMetodosAspect.TIMER)
+				.tags("metodo", "autenticar", "excecao", "ErroAutenticacao")
+				.timer().count()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,54 @@
+package com.estudo.minhasfinancas.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import com.estudo.minhasfinancas.config.threads.ThreadsVirtuais;
+
+public class ThreadsVirtuaisConfigTest {
+
+	ApplicationContextRunner contexto = new ApplicationContextRunner()
+			.withUserConfiguration(ThreadsVirtuaisConfig.class);
+
+	@Test
+	public void deveFicarDesligadoPorPadrao() {
+		contexto.run(context -> assertThat(context).doesNotHaveBean(ThreadsVirtuaisConfig.class));
+	}
+
+	@Test
+	public void deveImpedirASubidaSemSuporteDoJava() {
+		assumeFalse(ThreadsVirtuais.disponiveis());
+		
+		contexto.withPropertyValues("minhasfinancas.threads-virtuais.habilitado=true")
+				.run(context -> assertThat(context).getFailure().hasStackTraceContaining("Java 21"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void deveExecutarAsRequisicoesEAsTarefasEmThreadsVirtuais() {
+		assumeTrue(ThreadsVirtuais.disponiveis());
+		
+		contexto.withPropertyValues("minhasfinancas.threads-virtuais.habilitado=true").run(context -> {
+			Http11NioProtocol protocolo = new Http11NioProtocol();
+			context.getBean(TomcatProtocolHandlerCustomizer.class).customize(protocolo);
+			Executor requisicoes = protocolo.getExecutor();
+			AsyncTaskExecutor tarefas = context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, 
+					AsyncTaskExecutor.class);
+			
+			assertThat(CompletableFuture.supplyAsync(() -> ThreadsVirtuais.virtual(Thread.currentThread()), requisicoes)
+					.get()).isTrue();
+			assertThat(tarefas.submit(() -> ThreadsVirtuais.virtual(Thread.currentThread())).get()).isTrue();
+		});
+	}
+}
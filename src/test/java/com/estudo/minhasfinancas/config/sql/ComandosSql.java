@@ -0,0 +1,34 @@
+package com.estudo.minhasfinancas.config.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.function.Supplier;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+/**
+ * Confere a quantidade exata de comandos SQL de um trecho de código ou, pelo cabeçalho
+ * {@link ComandosSqlFilter#COMANDOS} do perfil de teste, de uma requisição do MockMvc.
+ */
+public class ComandosSql {
+
+	private ComandosSql() {
+	}
+
+	public static ResultMatcher comandosSql(int esperado) {
+		return MockMvcResultMatchers.header().string(ComandosSqlFilter.COMANDOS, String.valueOf(esperado));
+	}
+
+	public static <T> T assertComandosSql(int esperado, Supplier<T> acao) {
+		ComandosSqlRequisicao comandos = ComandosSqlRequisicao.iniciar();
+		T resultado;
+		try {
+			resultado = acao.get();
+		} finally {
+			comandos.encerrar();
+		}
+		assertThat(comandos.getComandos()).as("comandos SQL").isEqualTo(esperado);
+		return resultado;
+	}
+}
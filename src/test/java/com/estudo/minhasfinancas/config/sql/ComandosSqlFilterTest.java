@@ -0,0 +1,291 @@
+package com.estudo.minhasfinancas.config.sql;
+
+import static com.estudo.minhasfinancas.config.sql.ComandosSql.comandosSql;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.estudo.minhasfinancas.api.dto.AtualizaStatusDTO;
+import com.estudo.minhasfinancas.api.dto.LancamentoDTO;
+import com.estudo.minhasfinancas.api.dto.UsuarioDTO;
+import com.estudo.minhasfinancas.config.CacheConfig;
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+import com.estudo.minhasfinancas.model.entity.Usuario;
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+import com.estudo.minhasfinancas.model.repository.projection.LancamentoResumo;
+import com.estudo.minhasfinancas.service.JwtService;
+import com.estudo.minhasfinancas.service.LancamentoService;
+import com.estudo.minhasfinancas.service.UsuarioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Quantidade exata de comandos SQL de cada endpoint, com os caches vazios: uma consulta a
+ * mais em algum deles, como um N+1 ou um merge que volta a ler a entidade, quebra o teste.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ComandosSqlFilterTest {
+
+	static final MediaType JSON = MediaType.APPLICATION_JSON;
+
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	JwtService jwtService;
+
+	@Autowired
+	CacheManager cacheManager;
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	Usuario usuario;
+	Lancamento lancamento;
+	String token;
+
+	@BeforeEach
+	public void setUp() {
+		usuario = usuarioService.salvarUsuario(Usuario.builder().nome("usuario").email("comandos@email.com")
+				.senha("senha").build());
+		lancamento = lancamentoService.salvar(Lancamento.builder().usuario(usuario).ano(2020).mes(1)
+				.descricao("salario").valor(BigDecimal.TEN).tipo(TipoLancamento.RECEITA)
+				.dataCadastro(LocalDate.now()).build());
+		token = "Bearer " + jwtService.gerarToken(usuario);
+
+		cacheManager.getCacheNames().forEach(nome -> cacheManager.getCache(nome).clear());
+		entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+	}
+
+	@AfterEach
+	public void limpar() {
+		jdbcTemplate.update("delete from financas.lancamento where id_usuario = ?", usuario.getId());
+		jdbcTemplate.update("delete from financas.saldo_usuario where id_usuario = ?", usuario.getId());
+		jdbcTemplate.update("delete from financas.resumo_mensal where id_usuario = ?", usuario.getId());
+		jdbcTemplate.update("delete from financas.usuario where email like 'comandos%'");
+	}
+
+	@Test
+	public void deveSalvarUmLancamento() throws Exception {
+		mvc.perform(autenticado(post("/api/lancamentos")).content(json(lancamentoDTO())))
+				.andExpect(status().isCreated())
+				.andExpect(comandosSql(4));
+	}
+
+	@Test
+	public void deveObterUmLancamento() throws Exception {
+		mvc.perform(autenticado(get("/api/lancamentos/" + lancamento.getId())))
+				.andExpect(status().isOk())
+				.andExpect(comandosSql(1));
+	}
+
+	@Test
+	public void deveAtualizarUmLancamento() throws Exception {
+		LancamentoDTO dto = lancamentoDTO();
+		dto.setStatus(StatusLancamento.PENDENTE.name());
+		dto.setVersao(lancamento.getVersao());
+
+		mvc.perform(autenticado(put("/api/lancamentos/" + lancamento.getId())).content(json(dto)))
+				.andExpect(status().isOk())
+				.andExpect(comandosSql(7));
+	}
+
+	@Test
+	public void deveAtualizarSoADescricaoSemTocarNosTotais() throws Exception {
+		LancamentoDTO dto = LancamentoDTO.builder().descricao("salario de janeiro").ano(2020).mes(1).valor(BigDecimal.TEN)
+				.tipo(TipoLancamento.RECEITA.name()).status(StatusLancamento.PENDENTE.name())
+				.versao(lancamento.getVersao()).build();
+
+		mvc.perform(autenticado(put("/api/lancamentos/" + lancamento.getId())).content(json(dto)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("versao").value(lancamento.getVersao() + 1))
+				.andExpect(comandosSql(3));
+	}
+
+	@Test
+	public void naoDeveAtualizarOLancamentoDeOutroUsuario() throws Exception {
+		Usuario outro = usuarioService.salvarUsuario(Usuario.builder().nome("outro").email("comandos-outro@email.com")
+				.senha("senha").build());
+		LancamentoDTO dto = lancamentoDTO();
+		dto.setStatus(StatusLancamento.PENDENTE.name());
+
+		mvc.perform(put("/api/lancamentos/" + lancamento.getId()).header(HttpHeaders.AUTHORIZATION, 
+						"Bearer " + jwtService.gerarToken(outro)).contentType(JSON).content(json(dto)))
+				.andExpect(status().isNotFound())
+				.andExpect(comandosSql(2));
+	}
+
+	@Test
+	public void deveAtualizarOStatusDeUmLancamento() throws Exception {
+		AtualizaStatusDTO dto = new AtualizaStatusDTO();
+		dto.setStatus(StatusLancamento.EFETIVADO.name());
+
+		mvc.perform(autenticado(put("/api/lancamentos/" + lancamento.getId() + "/atualiza-status")).content(json(dto)))
+				.andExpect(status().isOk())
+				.andExpect(comandosSql(7));
+	}
+
+	@Test
+	public void deveDeletarUmLancamento() throws Exception {
+		mvc.perform(autenticado(delete("/api/lancamentos/" + lancamento.getId())))
+				.andExpect(status().isNoContent())
+				.andExpect(comandosSql(6));
+	}
+
+	@Test
+	public void deveBuscarOsLancamentos() throws Exception {
+		mvc.perform(autenticado(get("/api/lancamentos").param("ano", "2020")))
+				.andExpect(status().isOk())
+				.andExpect(comandosSql(1));
+	}
+
+	@Test
+	public void deveBuscarUmaPaginaDeLancamentos() throws Exception {
+		mvc.perform(autenticado(get("/api/lancamentos").param("size", "10")))
+				.andExpect(status().isOk())
+				.andExpect(comandosSql(1));
+	}
+
+	@Test
+	public void deveBuscarPelaDescricao() throws Exception {
+		mvc.perform(autenticado(get("/api/lancamentos").param("q", "salario")))
+				.andExpect(status().isOk())
+				.andExpect(comandosSql(1));
+	}
+
+	@Test
+	public void deveSalvarUmUsuario() throws Exception {
+		UsuarioDTO dto = UsuarioDTO.builder().nome("outro").email("comandos-outro@email.com").senha("senha").build();
+
+		mvc.perform(post("/api/usuarios").contentType(JSON).content(json(dto)))
+				.andExpect(status().isCreated())
+				.andExpect(comandosSql(1));
+	}
+
+	@Test
+	public void deveAutenticarUmUsuario() throws Exception {
+		UsuarioDTO dto = UsuarioDTO.builder().email(usuario.getEmail()).senha("senha").build();
+
+		mvc.perform(post("/api/usuarios/autenticar").contentType(JSON).content(json(dto)))
+				.andExpect(status().isOk())
+				.andExpect(comandosSql(1));
+	}
+
+	@Test
+	public void deveObterOSaldoDoUsuario() throws Exception {
+		lancamentoService.atualizarStatus(lancamento, StatusLancamento.EFETIVADO);
+		lancamentoService.atualizarStatus(lancamentoService.salvar(Lancamento.builder().usuario(usuario).ano(2020).mes(2)
+				.descricao("juros").valor(new BigDecimal("0.55")).tipo(TipoLancamento.RECEITA)
+				.dataCadastro(LocalDate.now()).build()), StatusLancamento.EFETIVADO);
+
+		mvc.perform(autenticado(get("/api/usuarios/" + usuario.getId() + "/saldo")))
+				.andExpect(status().isOk())
+				.andExpect(content().string("10.55"))
+				.andExpect(comandosSql(3));
+	}
+
+	@Test
+	public void deveObterORelatorioDoUsuario() throws Exception {
+		mvc.perform(autenticado(get("/api/usuarios/" + usuario.getId() + "/relatorio").param("ano", "2020")))
+				.andExpect(status().isOk())
+				.andExpect(comandosSql(2));
+		mvc.perform(autenticado(get("/api/usuarios/" + usuario.getId() + "/relatorio")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("periodos[0].receitas").value(10))
+				.andExpect(comandosSql(1));
+	}
+
+	@Test
+	public void deveObterOsRelatoriosDeVariosUsuariosEmUmaConsulta() throws Exception {
+		mvc.perform(autenticado(get("/api/usuarios/relatorios").param("ids", usuario.getId() + ",0").param("ano", "2020")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("[0].periodos[0].receitas").value(10))
+				.andExpect(comandosSql(1));
+		mvc.perform(autenticado(get("/api/usuarios/relatorios").param("ids", usuario.getId() + ",0")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("[0].periodos[0].ano").value(2020))
+				.andExpect(comandosSql(1));
+	}
+
+	@Test
+	public void deveConferirAPosseNaBaseAoAtualizar() throws Exception {
+		cacheManager.getCache(CacheConfig.LANCAMENTOS).put(lancamento.getId(), new LancamentoResumo(lancamento.getId(), 
+				"salario", 1, 2020, BigDecimal.TEN, usuario.getId() + 1, TipoLancamento.RECEITA, 
+				StatusLancamento.PENDENTE, lancamento.getVersao()));
+		LancamentoDTO dto = lancamentoDTO();
+		dto.setStatus(StatusLancamento.PENDENTE.name());
+
+		mvc.perform(autenticado(put("/api/lancamentos/" + lancamento.getId())).content(json(dto)))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	public void deveInformarOsCabecalhosMesmoSemToken() throws Exception {
+		mvc.perform(get("/api/lancamentos"))
+				.andExpect(status().isUnauthorized())
+				.andExpect(comandosSql(0))
+				.andExpect(header().exists(ComandosSqlFilter.TEMPO));
+	}
+
+	@Test
+	public void deveExigirOTokenDoProprioUsuarioNoSaldo() throws Exception {
+		mvc.perform(get("/api/usuarios/" + usuario.getId() + "/saldo"))
+				.andExpect(status().isUnauthorized())
+				.andExpect(comandosSql(0));
+		mvc.perform(autenticado(get("/api/usuarios/" + (usuario.getId() + 1) + "/saldo")))
+				.andExpect(status().isForbidden())
+				.andExpect(comandosSql(0));
+	}
+
+	private MockHttpServletRequestBuilder autenticado(MockHttpServletRequestBuilder request) {
+		return request.header(HttpHeaders.AUTHORIZATION, token).contentType(JSON).accept(JSON);
+	}
+
+	private LancamentoDTO lancamentoDTO() {
+		return LancamentoDTO.builder().descricao("aluguel").ano(2020).mes(2).valor(BigDecimal.ONE)
+				.tipo(TipoLancamento.DESPESA.name()).build();
+	}
+
+	private String json(Object objeto) throws Exception {
+		return objectMapper.writeValueAsString(objeto);
+	}
+}
@@ -0,0 +1,75 @@
+package com.estudo.minhasfinancas.config.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.estudo.minhasfinancas.config.sql.ComandosSqlRequisicao.Acao;
+import com.estudo.minhasfinancas.exception.LimiteComandosSqlException;
+
+public class ComandosSqlRequisicaoTest {
+
+	static final String CONSULTA = "select l.id from financas.lancamento l where l.id_usuario=?";
+	static final String INSERT = "insert into financas.lancamento (id) values (?)";
+
+	ContadorComandosSql contador = new ContadorComandosSql();
+	ComandosSqlRequisicao comandos;
+
+	@AfterEach
+	public void encerrar() {
+		comandos.encerrar();
+		assertThat(ComandosSqlRequisicao.atual()).isEmpty();
+	}
+
+	@Test
+	public void deveContarOsComandosEIdentificarAConsultaMaisRepetida() {
+		comandos = ComandosSqlRequisicao.iniciar(2, 2, Acao.LOG);
+
+		contador.inspect(INSERT);
+		contador.inspect(INSERT);
+		contador.inspect(INSERT);
+		contador.inspect(CONSULTA);
+		contador.inspect(CONSULTA);
+
+		assertThat(comandos.getComandos()).isEqualTo(5);
+		assertThat(comandos.excedeuLimiteComandos()).isTrue();
+		assertThat(comandos.getRepeticoes()).isEqualTo(2);
+		assertThat(comandos.getConsultaMaisRepetida()).isEqualTo(CONSULTA);
+		assertThat(comandos.excedeuLimiteRepeticoes()).isFalse();
+	}
+
+	@Test
+	public void deveFalharAoPassarDoLimiteDeRepeticoes() {
+		comandos = ComandosSqlRequisicao.iniciar(0, 2, Acao.FALHAR);
+
+		contador.inspect(CONSULTA);
+		contador.inspect("  SELECT " + CONSULTA.substring(7));
+		contador.inspect(CONSULTA);
+
+		assertThrows(LimiteComandosSqlException.class, () -> contador.inspect(CONSULTA));
+	}
+
+	@Test
+	public void deveFalharAoPassarDoLimiteDeComandos() {
+		comandos = ComandosSqlRequisicao.iniciar(1, 0, Acao.FALHAR);
+
+		contador.inspect(INSERT);
+
+		assertThrows(LimiteComandosSqlException.class, () -> contador.inspect(INSERT));
+	}
+
+	@Test
+	public void deveVoltarAContagemAnteriorAoEncerrar() {
+		comandos = ComandosSqlRequisicao.iniciar();
+		ComandosSqlRequisicao interna = ComandosSqlRequisicao.iniciar();
+
+		contador.inspect(CONSULTA);
+		interna.encerrar();
+		contador.inspect(CONSULTA);
+
+		assertThat(interna.getComandos()).isEqualTo(1);
+		assertThat(comandos.getComandos()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,58 @@
+package com.estudo.minhasfinancas.model.dinheiro;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class DinheiroTest {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@Test
+	public void deveConverterParaCentavosArredondandoAsCasasExcedentesParaOParMaisProximo() {
+		assertThat(Dinheiro.centavos(new BigDecimal("12.34"))).isEqualTo(1234);
+		assertThat(Dinheiro.centavos(new BigDecimal("12"))).isEqualTo(1200);
+		assertThat(Dinheiro.centavos(new BigDecimal("1E+3"))).isEqualTo(100000);
+		assertThat(Dinheiro.centavos(new BigDecimal("0.125"))).isEqualTo(12);
+		assertThat(Dinheiro.centavos(new BigDecimal("0.135"))).isEqualTo(14);
+		assertThat(Dinheiro.centavos(new BigDecimal("-0.125"))).isEqualTo(-12);
+		assertThat(Dinheiro.de(new BigDecimal("10.10")).paraBigDecimal()).isEqualTo(new BigDecimal("10.10"));
+	}
+
+	@Test
+	public void deveSomarDeFormaExataELancarErroNoEstouro() {
+		Dinheiro valor = Dinheiro.de(new BigDecimal("0.10"));
+
+		assertThat(valor.somar(Dinheiro.de(new BigDecimal("0.20")))).isEqualTo(Dinheiro.de(new BigDecimal("0.3")));
+		assertThat(valor.subtrair(Dinheiro.de(BigDecimal.ONE)).toString()).isEqualTo("-0.90");
+		assertThat(valor.negar().signum()).isEqualTo(-1);
+		assertThatThrownBy(() -> Dinheiro.deCentavos(Long.MAX_VALUE).somar(valor)).isInstanceOf(ArithmeticException.class);
+		assertThatThrownBy(() -> Dinheiro.de(new BigDecimal("1E+20"))).isInstanceOf(ArithmeticException.class);
+	}
+
+	@Test
+	public void deveConverterDeEParaAColuna() {
+		DinheiroConverter converter = new DinheiroConverter();
+
+		assertThat(converter.convertToDatabaseColumn(Dinheiro.deCentavos(-5))).isEqualTo(new BigDecimal("-0.05"));
+		assertThat(converter.convertToEntityAttribute(new BigDecimal("7.50"))).isEqualTo(Dinheiro.deCentavos(750));
+		assertThat(converter.convertToDatabaseColumn(null)).isNull();
+		assertThat(converter.convertToEntityAttribute(null)).isNull();
+	}
+
+	@Test
+	public void deveSerializarComoNumeroComDuasCasas() throws Exception {
+		assertThat(mapper.writeValueAsString(Dinheiro.deCentavos(1000))).isEqualTo("10.00");
+		assertThat(mapper.readValue("12.345", Dinheiro.class)).isEqualTo(Dinheiro.deCentavos(1234));
+		assertThat(mapper.readValue("12", Dinheiro.class)).isEqualTo(Dinheiro.deCentavos(1200));
+		assertThat(mapper.readValue("\"0.01\"", Dinheiro.class)).isEqualTo(Dinheiro.deCentavos(1));
+		assertThatThrownBy(() -> mapper.readValue("\"dez\"", Dinheiro.class)).isInstanceOf(JsonMappingException.class);
+		assertThatThrownBy(() -> mapper.readValue("1e30", Dinheiro.class)).isInstanceOf(JsonMappingException.class);
+	}
+}
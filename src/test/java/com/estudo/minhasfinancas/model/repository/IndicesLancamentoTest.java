@@ -0,0 +1,114 @@
+package com.estudo.minhasfinancas.model.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.estudo.minhasfinancas.model.entity.Usuario;
+
+/**
+ * Confere pelo plano de execução que as consultas mais frequentes usam os índices
+ * criados pela migração V8, tanto no H2 dos testes quanto num PostgreSQL, onde também
+ * confere que as partições dos outros anos ficam fora da leitura.
+ */
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+public class IndicesLancamentoTest {
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	TestEntityManager entityManager;
+
+	boolean postgres;
+
+	@BeforeEach
+	public void setUp() {
+		postgres = jdbcTemplate.execute((Connection conexao) -> conexao.getMetaData().getDatabaseProductName())
+				.toLowerCase(Locale.ROOT).contains("postgres");
+		Long idUsuario = entityManager.persistFlushFind(Usuario.builder().nome("usuario").email("usuario@email.com").build())
+				.getId();
+		for (int ano = 2000; ano <= 2020; ano++) {
+			for (int mes = 1; mes <= 12; mes++) {
+				jdbcTemplate.update("insert into financas.lancamento (descricao, mes, ano, valor, tipo, status, id_usuario) "
+						+ "values ('lancamento', ?, ?, 10, ?, ?, ?)", mes, ano,
+						mes % 2 == 0 ? "RECEITA" : "DESPESA", mes % 3 == 0 ? "EFETIVADO" : "PENDENTE", idUsuario);
+			}
+		}
+		// com poucas linhas os planejadores preferem a leitura sequencial ou o índice da chave estrangeira
+		if (postgres) {
+			jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+		}
+	}
+
+	@Test
+	public void deveSomarOSaldoEfetivadoPeloIndice() {
+		String plano = explicar("select sum(valor) from financas.lancamento "
+				+ "where id_usuario = 1 and tipo = 'RECEITA' and status = 'EFETIVADO'");
+
+		assertUsaIndice(plano, postgres ? "idx_lancamento_efetivado" : "idx_lancamento_usuario_tipo_status");
+	}
+
+	@Test
+	public void deveListarOsLancamentosDoAnoPeloIndice() {
+		String plano = explicar("select id, descricao, mes, ano, valor, id_usuario, tipo, status, versao from financas.lancamento "
+				+ "where id_usuario = 1 and ano = 2020 order by ano desc, mes desc, id desc");
+
+		assertUsaIndice(plano, "idx_lancamento_usuario_ano_mes");
+	}
+
+	@Test
+	public void deveLerSomenteAsParticoesDosAnosConsultados() {
+		assumeTrue(postgres);
+		jdbcTemplate.queryForList("select financas.criar_particao_lancamento(ano) from generate_series(2018, 2020) ano");
+
+		String ano = explicar("select id from financas.lancamento where id_usuario = 1 and ano = 2019");
+		assertTrue(ano.contains("lancamento_2019"), ano);
+		assertFalse(ano.contains("lancamento_2018") || ano.contains("lancamento_2020") || ano.contains("lancamento_padrao"), ano);
+
+		// mesmo formato da condição gerada por LancamentoSpecifications.aposCursor
+		String cursor = explicar("select id from financas.lancamento where id_usuario = 1 and ano <= 2019 "
+				+ "and (ano < 2019 or (ano = 2019 and mes < 6) or (ano = 2019 and mes = 6 and id < 100))");
+		assertFalse(cursor.contains("lancamento_2020"), cursor);
+	}
+
+	/**
+	 * No PostgreSQL o plano cita os índices de cada partição, criados a partir do índice
+	 * declarado na tabela particionada.
+	 */
+	private void assertUsaIndice(String plano, String indice) {
+		List<String> nomes = new ArrayList<>();
+		nomes.add(indice);
+		if (postgres) {
+			nomes.addAll(jdbcTemplate.queryForList("select c.relname from pg_inherits i "
+					+ "join pg_class c on c.oid = i.inhrelid where i.inhparent = ?::regclass", String.class,
+					"financas." + indice));
+		}
+		assertTrue(nomes.stream().anyMatch(plano::contains), plano);
+	}
+
+	private String explicar(String sql) {
+		List<String> linhas = jdbcTemplate.queryForList("explain " + sql, String.class);
+		return String.join("\n", linhas).toLowerCase(Locale.ROOT);
+	}
+}
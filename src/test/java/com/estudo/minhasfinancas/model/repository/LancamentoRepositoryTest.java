@@ -1,14 +1,20 @@
 package com.estudo.minhasfinancas.model.repository;
 
-import static org.junit.Assert.assertNotNull;
-import static org.junit.Assert.assertNull;
-import static org.junit.Assert.assertTrue;
+import static com.estudo.minhasfinancas.config.sql.ComandosSql.assertComandosSql;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,12 +22,20 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import com.estudo.minhasfinancas.model.entity.Lancamento;
+import com.estudo.minhasfinancas.model.entity.Usuario;
 import com.estudo.minhasfinancas.model.enums.StatusLancamento;
 import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+import com.estudo.minhasfinancas.model.repository.projection.LancamentoResumo;
+import com.estudo.minhasfinancas.model.repository.specification.CursorLancamento;
+import com.estudo.minhasfinancas.model.repository.specification.FiltroLancamento;
+import com.estudo.minhasfinancas.model.repository.specification.LancamentoSpecifications;
 
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
@@ -83,6 +97,134 @@ public class LancamentoRepositoryTest {
 		assertTrue(lancamentoEncontrado.isPresent());
 	}
 
+	@Test
+	public void deveBuscarFatiasPorCursorNaOrdemDecrescente() {
+		Usuario usuario = entityManager.persist(Usuario.builder().nome("usuario").email("usuario@email.com").build());
+		
+		Lancamento antigo = criarLancamento();
+		antigo.setUsuario(usuario);
+		entityManager.persist(antigo);
+		
+		Lancamento recente = criarLancamento();
+		recente.setUsuario(usuario);
+		recente.setMes(2);
+		entityManager.persist(recente);
+		
+		Lancamento deOutroAno = criarLancamento();
+		deOutroAno.setUsuario(usuario);
+		deOutroAno.setAno(2020);
+		entityManager.persist(deOutroAno);
+		
+		Specification<Lancamento> filtro = LancamentoSpecifications.filtrar(FiltroLancamento.builder()
+				.idUsuario(usuario.getId()).ano(2019).build());
+		
+		Slice<LancamentoResumo> primeira = repository.buscarFatia(filtro, PageRequest.of(0, 1, LancamentoSpecifications.ORDENACAO));
+		
+		assertTrue(primeira.hasNext());
+		assertEquals(recente.getId(), primeira.getContent().get(0).getId());
+		
+		CursorLancamento cursor = CursorLancamento.de(primeira.getContent().get(0));
+		Slice<LancamentoResumo> segunda = repository.buscarFatia(filtro.and(LancamentoSpecifications.aposCursor(cursor)), 
+				PageRequest.of(0, 1, LancamentoSpecifications.ORDENACAO));
+		
+		assertFalse(segunda.hasNext());
+		assertEquals(antigo.getId(), segunda.getContent().get(0).getId());
+	}
+
+	@Test
+	public void deveObterOResumoComApenasOIdDoUsuario() {
+		Usuario usuario = entityManager.persist(Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+		Lancamento lancamento = criarLancamento();
+		lancamento.setUsuario(usuario);
+		entityManager.persist(lancamento);
+		entityManager.flush();
+		entityManager.clear();
+		
+		Optional<LancamentoResumo> resumo = assertComandosSql(1, () -> repository.obterResumoPorId(lancamento.getId()));
+		
+		assertTrue(resumo.isPresent());
+		assertEquals(usuario.getId(), resumo.get().getUsuario());
+		assertEquals(TipoLancamento.RECEITA, resumo.get().getTipo());
+		
+		Lancamento encontrado = repository.findById(lancamento.getId()).get();
+		assertEquals(usuario.getId(), encontrado.getUsuario().getId());
+		assertFalse(Hibernate.isInitialized(encontrado.getUsuario()));
+	}
+	
+	@Test
+	public void deveLerParaAtualizarSomenteOLancamentoDoProprioUsuario() {
+		Usuario usuario = entityManager.persist(Usuario.builder().nome("usuario").email("usuario@email.com").build());
+		Lancamento lancamento = criarLancamento();
+		lancamento.setUsuario(usuario);
+		entityManager.persist(lancamento);
+		entityManager.flush();
+		entityManager.clear();
+		Long versaoLida = lancamento.getVersao();
+		
+		assertFalse(repository.obterParaAtualizar(lancamento.getId(), usuario.getId() + 1).isPresent());
+		
+		Lancamento gravado = repository.obterParaAtualizar(lancamento.getId(), usuario.getId()).get();
+		gravado.setDescricao("alterada");
+		
+		assertComandosSql(1, () -> {
+			entityManager.flush();
+			return null;
+		});
+		assertEquals(versaoLida + 1, gravado.getVersao());
+	}
+
+	@Test
+	public void devePercorrerOsLancamentosDoUsuarioDoMaisRecenteAoMaisAntigo() {
+		Usuario usuario = entityManager.persist(Usuario.builder().nome("usuario").email("usuario@email.com").build());
+		
+		Lancamento antigo = criarLancamento();
+		antigo.setUsuario(usuario);
+		entityManager.persist(antigo);
+		
+		Lancamento recente = criarLancamento();
+		recente.setUsuario(usuario);
+		recente.setAno(2020);
+		entityManager.persist(recente);
+		
+		entityManager.persist(criarLancamento());
+		
+		try (Stream<LancamentoResumo> lancamentos = repository.percorrerPorUsuario(usuario.getId())) {
+			assertEquals(Arrays.asList(recente.getId(), antigo.getId()), 
+					lancamentos.map(LancamentoResumo::getId).collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	public void devePercorrerOsResumosFiltradosEmUmaUnicaConsulta() {
+		Usuario usuario = entityManager.persist(Usuario.builder().nome("usuario").email("usuario@email.com").build());
+		
+		Lancamento antigo = criarLancamento();
+		antigo.setUsuario(usuario);
+		entityManager.persist(antigo);
+		
+		Lancamento recente = criarLancamento();
+		recente.setUsuario(usuario);
+		recente.setMes(2);
+		entityManager.persist(recente);
+		
+		Lancamento deOutroAno = criarLancamento();
+		deOutroAno.setUsuario(usuario);
+		deOutroAno.setAno(2020);
+		entityManager.persist(deOutroAno);
+		entityManager.flush();
+		
+		Specification<Lancamento> filtro = LancamentoSpecifications.filtrar(FiltroLancamento.builder()
+				.idUsuario(usuario.getId()).ano(2019).build());
+		
+		assertComandosSql(1, () -> {
+			try (Stream<LancamentoResumo> lancamentos = repository.percorrerResumos(filtro, LancamentoSpecifications.ORDENACAO)) {
+				assertEquals(Arrays.asList(recente.getId(), antigo.getId()), 
+						lancamentos.map(LancamentoResumo::getId).collect(Collectors.toList()));
+			}
+			return null;
+		});
+	}
+
 	private Lancamento criarEPersistirUmLancamento() {
 		Lancamento lancamento = criarLancamento();
 		entityManager.persist(lancamento);
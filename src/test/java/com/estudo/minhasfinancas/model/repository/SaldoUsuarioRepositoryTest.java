@@ -0,0 +1,150 @@
+package com.estudo.minhasfinancas.model.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.sql.Connection;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.estudo.minhasfinancas.model.dinheiro.Dinheiro;
+import com.estudo.minhasfinancas.model.entity.ResumoMensalId;
+import com.estudo.minhasfinancas.model.entity.SaldoUsuarioId;
+import com.estudo.minhasfinancas.model.entity.Usuario;
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+
+/**
+ * Acúmulo no saldo e no resumo mensal. No PostgreSQL, também duas primeiras escritas da
+ * mesma chave em transações concorrentes: a segunda começa enquanto a inserção da primeira
+ * ainda não foi confirmada, e ambas devem ser somadas. Sem transação do teste, porque cada
+ * escrita precisa da sua.
+ */
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SaldoUsuarioRepositoryTest {
+
+	@Autowired
+	SaldoUsuarioRepository repository;
+	
+	@Autowired
+	ResumoMensalRepository resumoMensalRepository;
+	
+	@Autowired
+	UsuarioRepository usuarioRepository;
+	
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+	
+	@Autowired
+	PlatformTransactionManager transactionManager;
+	
+	Usuario usuario;
+	
+	@BeforeEach
+	public void setUp() {
+		usuario = usuarioRepository.save(Usuario.builder().nome("usuario").email("concorrente@email.com").senha("senha").build());
+	}
+	
+	@AfterEach
+	public void limpar() {
+		jdbcTemplate.update("delete from financas.saldo_usuario where id_usuario = ?", usuario.getId());
+		jdbcTemplate.update("delete from financas.resumo_mensal where id_usuario = ?", usuario.getId());
+		usuarioRepository.deleteById(usuario.getId());
+	}
+	
+	@Test
+	public void deveCriarOSaldoNaPrimeiraEscritaESomarNasSeguintes() {
+		SaldoUsuarioId id = new SaldoUsuarioId(usuario.getId(), TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+		
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			repository.acumular(id, Dinheiro.deCentavos(1000));
+			repository.acumular(id, Dinheiro.deCentavos(-250));
+		});
+		
+		assertThat(repository.findById(id).get().getValor()).isEqualTo(Dinheiro.deCentavos(750));
+	}
+	
+	@Test
+	public void deveSomarAsPrimeirasEscritasConcorrentesDoSaldo() throws Exception {
+		assumeTrue(postgres());
+		SaldoUsuarioId id = new SaldoUsuarioId(usuario.getId(), TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+		
+		concorrer(() -> repository.acumular(id, Dinheiro.deCentavos(1000)), 
+				() -> repository.acumular(id, Dinheiro.deCentavos(55)));
+		
+		assertThat(repository.findById(id).get().getValor()).isEqualTo(Dinheiro.deCentavos(1055));
+	}
+	
+	@Test
+	public void deveSomarAsPrimeirasEscritasConcorrentesDoResumoMensal() throws Exception {
+		assumeTrue(postgres());
+		ResumoMensalId id = new ResumoMensalId(usuario.getId(), 2020, 1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE);
+		
+		concorrer(() -> resumoMensalRepository.acumular(id, Dinheiro.deCentavos(1000), 1l), 
+				() -> resumoMensalRepository.acumular(id, Dinheiro.deCentavos(100), 1l));
+		
+		assertThat(resumoMensalRepository.findById(id).get().getValor()).isEqualTo(Dinheiro.deCentavos(1100));
+		assertThat(resumoMensalRepository.findById(id).get().getQuantidade()).isEqualTo(2l);
+	}
+	
+	/**
+	 * A primeira escrita só confirma depois que a segunda já começou a sua.
+	 */
+	private void concorrer(Runnable primeira, Runnable segunda) throws Exception {
+		TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+		CountDownLatch primeiraGravada = new CountDownLatch(1);
+		CountDownLatch segundaIniciada = new CountDownLatch(1);
+		
+		CompletableFuture<Void> primeiraConfirmada = CompletableFuture.runAsync(() -> transacao.executeWithoutResult(status -> {
+			primeira.run();
+			primeiraGravada.countDown();
+			aguardar(segundaIniciada);
+		}));
+		
+		aguardar(primeiraGravada);
+		CompletableFuture<Void> segundaConfirmada = CompletableFuture.runAsync(() -> transacao.executeWithoutResult(status -> {
+			segundaIniciada.countDown();
+			segunda.run();
+		}));
+		
+		primeiraConfirmada.get(10, TimeUnit.SECONDS);
+		segundaConfirmada.get(10, TimeUnit.SECONDS);
+	}
+	
+	private boolean postgres() {
+		return jdbcTemplate.execute((Connection conexao) -> conexao.getMetaData().getDatabaseProductName())
+				.toLowerCase(Locale.ROOT).contains("postgres");
+	}
+	
+	private static void aguardar(CountDownLatch sinal) {
+		try {
+			sinal.await(10, TimeUnit.SECONDS);
+			// dá tempo à outra transação de chegar à escrita antes de seguir
+			Thread.sleep(200);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package com.estudo.minhasfinancas.model.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+
+/**
+ * Reaplica a migração V3_1 sobre lançamentos já gravados, como numa base existente, e
+ * confere que os blocos do otimizador pooled de Lancamento.id ficam acima do maior id.
+ * Sem transação do teste, porque o ALTER SEQUENCE do H2 confirma a transação corrente.
+ */
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SequenciaLancamentoTest {
+
+	private static final int EXISTENTES = 100;
+	private static final int TAMANHO_BLOCO = 50;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	LancamentoRepository repository;
+
+	boolean postgres;
+	long maiorExistente;
+	List<Long> inseridos = new ArrayList<>();
+
+	@BeforeEach
+	public void setUp() {
+		postgres = jdbcTemplate.execute((Connection conexao) -> conexao.getMetaData().getDatabaseProductName())
+				.toLowerCase(Locale.ROOT).contains("postgres");
+
+		// Ids gravados antes do Flyway, acima de tudo o que a sequência já entregou nesta base
+		Long inicio = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from financas.lancamento", Long.class)
+				+ jdbcTemplate.queryForObject("select nextval('financas.lancamento_id_seq')", Long.class) + 1000;
+		for(long id = inicio; id < inicio + EXISTENTES; id++) {
+			jdbcTemplate.update("insert into financas.lancamento (id, descricao, mes, ano, valor, tipo, status) "
+					+ "values (?, 'existente', 1, 2019, 10, 'RECEITA', 'PENDENTE')", id);
+		}
+		maiorExistente = inicio + EXISTENTES - 1;
+	}
+
+	@AfterEach
+	public void limpar() {
+		jdbcTemplate.update("delete from financas.lancamento where id >= ?", maiorExistente - EXISTENTES + 1);
+		inseridos.forEach(id -> jdbcTemplate.update("delete from financas.lancamento where id = ?", id));
+	}
+
+	@Test
+	public void deveInserirAcimaDosLancamentosExistentesAposAMigracao() {
+		new ResourceDatabasePopulator(new ClassPathResource("db/migration/" + (postgres ? "postgresql" : "h2")
+				+ "/V3_1__posicionar_sequencia_lancamento.sql")).execute(jdbcTemplate.getDataSource());
+
+		// Mais de um bloco: o bloco já reservado nesta JVM e ao menos um novo, lido da sequência
+		for(int i = 0; i < TAMANHO_BLOCO * 2 + 1; i++) {
+			Lancamento lancamento = repository.save(Lancamento.builder().descricao("novo").mes(2).ano(2019)
+					.valor(BigDecimal.TEN).tipo(TipoLancamento.RECEITA).status(StatusLancamento.PENDENTE)
+					.dataCadastro(LocalDate.now()).build());
+			inseridos.add(lancamento.getId());
+		}
+
+		assertEquals(EXISTENTES, jdbcTemplate.queryForObject(
+				"select count(*) from financas.lancamento where descricao = 'existente'", Integer.class));
+		assertEquals(inseridos.size(), inseridos.stream().distinct().count());
+		assertTrue(inseridos.stream().anyMatch(id -> id > maiorExistente));
+	}
+}
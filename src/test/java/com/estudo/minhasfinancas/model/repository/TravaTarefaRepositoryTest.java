@@ -0,0 +1,43 @@
+package com.estudo.minhasfinancas.model.repository;
+
+import java.time.LocalDateTime;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.estudo.minhasfinancas.model.entity.TravaTarefa;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+public class TravaTarefaRepositoryTest {
+
+	private static final String TRAVA = "tarefa-de-teste";
+	private static final LocalDateTime AGORA = LocalDateTime.of(2020, 1, 1, 12, 0);
+
+	@Autowired
+	TravaTarefaRepository repository;
+	
+	@Test
+	public void deveEntregarATravaAUmaInstanciaPorVezAteSerLiberadaOuVencer() {
+		repository.saveAndFlush(TravaTarefa.builder().nome(TRAVA).bloqueadaAte(AGORA.minusDays(1)).build());
+		
+		Assertions.assertThat(repository.adquirir(TRAVA, "a", AGORA, AGORA.plusHours(1))).isEqualTo(1);
+		Assertions.assertThat(repository.adquirir(TRAVA, "b", AGORA.plusMinutes(1), AGORA.plusHours(2))).isEqualTo(0);
+		Assertions.assertThat(repository.liberar(TRAVA, "b", AGORA.plusMinutes(1))).isEqualTo(0);
+		
+		Assertions.assertThat(repository.liberar(TRAVA, "a", AGORA.plusMinutes(2))).isEqualTo(1);
+		Assertions.assertThat(repository.adquirir(TRAVA, "b", AGORA.plusMinutes(3), AGORA.plusHours(2))).isEqualTo(1);
+		
+		// a trava de uma instância que caiu vence sozinha
+		Assertions.assertThat(repository.adquirir(TRAVA, "a", AGORA.plusHours(2), AGORA.plusHours(3))).isEqualTo(1);
+	}
+}
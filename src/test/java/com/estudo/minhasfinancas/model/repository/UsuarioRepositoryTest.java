@@ -1,8 +1,15 @@
 package com.estudo.minhasfinancas.model.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceException;
+
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,10 +17,14 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.estudo.minhasfinancas.model.entity.Usuario;
+import com.estudo.minhasfinancas.model.repository.projection.EmailUsuario;
 
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
@@ -27,6 +38,9 @@ public class UsuarioRepositoryTest {
 	@Autowired
 	TestEntityManager entityManager;
 	
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+	
 	@Test
 	public void deveVerificarAExistenciaDeUmEmail() {
 		Usuario usuario = criarUsuario();
@@ -71,6 +85,56 @@ public class UsuarioRepositoryTest {
 		Assertions.assertThat(result.isPresent()).isFalse();
 	}
 
+	@Test
+	public void naoDevePersistirDoisUsuariosComOMesmoEmail() {
+		entityManager.persist(criarUsuario());
+		
+		Assertions.assertThatThrownBy(() -> entityManager.persistAndFlush(criarUsuario()))
+			.isInstanceOf(PersistenceException.class);
+	}
+	
+	@Test
+	public void devePaginarOsEmailsPeloId() {
+		Long primeiro = entityManager.persistAndGetId(criarUsuario(), Long.class);
+		Long segundo = entityManager.persistAndGetId(
+				Usuario.builder().nome("outro").email("outro@email.com").senha("senha").build(), Long.class);
+		
+		List<EmailUsuario> pagina = repository.obterEmailsAposId(primeiro, PageRequest.of(0, 10));
+		
+		Assertions.assertThat(pagina).extracting(EmailUsuario::getId).containsExactly(segundo);
+		Assertions.assertThat(pagina).extracting(EmailUsuario::getEmail).containsExactly("outro@email.com");
+	}
+	
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void deveBuscarOUsuarioNoCacheDeSegundoNivelSemConsultarABase() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		Usuario usuario = repository.save(criarUsuario());
+		
+		try {
+			buscar(usuario.getId());
+			long comandos = statistics.getPrepareStatementCount();
+			long acertos = statistics.getSecondLevelCacheHitCount();
+			
+			Usuario result = buscar(usuario.getId());
+			
+			Assertions.assertThat(result.getEmail()).isEqualTo("usuario@email.com");
+			Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(comandos);
+			Assertions.assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(acertos + 1);
+		} finally {
+			repository.delete(usuario);
+		}
+	}
+	
+	private Usuario buscar(Long id) {
+		EntityManager em = entityManagerFactory.createEntityManager();
+		try {
+			return em.find(Usuario.class, id);
+		} finally {
+			em.close();
+		}
+	}
+
 	private Usuario criarUsuario() {
 		return Usuario.builder()
 				.nome("usuario").email("usuario@email.com")
@@ -0,0 +1,92 @@
+package com.estudo.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+import com.estudo.minhasfinancas.model.entity.Usuario;
+import com.estudo.minhasfinancas.model.repository.LancamentoRepository;
+import com.estudo.minhasfinancas.model.repository.projection.DescricaoLancamento;
+import com.estudo.minhasfinancas.service.impl.BuscaDescricaoMemoriaService;
+
+public class BuscaDescricaoMemoriaServiceTest {
+
+	BuscaDescricaoMemoriaService service;
+	
+	@BeforeEach
+	public void setUp() {
+		service = new BuscaDescricaoMemoriaService(Mockito.mock(LancamentoRepository.class));
+		
+		service.indexar(criarLancamento(1l, 1l, "Conta de luz"));
+		service.indexar(criarLancamento(2l, 1l, "Supermercado Pão de Açúcar"));
+		service.indexar(criarLancamento(3l, 1l, "Pão"));
+		service.indexar(criarLancamento(4l, 2l, "Pão"));
+	}
+	
+	@Test
+	public void deveOrdenarPelaRelevanciaSemConsiderarAcentos() {
+		List<Long> ids = service.buscar(1l, "pao acucar", 0, 10);
+		
+		assertThat(ids).containsExactly(2l, 3l);
+	}
+	
+	@Test
+	public void deveCasarPalavrasPorPrefixo() {
+		List<Long> ids = service.buscar(1l, "super", 0, 10);
+		
+		assertThat(ids).containsExactly(2l);
+	}
+	
+	@Test
+	public void deveRestringirAosLancamentosDoUsuario() {
+		assertThat(service.buscar(2l, "pao", 0, 10)).containsExactly(4l);
+		assertThat(service.buscar(3l, "pao", 0, 10)).isEmpty();
+	}
+	
+	@Test
+	public void deveManterOIndiceAoAtualizarERemover() {
+		service.indexar(criarLancamento(1l, 1l, "Conta de água"));
+		service.remover(3l);
+		
+		assertThat(service.buscar(1l, "luz", 0, 10)).isEmpty();
+		assertThat(service.buscar(1l, "agua", 0, 10)).containsExactly(1l);
+		assertThat(service.buscar(1l, "pao", 0, 10)).containsExactly(2l);
+	}
+	
+	@Test
+	public void devePaginarOResultado() {
+		assertThat(service.buscar(1l, "pao", 1, 1)).containsExactly(2l);
+	}
+	
+	@Test
+	public void deveReconstruirOIndiceAPartirDasDescricoes() {
+		List<DescricaoLancamento> descricoes = Arrays.asList(criarDescricao(5l, 1l, "Aluguel"), criarDescricao(6l, 2l, "Aluguel"));
+		LancamentoRepository repository = Mockito.mock(LancamentoRepository.class);
+		Mockito.when(repository.obterDescricoesAposId(Mockito.eq(0l), Mockito.any(Pageable.class))).thenReturn(descricoes);
+		BuscaDescricaoMemoriaService reconstruido = new BuscaDescricaoMemoriaService(repository);
+		
+		reconstruido.reconstruir();
+		
+		assertThat(reconstruido.buscar(1l, "aluguel", 0, 10)).containsExactly(5l);
+		Mockito.verify(repository, Mockito.never()).findAll();
+	}
+	
+	private Lancamento criarLancamento(Long id, Long idUsuario, String descricao) {
+		return Lancamento.builder().id(id).descricao(descricao).usuario(Usuario.builder().id(idUsuario).build()).build();
+	}
+	
+	private DescricaoLancamento criarDescricao(Long id, Long idUsuario, String descricao) {
+		DescricaoLancamento lancamento = Mockito.mock(DescricaoLancamento.class);
+		Mockito.when(lancamento.getId()).thenReturn(id);
+		Mockito.when(lancamento.getIdUsuario()).thenReturn(idUsuario);
+		Mockito.when(lancamento.getDescricao()).thenReturn(descricao);
+		return lancamento;
+	}
+}
@@ -0,0 +1,71 @@
+package com.estudo.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+
+import com.estudo.minhasfinancas.model.repository.UsuarioRepository;
+import com.estudo.minhasfinancas.model.repository.projection.EmailUsuario;
+import com.estudo.minhasfinancas.service.impl.FiltroEmailServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class FiltroEmailServiceTest {
+
+	UsuarioRepository repository = Mockito.mock(UsuarioRepository.class);
+	
+	FiltroEmailServiceImpl service = new FiltroEmailServiceImpl(repository, 1000, 0.01);
+	
+	SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	
+	@BeforeEach
+	public void setUp() {
+		service.bindTo(registry);
+	}
+	
+	@Test
+	public void deveEncaminharTodasAsConsultasAteOFiltroSerCarregado() {
+		assertThat(service.podeEstarCadastrado("novo@email.com")).isTrue();
+		assertThat(registry.get("minhasfinancas.usuario.filtro-emails.carregado").gauge().value()).isEqualTo(0);
+	}
+	
+	@Test
+	public void deveDescartarEmailsQueNaoForamCarregadosNemRegistrados() {
+		Mockito.when(repository.obterEmailsAposId(Mockito.eq(0l), Mockito.any(Pageable.class)))
+			.thenReturn(Arrays.asList(email(1l, "usuario@email.com")));
+		Mockito.when(repository.obterEmailsAposId(Mockito.eq(1l), Mockito.any(Pageable.class)))
+			.thenReturn(Collections.emptyList());
+		
+		service.carregar();
+		service.registrar("cadastrado@email.com");
+		
+		assertThat(service.podeEstarCadastrado("usuario@email.com")).isTrue();
+		assertThat(service.podeEstarCadastrado("cadastrado@email.com")).isTrue();
+		assertThat(service.podeEstarCadastrado("novo@email.com")).isFalse();
+		assertThat(registry.get("minhasfinancas.usuario.filtro-emails.consultas.descartadas").functionCounter().count())
+				.isEqualTo(1);
+		assertThat(registry.get("minhasfinancas.usuario.filtro-emails.falsos-positivos.taxa-estimada").gauge().value())
+				.isLessThan(0.01);
+	}
+	
+	private EmailUsuario email(Long id, String email) {
+		return new EmailUsuario() {
+			
+			@Override
+			public Long getId() {
+				return id;
+			}
+			
+			@Override
+			public String getEmail() {
+				return email;
+			}
+		};
+	}
+}
@@ -0,0 +1,166 @@
+package com.estudo.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.estudo.minhasfinancas.exception.RegraNegocioException;
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+import com.estudo.minhasfinancas.model.entity.Usuario;
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+import com.estudo.minhasfinancas.model.repository.LancamentoRepository;
+import com.estudo.minhasfinancas.model.repository.UsuarioRepository;
+import com.estudo.minhasfinancas.service.impl.ImportacaoLancamentoServiceImpl;
+import com.estudo.minhasfinancas.service.importacao.LinhaImportacao;
+import com.estudo.minhasfinancas.service.importacao.ResultadoImportacao;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "minhasfinancas.importacao.tamanho-lote=2")
+public class ImportacaoLancamentoServiceTest {
+
+	@MockBean
+	LancamentoService lancamentoService;
+	
+	@MockBean
+	LancamentoRepository repository;
+	
+	@MockBean
+	UsuarioRepository usuarioRepository;
+	
+	@MockBean
+	SaldoUsuarioService saldoService;
+	
+	@MockBean
+	RelatorioService relatorioService;
+	
+	@MockBean
+	BuscaDescricaoService buscaDescricaoService;
+	
+	@MockBean
+	PlatformTransactionManager transactionManager;
+	
+	@SpyBean
+	ImportacaoLancamentoServiceImpl service;
+	
+	@Test
+	public void deveImportarEmLotesEReportarAsLinhasRejeitadas() {
+		Lancamento invalido = criarLancamento(1l);
+		invalido.setValor(BigDecimal.ZERO);
+		Mockito.doThrow(new RegraNegocioException("Informe um Valor válido.")).when(lancamentoService).validar(invalido);
+		Mockito.when(usuarioRepository.obterIdsExistentes(Mockito.anyCollection())).thenReturn(Arrays.asList(1l));
+		
+		List<LinhaImportacao> linhas = Arrays.asList(
+				LinhaImportacao.valida(1, criarLancamento(1l)),
+				LinhaImportacao.valida(2, invalido),
+				LinhaImportacao.invalida(3, "Tipo ou status de lançamento inválido."),
+				LinhaImportacao.valida(4, criarLancamento(1l)),
+				LinhaImportacao.valida(5, criarLancamento(1l)));
+		
+		ResultadoImportacao resultado = service.importar(linhas.iterator());
+		
+		assertThat(resultado.getTotal()).isEqualTo(5);
+		assertThat(resultado.getImportados()).isEqualTo(3);
+		assertThat(resultado.getRejeitados()).isEqualTo(2);
+		assertThat(resultado.getLotes()).isEqualTo(2);
+		assertThat(resultado.getErros()).extracting("linha").containsExactly(2l, 3l);
+		Mockito.verify(repository, Mockito.times(2)).saveAll(Mockito.anyList());
+		Mockito.verify(saldoService, Mockito.times(2)).registrarTodos(Mockito.anyCollection());
+		Mockito.verify(relatorioService, Mockito.times(2)).registrarTodos(Mockito.anyCollection());
+	}
+	
+	@Test
+	public void deveRejeitarLinhasDeUsuariosInexistentes() {
+		Mockito.when(usuarioRepository.obterIdsExistentes(Mockito.anyCollection())).thenReturn(Collections.singletonList(1l));
+		
+		ResultadoImportacao resultado = service.importar(Arrays.asList(
+				LinhaImportacao.valida(1, criarLancamento(1l)),
+				LinhaImportacao.valida(2, criarLancamento(2l))).iterator());
+		
+		assertThat(resultado.getImportados()).isEqualTo(1);
+		assertThat(resultado.getErros()).extracting("linha").containsExactly(2l);
+	}
+	
+	@Test
+	public void deveRejeitarTodoOLoteQuandoAGravacaoFalhar() {
+		Mockito.when(usuarioRepository.obterIdsExistentes(Mockito.anyCollection())).thenReturn(Collections.singletonList(1l));
+		Mockito.when(repository.saveAll(Mockito.anyList())).thenThrow(new DataIntegrityViolationException("falha"));
+		
+		ResultadoImportacao resultado = service.importar(Arrays.asList(
+				LinhaImportacao.valida(1, criarLancamento(1l)),
+				LinhaImportacao.valida(2, criarLancamento(1l))).iterator());
+		
+		assertThat(resultado.getImportados()).isEqualTo(0);
+		assertThat(resultado.getRejeitados()).isEqualTo(2);
+	}
+	
+	@Test
+	public void deveRegravarLinhaALinhaERejeitarSomenteALinhaQueFalhar() {
+		Lancamento comFalha = criarLancamento(1l);
+		Mockito.when(usuarioRepository.obterIdsExistentes(Mockito.anyCollection())).thenReturn(Collections.singletonList(1l));
+		Mockito.when(repository.saveAll(Mockito.anyList())).thenAnswer(invocacao -> {
+			List<Lancamento> lancamentos = invocacao.getArgument(0);
+			if(lancamentos.stream().anyMatch(lancamento -> lancamento == comFalha)) {
+				throw new DataIntegrityViolationException("falha");
+			}
+			return lancamentos;
+		});
+		
+		ResultadoImportacao resultado = service.importar(Arrays.asList(
+				LinhaImportacao.valida(1, criarLancamento(1l)),
+				LinhaImportacao.valida(2, comFalha)).iterator());
+		
+		assertThat(resultado.getImportados()).isEqualTo(1);
+		assertThat(resultado.getLotes()).isEqualTo(1);
+		assertThat(resultado.getErros()).extracting("linha").containsExactly(2l);
+		Mockito.verify(repository, Mockito.times(3)).saveAll(Mockito.anyList());
+		Mockito.verify(saldoService, Mockito.times(1)).registrarTodos(Mockito.anyCollection());
+	}
+	
+	@Test
+	public void devePropagarFalhaDeLeituraDaEntrada() {
+		Mockito.when(usuarioRepository.obterIdsExistentes(Mockito.anyCollection())).thenReturn(Collections.singletonList(1l));
+		Iterator<LinhaImportacao> linhas = Arrays.asList(LinhaImportacao.valida(1, criarLancamento(1l))).iterator();
+		Iterator<LinhaImportacao> entradaComFalha = new Iterator<LinhaImportacao>() {
+			@Override
+			public boolean hasNext() {
+				if(!linhas.hasNext()) {
+					throw new UncheckedIOException(new IOException("conexão encerrada"));
+				}
+				return true;
+			}
+			
+			@Override
+			public LinhaImportacao next() {
+				return linhas.next();
+			}
+		};
+		
+		assertThatThrownBy(() -> service.importar(entradaComFalha)).isInstanceOf(UncheckedIOException.class);
+	}
+	
+	private Lancamento criarLancamento(Long idUsuario) {
+		return Lancamento.builder().ano(2019).mes(1).descricao("lancamento qualquer").valor(BigDecimal.valueOf(10))
+				.tipo(TipoLancamento.RECEITA).status(StatusLancamento.EFETIVADO)
+				.usuario(Usuario.builder().id(idUsuario).build()).build();
+	}
+}
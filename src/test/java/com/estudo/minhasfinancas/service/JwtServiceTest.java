@@ -0,0 +1,41 @@
+package com.estudo.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.estudo.minhasfinancas.model.entity.Usuario;
+import com.estudo.minhasfinancas.service.impl.JwtServiceImpl;
+
+public class JwtServiceTest {
+
+	static final String CHAVE = "chave-de-assinatura-dos-testes-com-32-bytes";
+	
+	JwtService service = new JwtServiceImpl(CHAVE, Duration.ofMinutes(30));
+	
+	@Test
+	public void deveObterOUsuarioDoTokenGerado() {
+		String token = service.gerarToken(Usuario.builder().id(7l).nome("usuario").build());
+		
+		assertThat(service.obterIdUsuario(token)).contains(7l);
+	}
+	
+	@Test
+	public void deveRecusarTokenAssinadoComOutraChaveOuExpirado() {
+		Usuario usuario = Usuario.builder().id(7l).build();
+		String outraChave = new JwtServiceImpl(CHAVE.toUpperCase(), Duration.ofMinutes(30)).gerarToken(usuario);
+		String expirado = new JwtServiceImpl(CHAVE, Duration.ofMinutes(-1)).gerarToken(usuario);
+		
+		assertThat(service.obterIdUsuario(outraChave)).isEmpty();
+		assertThat(service.obterIdUsuario(expirado)).isEmpty();
+		assertThat(service.obterIdUsuario("nao-e-um-token")).isEmpty();
+	}
+	
+	@Test
+	public void deveExigirChaveDeAoMenos256Bits() {
+		assertThrows(IllegalStateException.class, () -> new JwtServiceImpl("curta", Duration.ofMinutes(30)));
+	}
+}
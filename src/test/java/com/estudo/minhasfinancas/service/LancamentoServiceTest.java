@@ -7,20 +7,31 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
-import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
@@ -30,6 +41,12 @@ import com.estudo.minhasfinancas.model.entity.Usuario;
 import com.estudo.minhasfinancas.model.enums.StatusLancamento;
 import com.estudo.minhasfinancas.model.enums.TipoLancamento;
 import com.estudo.minhasfinancas.model.repository.LancamentoRepository;
+import com.estudo.minhasfinancas.model.repository.UsuarioRepository;
+import com.estudo.minhasfinancas.model.repository.projection.LancamentoResumo;
+import com.estudo.minhasfinancas.model.repository.projection.ValorLancamento;
+import com.estudo.minhasfinancas.model.repository.specification.CursorLancamento;
+import com.estudo.minhasfinancas.model.repository.specification.FiltroLancamento;
+import com.estudo.minhasfinancas.model.repository.specification.LancamentoSpecifications;
 import com.estudo.minhasfinancas.service.impl.LancamentoServiceImpl;
 
 @ExtendWith(SpringExtension.class)
@@ -42,6 +59,14 @@ public class LancamentoServiceTest {
 	LancamentoServiceImpl service;
 	@MockBean
 	LancamentoRepository repository;
+	@MockBean
+	SaldoUsuarioService saldoService;
+	@MockBean
+	RelatorioService relatorioService;
+	@MockBean
+	BuscaDescricaoService buscaDescricaoService;
+	@MockBean
+	UsuarioRepository usuarioRepository;
 	
 	@Test
 	public void deveSalvarUmLancamento() {
@@ -57,6 +82,11 @@ public class LancamentoServiceTest {
 		
 		assertEquals(lancamento.getId(), lancamentoSalvo.getId());
 		assertEquals(lancamento.getStatus(), StatusLancamento.PENDENTE);
+		InOrder ordem = Mockito.inOrder(usuarioRepository, saldoService);
+		ordem.verify(usuarioRepository).bloquear(Collections.singleton(1l));
+		ordem.verify(saldoService).registrar(lancamentoSalvo);
+		Mockito.verify(relatorioService).registrar(lancamentoSalvo);
+		Mockito.verify(buscaDescricaoService).indexar(lancamentoSalvo);
 	}
 
 	@Test
@@ -70,17 +100,65 @@ public class LancamentoServiceTest {
 	
 	@Test
 	public void deveAtualizarUmLancamento() {
-		Lancamento lancamentoSalvo = criarLancamento();
-		lancamentoSalvo.setId(1l);
-		lancamentoSalvo.setStatus(StatusLancamento.PENDENTE);
+		Lancamento gravado = criarLancamento();
+		gravado.setId(1l);
+		gravado.setVersao(3l);
+		
+		Lancamento lancamento = criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setDescricao("nova descricao");
+		lancamento.setValor(BigDecimal.valueOf(20));
+		
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(repository.obterParaAtualizar(1l, 1l)).thenReturn(Optional.of(gravado));
+		
+		Optional<Lancamento> atualizado = service.atualizar(lancamento);
+		
+		assertThat(atualizado).containsSame(gravado);
+		assertThat(gravado.getDescricao()).isEqualTo("nova descricao");
+		assertThat(gravado.getValor()).isEqualTo(BigDecimal.valueOf(20));
+		InOrder ordem = Mockito.inOrder(usuarioRepository, repository);
+		ordem.verify(usuarioRepository).bloquear(Collections.singleton(1l));
+		ordem.verify(repository).obterParaAtualizar(1l, 1l);
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+		ArgumentCaptor<ValorLancamento> valorGravado = ArgumentCaptor.forClass(ValorLancamento.class);
+		Mockito.verify(saldoService).substituir(valorGravado.capture(), Mockito.same(gravado));
+		assertThat(valorGravado.getValue().getValor()).isEqualTo(BigDecimal.valueOf(10));
+		Mockito.verify(relatorioService).substituir(Mockito.any(ValorLancamento.class), Mockito.same(gravado));
+		Mockito.verify(buscaDescricaoService).indexar(gravado);
+	}
+	
+	@Test
+	public void naoDeveAtualizarUmLancamentoDeOutroUsuario() {
+		Lancamento lancamento = criarLancamento();
+		lancamento.setId(1l);
+		
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(repository.obterParaAtualizar(1l, 1l)).thenReturn(Optional.empty());
+		
+		assertThat(service.atualizar(lancamento)).isEmpty();
+		Mockito.verify(saldoService, Mockito.never()).substituir(Mockito.any(), Mockito.any());
+		Mockito.verify(relatorioService, Mockito.never()).substituir(Mockito.any(), Mockito.any());
+	}
+	
+	@Test
+	public void deveLancarErroDeConcorrenciaQuandoAVersaoEstiverDesatualizada() {
+		Lancamento gravado = criarLancamento();
+		gravado.setId(1l);
+		gravado.setVersao(3l);
 		
-		Mockito.doNothing().when(service).validar(lancamentoSalvo);
+		Lancamento lancamento = criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setVersao(2l);
+		lancamento.setDescricao("escrita concorrente");
 		
-		Mockito.when(repository.save(lancamentoSalvo)).thenReturn(lancamentoSalvo);
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(repository.obterParaAtualizar(1l, 1l)).thenReturn(Optional.of(gravado));
 		
-		service.atualizar(lancamentoSalvo);
+		catchThrowableOfType(() -> service.atualizar(lancamento), ObjectOptimisticLockingFailureException.class);
 		
-		Mockito.verify(repository, Mockito.times(1)).save(lancamentoSalvo);
+		assertThat(gravado.getDescricao()).isEqualTo("lancamento qualquer");
+		Mockito.verify(saldoService, Mockito.never()).substituir(Mockito.any(), Mockito.any());
 	}
 	
 	@Test
@@ -96,9 +174,15 @@ public class LancamentoServiceTest {
 		Lancamento lancamento = criarLancamento();
 		lancamento.setId(1l);
 		
+		ValorLancamento valorGravado = Mockito.mock(ValorLancamento.class);
+		Mockito.when(repository.obterValorGravado(1l)).thenReturn(Optional.of(valorGravado));
+		
 		service.deletar(lancamento);
 		
 		Mockito.verify(repository).delete(lancamento);
+		Mockito.verify(saldoService).estornar(valorGravado);
+		Mockito.verify(relatorioService).estornar(valorGravado);
+		Mockito.verify(buscaDescricaoService).remover(1l);
 	}
 	
 	@Test
@@ -112,14 +196,12 @@ public class LancamentoServiceTest {
 	
 	@Test
 	public void deveFiltarLancamentos() {
-		Lancamento lancamento = criarLancamento();
-		lancamento.setId(1l);
-		
+		LancamentoResumo lancamento = criarResumo(1l);
 		
-		List<Lancamento> lista = Arrays.asList(lancamento);
-		Mockito.when(repository.findAll(Mockito.any(Example.class))).thenReturn(lista);
+		List<LancamentoResumo> lista = Arrays.asList(lancamento);
+		Mockito.when(repository.buscarResumos(Mockito.any(Specification.class), Mockito.any(Sort.class))).thenReturn(lista);
 		
-		List<Lancamento> resultado = service.buscar(lancamento);
+		List<LancamentoResumo> resultado = service.buscar(FiltroLancamento.builder().idUsuario(1l).ano(2019).build());
 		
 		assertThat(resultado)
 			.isNotEmpty()
@@ -127,19 +209,61 @@ public class LancamentoServiceTest {
 			.contains(lancamento);
 	}
 	
+	@Test
+	public void deveBuscarUmaFatiaAposOCursor() {
+		LancamentoResumo lancamento = criarResumo(1l);
+		
+		Slice<LancamentoResumo> fatia = new SliceImpl<>(Arrays.asList(lancamento));
+		Mockito.when(repository.buscarFatia(Mockito.any(Specification.class), Mockito.any(Pageable.class))).thenReturn(fatia);
+		
+		Slice<LancamentoResumo> resultado = service.buscar(FiltroLancamento.builder().idUsuario(1l).build(), 
+				new CursorLancamento(2020, 5, 10l), 3, 20);
+		
+		ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+		Mockito.verify(repository).buscarFatia(Mockito.any(Specification.class), pageable.capture());
+		assertThat(pageable.getValue().getPageNumber()).isEqualTo(0);
+		assertThat(pageable.getValue().getPageSize()).isEqualTo(20);
+		assertThat(resultado.getContent()).containsExactly(lancamento);
+	}
+	
+	@Test
+	public void deveLancarErroAoBuscarComTamanhoDePaginaInvalido() {
+		Throwable erro = catchThrowable(() -> service.buscar(FiltroLancamento.builder().build(), null, 0, 0));
+		
+		assertThat(erro).isInstanceOf(RegraNegocioException.class);
+		Mockito.verify(repository, Mockito.never()).buscarFatia(Mockito.any(), Mockito.any());
+	}
+	
+	@Test
+	public void deveBuscarPorDescricaoNaOrdemDeRelevancia() {
+		LancamentoResumo maisRelevante = criarResumo(2l);
+		LancamentoResumo menosRelevante = criarResumo(1l);
+		
+		Mockito.when(buscaDescricaoService.buscar(1l, "mercado", 0, 3)).thenReturn(Arrays.asList(2l, 1l, 3l));
+		Mockito.when(repository.obterResumosPorIds(Arrays.asList(2l, 1l))).thenReturn(Arrays.asList(menosRelevante, maisRelevante));
+		
+		Slice<LancamentoResumo> resultado = service.buscarPorDescricao(1l, " mercado ", 0, 2);
+		
+		assertThat(resultado.getContent()).containsExactly(maisRelevante, menosRelevante);
+		assertThat(resultado.hasNext()).isTrue();
+	}
+	
 	@Test
 	public void deveAtualizarOStatusDemUmLancamento() {
-		Lancamento lancamento = criarLancamento();
-		lancamento.setId(1l);
-		lancamento.setStatus(StatusLancamento.PENDENTE);
+		Lancamento gravado = criarLancamento();
+		gravado.setId(1l);
+		gravado.setStatus(StatusLancamento.PENDENTE);
 		
-		StatusLancamento novoStatus = StatusLancamento.EFETIVADO;
-		Mockito.doReturn(lancamento).when(service).atualizar(lancamento);
+		Lancamento lancamento = Lancamento.builder().id(1l).usuario(Usuario.builder().id(1l).build()).build();
+		Mockito.when(repository.obterParaAtualizar(1l, 1l)).thenReturn(Optional.of(gravado));
 		
-		service.atualizarStatus(lancamento, novoStatus);
+		StatusLancamento novoStatus = StatusLancamento.EFETIVADO;
+		Optional<Lancamento> atualizado = service.atualizarStatus(lancamento, novoStatus);
 		
-		assertThat(lancamento.getStatus()).isEqualTo(novoStatus);
-		Mockito.verify(service).atualizar(lancamento);
+		assertThat(atualizado).containsSame(gravado);
+		assertThat(gravado.getStatus()).isEqualTo(novoStatus);
+		Mockito.verify(service, Mockito.never()).atualizar(Mockito.any());
+		Mockito.verify(saldoService).substituir(Mockito.any(ValorLancamento.class), Mockito.same(gravado));
 	}
 	
 	@Test
@@ -182,6 +306,11 @@ public class LancamentoServiceTest {
 		erro = catchThrowable(() -> service.validar(lancamento));
 		assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("informe uma Descrição válida.");
 		
+		lancamento.setDescricao(String.join("", Collections.nCopies(101, "a")));
+		
+		erro = catchThrowable(() -> service.validar(lancamento));
+		assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Informe uma Descrição de até 100 caracteres.");
+		
 		lancamento.setDescricao("Salario");
 		
 		erro = catchThrowable(() -> service.validar(lancamento));
@@ -227,14 +356,62 @@ public class LancamentoServiceTest {
 		erro = catchThrowable(() -> service.validar(lancamento));
 		assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Informe um Valor válido.");
 		
+		lancamento.setValor(new BigDecimal("100000000000000.00"));
+		
+		erro = catchThrowable(() -> service.validar(lancamento));
+		assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Informe um Valor válido.");
+		
 		lancamento.setValor(BigDecimal.valueOf(1));
 		
 		erro = catchThrowable(() -> service.validar(lancamento));
 		assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Informe um tipo de Lançamento.");
 	}
 	
+	@Test
+	public void deveObterOSaldoMaterializadoDoUsuario() {
+		Mockito.when(saldoService.obterSaldo(1l)).thenReturn(BigDecimal.valueOf(150));
+		
+		BigDecimal saldo = service.obterSaldoPorUsuario(1l);
+		
+		assertThat(saldo).isEqualByComparingTo(BigDecimal.valueOf(150));
+	}
+	
+	@Test
+	public void deveEntregarOsLancamentosExportadosEFecharOStream() {
+		AtomicBoolean fechado = new AtomicBoolean();
+		Stream<LancamentoResumo> lancamentos = Stream.of(criarResumo(2l), criarResumo(1l)).onClose(() -> fechado.set(true));
+		Mockito.when(repository.percorrerPorUsuario(1l)).thenReturn(lancamentos);
+		
+		List<Long> exportados = new ArrayList<>();
+		service.exportar(1l, lancamento -> exportados.add(lancamento.getId()));
+		
+		assertThat(exportados).containsExactly(2l, 1l);
+		assertThat(fechado).isTrue();
+	}
+	
+	@Test
+	public void deveEntregarOsLancamentosBuscadosEmFluxoEFecharOStream() {
+		AtomicBoolean fechado = new AtomicBoolean();
+		Stream<LancamentoResumo> lancamentos = Stream.of(criarResumo(3l), criarResumo(1l)).onClose(() -> fechado.set(true));
+		Mockito.when(repository.percorrerResumos(Mockito.any(), Mockito.eq(LancamentoSpecifications.ORDENACAO)))
+				.thenReturn(lancamentos);
+		
+		List<Long> entregues = new ArrayList<>();
+		service.percorrer(FiltroLancamento.builder().idUsuario(1l).ano(2019).build(), 
+				lancamento -> entregues.add(lancamento.getId()));
+		
+		assertThat(entregues).containsExactly(3l, 1l);
+		assertThat(fechado).isTrue();
+	}
+	
+	private LancamentoResumo criarResumo(Long id) {
+		return new LancamentoResumo(id, "lancamento qualquer", 1, 2019, BigDecimal.valueOf(10), 1l, 
+				TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 0l);
+	}
+	
 	private Lancamento criarLancamento() {
 		return Lancamento.builder().ano(2019).mes(1).descricao("lancamento qualquer").valor(BigDecimal.valueOf(10))
-				.tipo(TipoLancamento.RECEITA).status(StatusLancamento.PENDENTE).dataCadastro(LocalDate.now()).build();
+				.usuario(Usuario.builder().id(1l).build()).tipo(TipoLancamento.RECEITA).status(StatusLancamento.PENDENTE)
+				.dataCadastro(LocalDate.now()).build();
 	}
 }
@@ -0,0 +1,269 @@
+package com.estudo.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.estudo.minhasfinancas.exception.RegraNegocioException;
+import com.estudo.minhasfinancas.model.dinheiro.Dinheiro;
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+import com.estudo.minhasfinancas.model.entity.ResumoMensal;
+import com.estudo.minhasfinancas.model.entity.ResumoMensalId;
+import com.estudo.minhasfinancas.model.entity.Usuario;
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+import com.estudo.minhasfinancas.model.repository.LancamentoRepository;
+import com.estudo.minhasfinancas.model.repository.ResumoMensalRepository;
+import com.estudo.minhasfinancas.model.repository.UsuarioRepository;
+import com.estudo.minhasfinancas.model.repository.projection.TotalLancamentos;
+import com.estudo.minhasfinancas.model.repository.projection.TotalLancamentosUsuario;
+import com.estudo.minhasfinancas.model.repository.projection.ValorLancamento;
+import com.estudo.minhasfinancas.service.impl.RelatorioServiceImpl;
+import com.estudo.minhasfinancas.service.relatorio.Relatorio;
+import com.estudo.minhasfinancas.service.relatorio.TotalPeriodo;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class RelatorioServiceTest {
+
+	@MockBean
+	ResumoMensalRepository repository;
+	
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+	
+	@MockBean
+	UsuarioRepository usuarioRepository;
+	
+	@SpyBean
+	RelatorioServiceImpl service;
+	
+	@Test
+	public void deveAcumularOLancamentoNoResumoDoMes() {
+		service.registrar(criarLancamento(3, BigDecimal.TEN));
+		
+		Mockito.verify(repository).acumular(criarId(3, TipoLancamento.RECEITA, StatusLancamento.PENDENTE), Dinheiro.de(BigDecimal.TEN), 1l);
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any(ResumoMensal.class));
+	}
+	
+	@Test
+	public void deveAgruparOsLancamentosPorMesAntesDeAtualizar() {
+		service.registrarTodos(Arrays.asList(criarLancamento(3, BigDecimal.TEN), criarLancamento(3, BigDecimal.ONE), 
+				criarLancamento(4, BigDecimal.ONE)));
+		
+		Mockito.verify(repository).acumular(criarId(3, TipoLancamento.RECEITA, StatusLancamento.PENDENTE), 
+				Dinheiro.de(BigDecimal.valueOf(11)), 2l);
+		Mockito.verify(repository).acumular(criarId(4, TipoLancamento.RECEITA, StatusLancamento.PENDENTE), 
+				Dinheiro.de(BigDecimal.ONE), 1l);
+	}
+	
+	@Test
+	public void deveEstornarOValorEAQuantidadeGravados() {
+		ValorLancamento valorGravado = Mockito.mock(ValorLancamento.class);
+		Mockito.when(valorGravado.getIdUsuario()).thenReturn(1l);
+		Mockito.when(valorGravado.getAno()).thenReturn(2020);
+		Mockito.when(valorGravado.getMes()).thenReturn(5);
+		Mockito.when(valorGravado.getTipo()).thenReturn(TipoLancamento.DESPESA);
+		Mockito.when(valorGravado.getStatus()).thenReturn(StatusLancamento.EFETIVADO);
+		Mockito.when(valorGravado.getValor()).thenReturn(BigDecimal.TEN);
+		service.estornar(valorGravado);
+		
+		Mockito.verify(repository).acumular(criarId(5, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO), 
+				Dinheiro.de(BigDecimal.TEN).negar(), -1l);
+	}
+	
+	@Test
+	public void naoDeveAlterarOResumoQuandoNemAChaveNemOValorMudam() {
+		service.substituir(ValorLancamento.de(criarLancamento(3, BigDecimal.TEN)), criarLancamento(3, new BigDecimal("10.00")));
+		
+		Mockito.verifyNoInteractions(repository);
+	}
+	
+	@Test
+	public void deveMoverOLancamentoEntreOsMeses() {
+		service.substituir(ValorLancamento.de(criarLancamento(3, BigDecimal.TEN)), criarLancamento(4, BigDecimal.ONE));
+		
+		Mockito.verify(repository).acumular(criarId(3, TipoLancamento.RECEITA, StatusLancamento.PENDENTE), 
+				Dinheiro.de(BigDecimal.TEN).negar(), -1l);
+		Mockito.verify(repository).acumular(criarId(4, TipoLancamento.RECEITA, StatusLancamento.PENDENTE), 
+				Dinheiro.de(BigDecimal.ONE), 1l);
+	}
+	
+	@Test
+	public void deveMontarOsDozeMesesDoAnoIgnorandoCancelados() {
+		Mockito.when(repository.findByIdIdUsuarioAndIdAnoOrderByIdMes(1l, 2020)).thenReturn(Arrays.asList(
+				criarResumo(1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(100), 1l),
+				criarResumo(1, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, BigDecimal.valueOf(30), 2l),
+				criarResumo(1, TipoLancamento.DESPESA, StatusLancamento.CANCELADO, BigDecimal.valueOf(50), 1l),
+				criarResumo(12, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(20), 1l)));
+		
+		Relatorio relatorio = service.obterRelatorioMensal(1l, 2020);
+		
+		assertThat(relatorio.getPeriodos()).hasSize(12);
+		assertThat(relatorio.getPeriodos().get(0).getReceitas()).isEqualByComparingTo("100");
+		assertThat(relatorio.getPeriodos().get(0).getDespesas()).isEqualByComparingTo("30");
+		assertThat(relatorio.getPeriodos().get(0).getSaldo()).isEqualByComparingTo("70");
+		assertThat(relatorio.getPeriodos().get(0).getSaldoEfetivado()).isEqualByComparingTo("100");
+		assertThat(relatorio.getPeriodos().get(0).getQuantidade()).isEqualTo(3);
+		assertThat(relatorio.getPeriodos().get(5).getQuantidade()).isEqualTo(0);
+		assertThat(relatorio.getTotal().getSaldo()).isEqualByComparingTo("50");
+		assertThat(relatorio.getTotal().getSaldoEfetivado()).isEqualByComparingTo("80");
+	}
+	
+	@Test
+	public void deveIndicarDivergenciaEntreOsResumosEOsLancamentos() {
+		TotalLancamentos total = Mockito.mock(TotalLancamentos.class);
+		Mockito.when(total.getAno()).thenReturn(2020);
+		Mockito.when(total.getMes()).thenReturn(3);
+		Mockito.when(total.getTipo()).thenReturn(TipoLancamento.RECEITA);
+		Mockito.when(total.getStatus()).thenReturn(StatusLancamento.PENDENTE);
+		Mockito.when(total.getValor()).thenReturn(BigDecimal.TEN);
+		Mockito.when(total.getQuantidade()).thenReturn(2l);
+		Mockito.when(lancamentoRepository.obterTotaisMensaisPorUsuario(1l)).thenReturn(Arrays.asList(total));
+		Mockito.when(repository.findByIdIdUsuario(1l)).thenReturn(Collections.singletonList(
+				criarResumo(3, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.TEN, 1l)));
+		
+		assertThat(service.verificar(1l)).isFalse();
+		
+		Mockito.when(repository.findByIdIdUsuario(1l)).thenReturn(Collections.singletonList(
+				criarResumo(3, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, new BigDecimal("10.00"), 2l)));
+		
+		assertThat(service.verificar(1l)).isTrue();
+	}
+	
+	@Test
+	public void deveRecalcularOsResumosSobATravaDoUsuarioApenasSeAindaDivergirem() {
+		TotalLancamentos total = Mockito.mock(TotalLancamentos.class);
+		Mockito.when(total.getAno()).thenReturn(2020);
+		Mockito.when(total.getMes()).thenReturn(3);
+		Mockito.when(total.getTipo()).thenReturn(TipoLancamento.RECEITA);
+		Mockito.when(total.getStatus()).thenReturn(StatusLancamento.PENDENTE);
+		Mockito.when(total.getValor()).thenReturn(BigDecimal.TEN);
+		Mockito.when(total.getQuantidade()).thenReturn(1l);
+		Mockito.when(lancamentoRepository.obterTotaisMensaisPorUsuario(1l)).thenReturn(Arrays.asList(total));
+		
+		service.recalcular(1l);
+		
+		InOrder ordem = Mockito.inOrder(usuarioRepository, repository);
+		ordem.verify(usuarioRepository).bloquear(Collections.singleton(1l));
+		ordem.verify(repository).deletarPorUsuario(1l);
+		ordem.verify(repository).saveAll(Mockito.anyCollection());
+		
+		Mockito.clearInvocations(repository);
+		Mockito.when(repository.findByIdIdUsuario(1l)).thenReturn(Collections.singletonList(
+				criarResumo(3, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.TEN, 1l)));
+		
+		service.recalcular(1l);
+		
+		Mockito.verify(repository, Mockito.never()).deletarPorUsuario(1l);
+	}
+	
+	@Test
+	public void deveMontarOsRelatoriosDeVariosUsuariosNaOrdemInformada() {
+		Mockito.when(repository.obterTotaisMensaisPorUsuarios(new LinkedHashSet<>(Arrays.asList(2l, 1l, 3l)), 2020))
+			.thenReturn(Arrays.asList(
+				criarTotal(1l, 2020, 1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, "100.10", 1l),
+				criarTotal(2l, 2020, 1, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, "30.05", 2l),
+				criarTotal(2l, 2020, 1, TipoLancamento.DESPESA, StatusLancamento.CANCELADO, "50", 1l),
+				criarTotal(2l, 2020, 12, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, "20", 1l)));
+		
+		List<Relatorio> relatorios = service.obterRelatorios(Arrays.asList(2l, 1l, 3l, 2l), 2020);
+		
+		assertThat(relatorios).extracting(Relatorio::getUsuario).containsExactly(2l, 1l, 3l);
+		assertThat(relatorios.get(0).getPeriodos()).hasSize(12);
+		assertThat(relatorios.get(0).getPeriodos().get(0).getDespesas()).isEqualByComparingTo("30.05");
+		assertThat(relatorios.get(0).getPeriodos().get(0).getQuantidade()).isEqualTo(2);
+		assertThat(relatorios.get(0).getTotal().getSaldo()).isEqualByComparingTo("-10.05");
+		assertThat(relatorios.get(0).getTotal().getSaldoEfetivado()).isEqualByComparingTo("20");
+		assertThat(relatorios.get(1).getTotal().getReceitas()).isEqualByComparingTo("100.10");
+		assertThat(relatorios.get(2).getTotal().getSaldo()).isEqualByComparingTo("0");
+		Mockito.verify(repository, Mockito.never()).findByIdIdUsuarioAndIdAnoOrderByIdMes(Mockito.anyLong(), Mockito.anyInt());
+	}
+	
+	@Test
+	public void deveSomarEmParaleloOMesmoQueOsTotaisDoPeriodo() {
+		Random aleatorio = new Random(7);
+		List<TotalLancamentosUsuario> totais = new ArrayList<>();
+		Map<Long, TotalPeriodo> esperados = new HashMap<>();
+		
+		for(int i = 0; i < 30000; i++) {
+			long idUsuario = aleatorio.nextInt(50);
+			TipoLancamento tipo = TipoLancamento.values()[aleatorio.nextInt(TipoLancamento.values().length)];
+			StatusLancamento status = StatusLancamento.values()[aleatorio.nextInt(StatusLancamento.values().length)];
+			BigDecimal valor = BigDecimal.valueOf(aleatorio.nextInt(1000000), 2);
+			
+			totais.add(criarTotal(idUsuario, 2015 + aleatorio.nextInt(10), null, tipo, status, valor.toPlainString(), 1l));
+			esperados.computeIfAbsent(idUsuario, id -> new TotalPeriodo(null, null)).somar(tipo, status, valor, 1l);
+		}
+		Mockito.when(repository.obterTotaisAnuaisPorUsuarios(Mockito.any())).thenReturn(totais);
+		
+		List<Relatorio> relatorios = service.obterRelatorios(esperados.keySet(), null);
+		
+		for(Relatorio relatorio : relatorios) {
+			TotalPeriodo esperado = esperados.get(relatorio.getUsuario());
+			assertThat(relatorio.getTotal().getReceitas()).isEqualByComparingTo(esperado.getReceitas());
+			assertThat(relatorio.getTotal().getDespesas()).isEqualByComparingTo(esperado.getDespesas());
+			assertThat(relatorio.getTotal().getSaldoEfetivado()).isEqualByComparingTo(esperado.getSaldoEfetivado());
+			assertThat(relatorio.getTotal().getQuantidade()).isEqualTo(esperado.getQuantidade());
+		}
+	}
+	
+	@Test
+	public void deveRecusarOsRelatoriosSemUsuariosOuComUsuariosDemais() {
+		List<Long> muitos = LongStream.rangeClosed(1, 1001).boxed().collect(Collectors.toList());
+		
+		assertThat(catchThrowable(() -> service.obterRelatorios(Collections.emptyList(), null)))
+			.isInstanceOf(RegraNegocioException.class);
+		assertThat(catchThrowable(() -> service.obterRelatorios(muitos, null)))
+			.isInstanceOf(RegraNegocioException.class);
+	}
+	
+	private TotalLancamentosUsuario criarTotal(Long idUsuario, Integer ano, Integer mes, TipoLancamento tipo, 
+			StatusLancamento status, String valor, Long quantidade) {
+		return new TotalLancamentosUsuario() {
+			public Long getIdUsuario() { return idUsuario; }
+			public Integer getAno() { return ano; }
+			public Integer getMes() { return mes; }
+			public TipoLancamento getTipo() { return tipo; }
+			public StatusLancamento getStatus() { return status; }
+			public Dinheiro getValor() { return Dinheiro.de(new BigDecimal(valor)); }
+			public Long getQuantidade() { return quantidade; }
+		};
+	}
+	
+	private ResumoMensal criarResumo(Integer mes, TipoLancamento tipo, StatusLancamento status, BigDecimal valor, 
+			Long quantidade) {
+		return ResumoMensal.builder()
+				.id(criarId(mes, tipo, status))
+				.valor(Dinheiro.de(valor)).quantidade(quantidade).build();
+	}
+	
+	private ResumoMensalId criarId(Integer mes, TipoLancamento tipo, StatusLancamento status) {
+		return new ResumoMensalId(1l, 2020, mes, tipo, status);
+	}
+	
+	private Lancamento criarLancamento(Integer mes, BigDecimal valor) {
+		return Lancamento.builder().usuario(Usuario.builder().id(1l).build()).ano(2020).mes(mes)
+				.valor(valor).tipo(TipoLancamento.RECEITA).status(StatusLancamento.PENDENTE).build();
+	}
+}
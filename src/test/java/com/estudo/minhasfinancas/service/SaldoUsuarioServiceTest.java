@@ -0,0 +1,162 @@
+package com.estudo.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.estudo.minhasfinancas.model.dinheiro.Dinheiro;
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+import com.estudo.minhasfinancas.model.entity.SaldoUsuario;
+import com.estudo.minhasfinancas.model.entity.SaldoUsuarioId;
+import com.estudo.minhasfinancas.model.entity.Usuario;
+import com.estudo.minhasfinancas.model.enums.StatusLancamento;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+import com.estudo.minhasfinancas.model.repository.LancamentoRepository;
+import com.estudo.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.estudo.minhasfinancas.model.repository.UsuarioRepository;
+import com.estudo.minhasfinancas.model.repository.projection.ValorLancamento;
+import com.estudo.minhasfinancas.service.impl.SaldoUsuarioServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class SaldoUsuarioServiceTest {
+
+	@MockBean
+	SaldoUsuarioRepository repository;
+	
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+	
+	@MockBean
+	UsuarioRepository usuarioRepository;
+	
+	@SpyBean
+	SaldoUsuarioServiceImpl service;
+	
+	@Test
+	public void deveAcumularOValorDoLancamentoNoSaldoDaChave() {
+		service.registrar(criarLancamento());
+		
+		Mockito.verify(repository).acumular(new SaldoUsuarioId(1l, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO), 
+				Dinheiro.de(BigDecimal.TEN));
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any(SaldoUsuario.class));
+	}
+	
+	@Test
+	public void deveEstornarOValorGravado() {
+		ValorLancamento valorGravado = criarValor(TipoLancamento.DESPESA, StatusLancamento.PENDENTE, BigDecimal.TEN);
+		
+		service.estornar(valorGravado);
+		
+		Mockito.verify(repository).acumular(new SaldoUsuarioId(1l, TipoLancamento.DESPESA, StatusLancamento.PENDENTE), 
+				Dinheiro.de(BigDecimal.TEN).negar());
+	}
+	
+	@Test
+	public void deveSubstituirOValorComUmUnicoComandoQuandoAChaveNaoMuda() {
+		ValorLancamento valorGravado = criarValor(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, BigDecimal.ONE);
+		
+		service.substituir(valorGravado, criarLancamento());
+		
+		Mockito.verify(repository).acumular(new SaldoUsuarioId(1l, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO), 
+				Dinheiro.de(BigDecimal.valueOf(9)));
+		Mockito.verifyNoMoreInteractions(repository);
+	}
+	
+	@Test
+	public void deveEstornarERegistrarQuandoAChaveMuda() {
+		ValorLancamento valorGravado = criarValor(TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.TEN);
+		
+		service.substituir(valorGravado, criarLancamento());
+		
+		Mockito.verify(repository).acumular(new SaldoUsuarioId(1l, TipoLancamento.RECEITA, StatusLancamento.PENDENTE), 
+				Dinheiro.de(BigDecimal.TEN).negar());
+		Mockito.verify(repository).acumular(new SaldoUsuarioId(1l, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO), 
+				Dinheiro.de(BigDecimal.TEN));
+	}
+	
+	@Test
+	public void deveCalcularOSaldoPelaChavePrimaria() {
+		Mockito.when(repository.findById(new SaldoUsuarioId(1l, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO)))
+			.thenReturn(Optional.of(criarSaldo(TipoLancamento.RECEITA, BigDecimal.valueOf(300))));
+		Mockito.when(repository.findById(new SaldoUsuarioId(1l, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO)))
+			.thenReturn(Optional.empty());
+		
+		BigDecimal saldo = service.obterSaldo(1l);
+		
+		assertThat(saldo).isEqualByComparingTo(BigDecimal.valueOf(300));
+	}
+	
+	@Test
+	public void deveIndicarDivergenciaEntreOSaldoEOsLancamentos() {
+		ValorLancamento total = criarValor(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(100));
+		Mockito.when(lancamentoRepository.obterTotaisPorUsuario(1l)).thenReturn(Arrays.asList(total));
+		Mockito.when(repository.findByIdIdUsuario(1l)).thenReturn(Collections.singletonList(
+				criarSaldo(TipoLancamento.RECEITA, BigDecimal.valueOf(90))));
+		
+		assertThat(service.verificar(1l)).isFalse();
+		
+		Mockito.when(repository.findByIdIdUsuario(1l)).thenReturn(Collections.singletonList(
+				criarSaldo(TipoLancamento.RECEITA, new BigDecimal("100.00"))));
+		
+		assertThat(service.verificar(1l)).isTrue();
+	}
+	
+	@Test
+	public void deveRecalcularOSaldoAPartirDosLancamentos() {
+		ValorLancamento total = criarValor(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(100));
+		Mockito.when(lancamentoRepository.obterTotaisPorUsuario(1l)).thenReturn(Arrays.asList(total));
+		
+		service.recalcular(1l);
+		
+		InOrder ordem = Mockito.inOrder(usuarioRepository, repository);
+		ordem.verify(usuarioRepository).bloquear(Collections.singleton(1l));
+		ordem.verify(repository).deletarPorUsuario(1l);
+		ordem.verify(repository).save(criarSaldo(TipoLancamento.RECEITA, BigDecimal.valueOf(100)));
+	}
+	
+	@Test
+	public void naoDeveRecalcularOSaldoJaCorrigidoAposATrava() {
+		ValorLancamento total = criarValor(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(100));
+		Mockito.when(lancamentoRepository.obterTotaisPorUsuario(1l)).thenReturn(Arrays.asList(total));
+		Mockito.when(repository.findByIdIdUsuario(1l)).thenReturn(Collections.singletonList(
+				criarSaldo(TipoLancamento.RECEITA, BigDecimal.valueOf(100))));
+		
+		service.recalcular(1l);
+		
+		Mockito.verify(usuarioRepository).bloquear(Collections.singleton(1l));
+		Mockito.verify(repository, Mockito.never()).deletarPorUsuario(1l);
+	}
+	
+	private SaldoUsuario criarSaldo(TipoLancamento tipo, BigDecimal valor) {
+		return SaldoUsuario.builder()
+				.id(new SaldoUsuarioId(1l, tipo, StatusLancamento.EFETIVADO))
+				.valor(Dinheiro.de(valor)).build();
+	}
+	
+	private ValorLancamento criarValor(TipoLancamento tipo, StatusLancamento status, BigDecimal valor) {
+		ValorLancamento valorLancamento = Mockito.mock(ValorLancamento.class);
+		Mockito.when(valorLancamento.getIdUsuario()).thenReturn(1l);
+		Mockito.when(valorLancamento.getTipo()).thenReturn(tipo);
+		Mockito.when(valorLancamento.getStatus()).thenReturn(status);
+		Mockito.when(valorLancamento.getValor()).thenReturn(valor);
+		return valorLancamento;
+	}
+	
+	private Lancamento criarLancamento() {
+		return Lancamento.builder().id(1l).usuario(Usuario.builder().id(1l).build())
+				.valor(BigDecimal.TEN).tipo(TipoLancamento.RECEITA).status(StatusLancamento.EFETIVADO).build();
+	}
+}
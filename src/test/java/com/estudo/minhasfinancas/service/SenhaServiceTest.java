@@ -0,0 +1,89 @@
+package com.estudo.minhasfinancas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.estudo.minhasfinancas.exception.ServicoSobrecarregadoException;
+import com.estudo.minhasfinancas.service.impl.SenhaServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class SenhaServiceTest {
+
+	SenhaServiceImpl service = new SenhaServiceImpl(4, 1, 1, 5000);
+	
+	@AfterEach
+	public void encerrar() {
+		service.encerrar();
+	}
+	
+	@Test
+	public void deveConferirSenhaEmTextoPuroEExigirRecodificacao() {
+		assertTrue(service.confere("senha", "senha"));
+		assertFalse(service.confere("senha", "outra"));
+		assertTrue(service.precisaRecodificar("senha"));
+	}
+	
+	@Test
+	public void deveExigirRecodificacaoQuandoOCustoGravadoForMenorQueOConfigurado() {
+		SenhaServiceImpl maisCaro = new SenhaServiceImpl(5, 1, 1, 5000);
+		String senhaCodificada = service.codificar("senha");
+		
+		try {
+			assertTrue(maisCaro.confere("senha", senhaCodificada));
+			assertTrue(maisCaro.precisaRecodificar(senhaCodificada));
+			assertFalse(service.precisaRecodificar(senhaCodificada));
+		} finally {
+			maisCaro.encerrar();
+		}
+	}
+	
+	@Test
+	public void deveRecusarVerificacoesAlemDaCapacidadeDoPool() throws Exception {
+		SenhaServiceImpl lento = new SenhaServiceImpl(12, 1, 1, 60000);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		lento.bindTo(registry);
+		ExecutorService requisicoes = Executors.newFixedThreadPool(4);
+		CountDownLatch largada = new CountDownLatch(1);
+		
+		try {
+			List<Future<Boolean>> resultados = new ArrayList<>();
+			for(int i = 0; i < 4; i++) {
+				resultados.add(requisicoes.submit(() -> {
+					largada.await();
+					return lento.confere("senha", lento.codificar("senha"));
+				}));
+			}
+			largada.countDown();
+			
+			int recusadas = 0;
+			for(Future<Boolean> resultado : resultados) {
+				try {
+					resultado.get();
+				} catch (ExecutionException e) {
+					assertTrue(e.getCause() instanceof ServicoSobrecarregadoException);
+					recusadas++;
+				}
+			}
+			
+			assertTrue(recusadas >= 2);
+			assertEquals(recusadas, registry.get("minhasfinancas.senha.verificacao.rejeitadas").functionCounter().count());
+			assertEquals(1, registry.get("minhasfinancas.senha.verificacao.capacidade-fila").gauge().value());
+		} finally {
+			requisicoes.shutdownNow();
+			lento.encerrar();
+		}
+	}
+}
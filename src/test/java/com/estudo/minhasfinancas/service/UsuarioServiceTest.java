@@ -1,7 +1,9 @@
 package com.estudo.minhasfinancas.service;
 
-import static org.junit.Assert.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -11,9 +13,11 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
@@ -21,6 +25,8 @@ import com.estudo.minhasfinancas.exception.ErroAutenticacao;
 import com.estudo.minhasfinancas.exception.RegraNegocioException;
 import com.estudo.minhasfinancas.model.entity.Usuario;
 import com.estudo.minhasfinancas.model.repository.UsuarioRepository;
+import com.estudo.minhasfinancas.service.impl.FiltroEmailServiceImpl;
+import com.estudo.minhasfinancas.service.impl.SenhaServiceImpl;
 import com.estudo.minhasfinancas.service.impl.UsuarioServiceImpl;
 
 @ExtendWith(SpringExtension.class)
@@ -33,6 +39,12 @@ public class UsuarioServiceTest {
 	@SpyBean
 	UsuarioServiceImpl service;
 	
+	@SpyBean
+	SenhaServiceImpl senhaService;
+	
+	@SpyBean
+	FiltroEmailServiceImpl filtroEmailService;
+	
 	@Test
 	public void deveSalvarUmUsuario() {
 		Mockito.doNothing().when(service).validarEmail(Mockito.anyString());
@@ -85,6 +97,45 @@ public class UsuarioServiceTest {
 	}	
 	
 	
+	@Test
+	public void deveRecodificarASenhaEmTextoPuroAoAutenticar() {
+		String email = "email@email.com";
+		Usuario usuario = Usuario.builder().email(email).senha("senha").id(1l).build();
+		Mockito.when(repository.findByEmail(email)).thenReturn(Optional.of(usuario));
+		
+		service.autenticar(email, "senha");
+		
+		ArgumentCaptor<String> senhaCodificada = ArgumentCaptor.forClass(String.class);
+		Mockito.verify(repository).atualizarSenha(Mockito.eq(1l), Mockito.eq(email), Mockito.eq("senha"), senhaCodificada.capture());
+		assertTrue(senhaService.confere("senha", senhaCodificada.getValue()));
+		assertFalse(senhaService.precisaRecodificar(senhaCodificada.getValue()));
+	}
+	
+	@Test
+	public void naoDeveRecodificarASenhaJaCodificadaAoAutenticar() {
+		String email = "email@email.com";
+		Usuario usuario = Usuario.builder().email(email).senha(senhaService.codificar("senha")).id(1l).build();
+		Mockito.when(repository.findByEmail(email)).thenReturn(Optional.of(usuario));
+		
+		Usuario result = service.autenticar(email, "senha");
+		
+		assertNotNull(result);
+		Mockito.verify(repository, Mockito.never())
+			.atualizarSenha(Mockito.anyLong(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+	}
+	
+	@Test
+	public void deveGravarASenhaCodificada() {
+		Mockito.doNothing().when(service).validarEmail(Mockito.anyString());
+		Usuario usuario = Usuario.builder().email("email@email.com").senha("senha").build();
+		Mockito.when(repository.save(usuario)).thenReturn(usuario);
+		
+		service.salvarUsuario(usuario);
+		
+		assertNotEquals("senha", usuario.getSenha());
+		assertTrue(senhaService.confere("senha", usuario.getSenha()));
+	}
+	
 	@Test
 	public void deveLancarErroQuandoNaoEncontrarUsuarioCadastradoComOEmailInformado() {
 		Mockito.when(repository.findByEmail(Mockito.anyString())).thenReturn(Optional.empty());
@@ -118,6 +169,27 @@ public class UsuarioServiceTest {
 		assertEquals(expectedMessage, actualMessage);
 	}	
 
+	@Test
+	public void naoDeveConsultarABaseQuandoOFiltroDescartarOEmail() {
+		Mockito.doReturn(false).when(filtroEmailService).podeEstarCadastrado("novo@email.com");
+		
+		service.validarEmail("novo@email.com");
+		
+		Mockito.verify(repository, Mockito.never()).existsByEmail(Mockito.anyString());
+	}
+	
+	@Test
+	public void deveLancarErroQuandoOIndiceUnicoRecusarOEmail() {
+		Mockito.doNothing().when(service).validarEmail(Mockito.anyString());
+		Usuario usuario = Usuario.builder().email("email@email.com").senha("senha").build();
+		Mockito.when(repository.save(usuario)).thenThrow(new DataIntegrityViolationException("idx_usuario_email"));
+		
+		Exception exception = assertThrows(RegraNegocioException.class, () -> service.salvarUsuario(usuario));
+		
+		assertEquals("Já existe um usuário cadastrado com esse email", exception.getMessage());
+		Mockito.verify(filtroEmailService, Mockito.never()).registrar(Mockito.anyString());
+	}
+	
 	@Test
 	public void deveValidarEmail() {	
 		Mockito.when(repository.existsByEmail(Mockito.anyString())).thenReturn(true);
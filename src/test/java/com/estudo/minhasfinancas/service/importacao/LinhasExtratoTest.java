@@ -0,0 +1,94 @@
+package com.estudo.minhasfinancas.service.importacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.estudo.minhasfinancas.model.entity.Lancamento;
+import com.estudo.minhasfinancas.model.entity.Usuario;
+import com.estudo.minhasfinancas.model.enums.TipoLancamento;
+
+public class LinhasExtratoTest {
+
+	private final Usuario usuario = Usuario.builder().id(1l).build();
+
+	@Test
+	public void deveLerCsvComCabecalhoEInferirOTipoPeloSinal() {
+		String csv = "Data;Descrição;Valor\n"
+				+ "15/01/2020;\"Mercado; centro\";-1.234,56\n"
+				+ "\n"
+				+ "2020-02-05;Salário;3000,00\n";
+		
+		List<LinhaImportacao> linhas = ler(new LinhasExtratoCsv(new StringReader(csv), usuario));
+		
+		assertThat(linhas).hasSize(2);
+		Lancamento despesa = linhas.get(0).getLancamento();
+		assertThat(linhas.get(0).getNumero()).isEqualTo(2);
+		assertThat(despesa.getDescricao()).isEqualTo("Mercado; centro");
+		assertThat(despesa.getValor()).isEqualByComparingTo("1234.56");
+		assertThat(despesa.getTipo()).isEqualTo(TipoLancamento.DESPESA);
+		assertThat(despesa.getMes()).isEqualTo(1);
+		assertThat(despesa.getAno()).isEqualTo(2020);
+		assertThat(despesa.getUsuario()).isSameAs(usuario);
+		
+		Lancamento receita = linhas.get(1).getLancamento();
+		assertThat(linhas.get(1).getNumero()).isEqualTo(4);
+		assertThat(receita.getValor()).isEqualByComparingTo("3000");
+		assertThat(receita.getTipo()).isEqualTo(TipoLancamento.RECEITA);
+		assertThat(receita.getMes()).isEqualTo(2);
+	}
+
+	@Test
+	public void deveRejeitarLinhasCsvInvalidasSemInterromperALeitura() {
+		String csv = "15/01/2020,Mercado,abc\n"
+				+ "32/01/2020,Padaria,10\n"
+				+ "16/01/2020,Padaria\n"
+				+ "17/01/2020,Feira,12.50\n";
+		
+		List<LinhaImportacao> linhas = ler(new LinhasExtratoCsv(new StringReader(csv), usuario));
+		
+		assertThat(linhas).hasSize(4);
+		assertThat(linhas.subList(0, 3)).extracting("erro").doesNotContainNull();
+		assertThat(linhas.get(3).getLancamento().getValor()).isEqualByComparingTo("12.50");
+	}
+
+	@Test
+	public void deveLerTransacoesDeOfxSgmlEXml() {
+		String ofx = "OFXHEADER:100\nDATA:OFXSGML\n\n<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS>"
+				+ "<CURRENCY>BRL\n<BANKTRANLIST>\n"
+				+ "<STMTTRN>\n<TRNTYPE>DEBIT\n<DTPOSTED>20200115120000[-3:BRT]\n<TRNAMT>-50.10\n"
+				+ "<NAME>PADARIA\n<MEMO>Padaria &amp; Cia\n</STMTTRN>\n"
+				+ "<STMTTRN><TRNTYPE>CREDIT</TRNTYPE><DTPOSTED>20200201</DTPOSTED>"
+				+ "<TRNAMT>1500.00</TRNAMT><NAME>SALARIO</NAME></STMTTRN>\n"
+				+ "<STMTTRN><DTPOSTED>20200202<NAME>SEM VALOR</STMTTRN>\n"
+				+ "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>";
+		
+		List<LinhaImportacao> linhas = ler(new LinhasExtratoOfx(new StringReader(ofx), usuario));
+		
+		assertThat(linhas).hasSize(3);
+		Lancamento despesa = linhas.get(0).getLancamento();
+		assertThat(despesa.getDescricao()).isEqualTo("Padaria & Cia");
+		assertThat(despesa.getValor()).isEqualByComparingTo(new BigDecimal("50.10"));
+		assertThat(despesa.getTipo()).isEqualTo(TipoLancamento.DESPESA);
+		assertThat(despesa.getMes()).isEqualTo(1);
+		
+		Lancamento receita = linhas.get(1).getLancamento();
+		assertThat(receita.getDescricao()).isEqualTo("SALARIO");
+		assertThat(receita.getTipo()).isEqualTo(TipoLancamento.RECEITA);
+		assertThat(receita.getMes()).isEqualTo(2);
+		
+		assertThat(linhas.get(2).getNumero()).isEqualTo(3);
+		assertThat(linhas.get(2).getErro()).isNotNull();
+	}
+
+	private List<LinhaImportacao> ler(LinhasExtrato extrato) {
+		List<LinhaImportacao> linhas = new ArrayList<>();
+		extrato.forEachRemaining(linhas::add);
+		return linhas;
+	}
+}